@@ -0,0 +1,79 @@
+package dbUtils;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a batch update: the rows affected by every committed chunk.<br>
+ * Some drivers (i.e. older Oracle drivers) do not return the update count of batched statements, in this case
+ * the statements are counted as executed with an unknown number of affected rows
+ *
+ * @since 17.10.2026
+ */
+public class BatchUpdateResult {
+
+    private final List<Long> chunkRowsAffected = new ArrayList<>();
+    private final List<Integer> chunkStatements = new ArrayList<>();
+    private long unknownCountStatements = 0;
+
+    /**
+     * Add the update counts of a committed chunk
+     * @param updateCounts the update counts returned by executeBatch()
+     */
+    void addChunk(int[] updateCounts) {
+        long rowsAffected = 0;
+        for (int count : updateCounts) {
+            if (count >= 0)
+                rowsAffected += count;
+            else if (count == Statement.SUCCESS_NO_INFO)
+                unknownCountStatements++;
+        }
+        chunkRowsAffected.add(rowsAffected);
+        chunkStatements.add(updateCounts.length);
+    }
+
+    /**
+     * @return the number of committed chunks
+     */
+    public int getChunkCount() {
+        return chunkRowsAffected.size();
+    }
+
+    /**
+     * @return the rows affected by every committed chunk, by chunk order
+     */
+    public List<Long> getChunkRowsAffected() {
+        return Collections.unmodifiableList(chunkRowsAffected);
+    }
+
+    /**
+     * @return the total rows affected by all the committed chunks
+     */
+    public long getTotalRowsAffected() {
+        return chunkRowsAffected.stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return the total number of executed statements (parameter rows)
+     */
+    public long getStatementCount() {
+        return chunkStatements.stream().mapToLong(Integer::longValue).sum();
+    }
+
+    /**
+     * @return the number of executed statements the driver did not return an update count for
+     */
+    public long getUnknownCountStatements() {
+        return unknownCountStatements;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Statements: %d, chunks: %d, rows affected: %d%s, rows affected per chunk: %s",
+                getStatementCount(), getChunkCount(), getTotalRowsAffected(),
+                unknownCountStatements > 0 ? String.format(" (+%d statements with unknown count)", unknownCountStatements) : "",
+                chunkRowsAffected);
+    }
+}
@@ -1,9 +1,11 @@
 package dbUtils;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.List;
 
 /**
  *   @author zvika.sela
@@ -19,11 +21,30 @@ public interface DBConnectionManager {
     Object getSingleRowResult(String query, String dbConnString,String dbUser, String dbPass);
     /** return a table from the query */
     Object getQueryResultTable(String query, String dbConnString,String dbUser, String dbPass);
+    /** open a forward only cursor over the results of a parameterized query, closing it returns the connection to the pool */
+    default QueryCursor openQueryCursor(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        Connection connection = null;
+        PreparedStatement statement = null;
+        try {
+            connection = connect(dbConnString, dbUser, dbPass);
+            statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            for (int i = 0; i < params.size(); i++)
+                statement.setObject(i + 1, params.get(i));
+            return new QueryCursor(statement.executeQuery(), statement, connection);
+        }
+        catch (SQLException | ClassNotFoundException e) {
+            disconnect(connection, null, statement);
+            throw new Error(String.format("Failed to open Query Cursor.<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
 
-    /** return a DB connection */
+    /** return a DB connection from the shared pool, closing it returns it to the pool */
     Connection connect(String dbConnString,String dbUser, String dbPass) throws ClassNotFoundException, SQLException;
     /** close all resources */
     void disconnect(Connection connection, ResultSet resultSet, Statement statement);
-
+    /** return the statistics of the shared connection pool of the connection string + user */
+    default DBConnectionPool.PoolStatistics getConnectionPoolStatistics(String dbConnString, String dbUser) {
+        return DBConnectionPool.getPool().getStatistics(dbConnString, dbUser);
+    }
 
 }
@@ -0,0 +1,702 @@
+package dbUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import propertyUtils.Property;
+
+import java.lang.ref.Cleaner;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Singleton keyed pool of JDBC connections, shared by all threads.<br>
+ * Connections are pooled per connection string + user + password (the pool key keeps only a hash of the password).
+ * A borrowed connection is a proxy of the physical connection,
+ * calling close() on it returns the physical connection to the pool instead of closing it, so the existing
+ * disconnect() methods of the DB utils keep working as is.<br>
+ * Idle connections are validated on borrow and evicted in the background once they exceed the idle timeout.
+ * Every physical connection keeps an LRU cache of its PreparedStatements (see StatementCache).<br>
+ * Connections borrowed for longer than the leak threshold are logged with the stack trace of the code that borrowed them.
+ * A borrowed connection that is no longer referenced without being closed is closed once it is garbage collected,
+ * and its permit is returned to the pool, so an abandoned connection does not block the next borrowers forever.
+ * <br>
+ * The pool is configured with the following keys of zim.global.properties:<br>
+ * db_pool_enabled, db_pool_max_size, db_pool_max_wait, db_pool_idle_timeout, db_pool_validation_timeout,
+ * db_pool_leak_threshold, db_statement_cache_size
+ *
+ * @since 17.10.2026
+ */
+public class DBConnectionPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(DBConnectionPool.class);
+    private static DBConnectionPool instance = null;
+    //Reclaims the borrowed connections that were garbage collected without being closed
+    private static final Cleaner cleaner = Cleaner.create();
+
+    private final ConcurrentHashMap<String, KeyedPool> pools = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictor;
+
+    private volatile boolean enabled;
+    private volatile int maxPoolSize;
+    private volatile int maxWaitSeconds;
+    private volatile int idleTimeoutSeconds;
+    private volatile int validationTimeoutSeconds;
+    private volatile int leakThresholdSeconds;
+    private volatile int statementCacheSize;
+
+    /**
+     * Creates a physical connection to the DB
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private DBConnectionPool() {
+
+        Property property = getGlobalPropertyEntity();
+        enabled = property.getProperty("db_pool_enabled") == null || property.getBooleanProperty("db_pool_enabled");
+        maxPoolSize = property.getIntProperty("db_pool_max_size", 10);
+        maxWaitSeconds = property.getIntProperty("db_pool_max_wait", 60);
+        idleTimeoutSeconds = property.getIntProperty("db_pool_idle_timeout", 300);
+        validationTimeoutSeconds = property.getIntProperty("db_pool_validation_timeout", 5);
+        leakThresholdSeconds = property.getIntProperty("db_pool_leak_threshold", 300);
+        statementCacheSize = property.getIntProperty("db_statement_cache_size", 50);
+
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-connection-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long evictionInterval = Math.max(1, idleTimeoutSeconds / 2);
+        evictor.scheduleWithFixedDelay(() -> {
+            evictIdleConnections();
+            reportLeakedConnections();
+        }, evictionInterval, evictionInterval, TimeUnit.SECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, "db-connection-pool-shutdown"));
+    }
+
+    /**
+     * Get the pool instance
+     * @return the connection pool shared by all threads
+     * @since 17.10.2026
+     */
+    public static synchronized DBConnectionPool getPool() {
+        if (instance == null)
+            instance = new DBConnectionPool();
+        return instance;
+    }
+
+    /**
+     * Borrow a connection from the pool. If the pool is disabled a new physical connection is returned.
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password, so callers with different credentials do not share connections
+     * @param factory creates a new physical connection when no valid idle connection exists
+     * @return a connection. Closing it returns it to the pool
+     * @throws SQLException if a connection could not be created or the pool is exhausted for longer than max wait
+     * @since 17.10.2026
+     */
+    public Connection getConnection(String dbConnString, String dbUser, String dbPass, ConnectionFactory factory) throws SQLException {
+
+        if (!enabled)
+            return factory.create();
+
+        String key = getKey(dbConnString, dbUser, dbPass);
+        KeyedPool pool = pools.computeIfAbsent(key, k -> new KeyedPool(dbConnString, dbUser, maxPoolSize));
+        return pool.borrow(factory);
+    }
+
+    /**
+     * Get the statistics of the pool of a connection string + user
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @return the pool statistics or null if no connection was borrowed for this connection string + user.
+     * If the user connected with several passwords, the statistics of one of their pools
+     * @since 17.10.2026
+     */
+    public PoolStatistics getStatistics(String dbConnString, String dbUser) {
+        for (KeyedPool pool : pools.values()) {
+            if (pool.dbConnString.equals(dbConnString) && Objects.equals(pool.dbUser, dbUser))
+                return pool.getStatistics();
+        }
+        return null;
+    }
+
+    /**
+     * Get the statistics of all the pools
+     * @return list of statistics, one per connection string + user
+     * @since 17.10.2026
+     */
+    public List<PoolStatistics> getAllStatistics() {
+        List<PoolStatistics> statistics = new ArrayList<>();
+        for (KeyedPool pool : pools.values())
+            statistics.add(pool.getStatistics());
+        return statistics;
+    }
+
+    /**
+     * Close all idle connections which exceeded the idle timeout
+     * @since 17.10.2026
+     */
+    public void evictIdleConnections() {
+        long idleTimeoutMillis = TimeUnit.SECONDS.toMillis(idleTimeoutSeconds);
+        for (KeyedPool pool : pools.values())
+            pool.evict(idleTimeoutMillis);
+    }
+
+    /**
+     * Log the connections that are borrowed for longer than the leak threshold, once per connection
+     * @since 17.10.2026
+     */
+    public void reportLeakedConnections() {
+        if (leakThresholdSeconds <= 0)
+            return;
+        long leakThresholdMillis = TimeUnit.SECONDS.toMillis(leakThresholdSeconds);
+        for (KeyedPool pool : pools.values())
+            pool.reportLeaks(leakThresholdMillis);
+    }
+
+    /**
+     * Close all idle connections of all the pools and remove the pools.
+     * Connections that are currently borrowed are closed once they are returned
+     * @since 17.10.2026
+     */
+    public void closeAll() {
+        for (String key : new ArrayList<>(pools.keySet())) {
+            KeyedPool pool = pools.remove(key);
+            if (pool != null)
+                pool.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxPoolSize() {
+        return maxPoolSize;
+    }
+
+    /**
+     * Set the max number of connections per connection string + user. Applies to pools created after the call
+     * @param maxPoolSize max number of connections
+     */
+    public void setMaxPoolSize(int maxPoolSize) {
+        this.maxPoolSize = maxPoolSize;
+    }
+
+    public void setMaxWaitSeconds(int maxWaitSeconds) {
+        this.maxWaitSeconds = maxWaitSeconds;
+    }
+
+    public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    public void setValidationTimeoutSeconds(int validationTimeoutSeconds) {
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+    }
+
+    /**
+     * Set the time a connection can be borrowed before it is logged as a possible leak, 0 disables the log
+     * @param leakThresholdSeconds time in seconds
+     */
+    public void setLeakThresholdSeconds(int leakThresholdSeconds) {
+        this.leakThresholdSeconds = leakThresholdSeconds;
+    }
+
+    /**
+     * Set the max number of cached PreparedStatements per connection, 0 disables the cache.
+     * Applies to connections created after the call
+     * @param statementCacheSize max number of cached statements
+     */
+    public void setStatementCacheSize(int statementCacheSize) {
+        this.statementCacheSize = statementCacheSize;
+    }
+
+    /**
+     * Return the pool key of a connection string + user + password. The password is kept only as a hash
+     */
+    static String getKey(String dbConnString, String dbUser, String dbPass) {
+        return dbConnString + "|" + (dbUser == null ? "" : dbUser) + "|" + hashPassword(dbPass);
+    }
+
+    private static String hashPassword(String dbPass) {
+        if (dbPass == null)
+            return "";
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(dbPass.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(hash.length * 2);
+            for (byte b : hash)
+                hex.append(String.format("%02x", b));
+            return hex.toString();
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new Error(String.format("Failed to hash the DB password<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
+
+    /**
+     * A physical connection and its statement cache
+     */
+    private static class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+
+        private PooledConnection(Connection physical, StatementCache statementCache) {
+            this.physical = physical;
+            this.statementCache = statementCache;
+        }
+
+        private void close() {
+            statementCache.closeAll();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                logger.error("Failed to close pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * An idle connection and the time it was returned to the pool
+     */
+    private static class IdleConnection {
+        private final PooledConnection connection;
+        private final long idleSince;
+
+        private IdleConnection(PooledConnection connection) {
+            this.connection = connection;
+            this.idleSince = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A borrowed connection. Also the cleaner action of the connection proxy, so it must not reference the proxy
+     */
+    private static class Lease implements Runnable {
+        private final PooledConnection connection;
+        private final KeyedPool pool;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final long borrowedAt = System.currentTimeMillis();
+        private final Throwable borrowTrace;
+        private volatile boolean leakReported = false;
+
+        /**
+         * @param connection the borrowed connection
+         * @param pool the pool of the connection
+         * @param captureTrace capture the stack trace of the borrow, to log it with a leak. Only when leak reporting is on,
+         *                     filling a stack trace on every borrow is not free
+         */
+        private Lease(PooledConnection connection, KeyedPool pool, boolean captureTrace) {
+            this.connection = connection;
+            this.pool = pool;
+            this.borrowTrace = captureTrace ? new Throwable("Connection borrowed by thread " + Thread.currentThread().getName()) : null;
+        }
+
+        /**
+         * Log a warning about the lease, with the borrow stack trace if it was captured
+         * @param message the message
+         */
+        private void warn(String message) {
+            if (borrowTrace != null)
+                logger.warn(message, borrowTrace);
+            else
+                logger.warn(message);
+        }
+
+        /**
+         * Called by the cleaner once the proxy is garbage collected, or when the proxy is closed
+         */
+        @Override
+        public void run() {
+            if (closed.compareAndSet(false, true))
+                pool.reclaim(this);
+        }
+    }
+
+    /**
+     * The pool of a single connection string + user + password
+     */
+    private class KeyedPool {
+        private final String dbConnString;
+        private final String dbUser;
+        private final int maxSize;
+        private final Semaphore permits;
+        private final LinkedBlockingDeque<IdleConnection> idleConnections = new LinkedBlockingDeque<>();
+        private final Set<Lease> leases = ConcurrentHashMap.newKeySet();
+        private volatile boolean shutdown = false;
+
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong borrowed = new AtomicLong();
+        private final AtomicLong returned = new AtomicLong();
+        private final AtomicLong destroyed = new AtomicLong();
+        private final AtomicLong validationFailures = new AtomicLong();
+        private final AtomicLong waitTimeouts = new AtomicLong();
+        private final AtomicLong abandonedConnections = new AtomicLong();
+        private final AtomicLong totalWaitNanos = new AtomicLong();
+        private final AtomicLong statementCacheHits = new AtomicLong();
+        private final AtomicLong statementCacheMisses = new AtomicLong();
+
+        private KeyedPool(String dbConnString, String dbUser, int maxSize) {
+            this.dbConnString = dbConnString;
+            this.dbUser = dbUser;
+            this.maxSize = maxSize;
+            this.permits = new Semaphore(maxSize, true);
+        }
+
+        private Connection borrow(ConnectionFactory factory) throws SQLException {
+
+            long waitStart = System.nanoTime();
+            try {
+                if (!permits.tryAcquire(maxWaitSeconds, TimeUnit.SECONDS)) {
+                    waitTimeouts.incrementAndGet();
+                    throw new SQLException(String.format("Timed out after %d seconds waiting for a connection from the pool of %s (max size %d)", maxWaitSeconds, getDisplayKey(), maxSize));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection from the pool", e);
+            }
+            totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+            try {
+                PooledConnection connection = null;
+                IdleConnection idle;
+
+                //Take the most recently used connection first so the rest can age out
+                while (connection == null && (idle = idleConnections.pollFirst()) != null) {
+                    if (isValid(idle.connection.physical))
+                        connection = idle.connection;
+                    else {
+                        validationFailures.incrementAndGet();
+                        destroy(idle.connection);
+                    }
+                }
+
+                if (connection == null) {
+                    connection = new PooledConnection(factory.create(),
+                            new StatementCache(statementCacheSize, statementCacheHits, statementCacheMisses));
+                    created.incrementAndGet();
+                }
+
+                borrowed.incrementAndGet();
+                Lease lease = new Lease(connection, this, leakThresholdSeconds > 0);
+                leases.add(lease);
+                PooledConnectionHandler handler = new PooledConnectionHandler(lease);
+                Connection proxy = (Connection) Proxy.newProxyInstance(DBConnectionPool.class.getClassLoader(),
+                        new Class<?>[]{Connection.class}, handler);
+                handler.proxy = proxy;
+                handler.cleanable = cleaner.register(proxy, lease);
+                return proxy;
+            }
+            catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        private void release(Lease lease) {
+
+            leases.remove(lease);
+            returned.incrementAndGet();
+            PooledConnection connection = lease.connection;
+            Connection physical = connection.physical;
+            try {
+                if (shutdown || physical.isClosed()) {
+                    destroy(connection);
+                    return;
+                }
+                //Do not leak an open transaction or a changed auto commit to the next borrower
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                idleConnections.offerFirst(new IdleConnection(connection));
+            }
+            catch (SQLException e) {
+                logger.info("Failed to reset pooled connection, closing it: " + e.getMessage());
+                destroy(connection);
+            }
+            finally {
+                permits.release();
+            }
+        }
+
+        /**
+         * Close the physical connection of a proxy that was garbage collected without being closed, and return its permit
+         */
+        private void reclaim(Lease lease) {
+
+            leases.remove(lease);
+            abandonedConnections.incrementAndGet();
+            lease.warn("A connection of " + getDisplayKey() + " was not closed and is no longer referenced. Closing it and returning it to the pool");
+            try {
+                //Do not commit the abandoned work, some drivers commit on close
+                if (!lease.connection.physical.isClosed() && !lease.connection.physical.getAutoCommit())
+                    lease.connection.physical.rollback();
+            }
+            catch (SQLException e) {
+                logger.info("Failed to roll back abandoned connection: " + e.getMessage());
+            }
+            finally {
+                destroy(lease.connection);
+                permits.release();
+            }
+        }
+
+        private void reportLeaks(long leakThresholdMillis) {
+            long now = System.currentTimeMillis();
+            for (Lease lease : leases) {
+                if (!lease.leakReported && now - lease.borrowedAt > leakThresholdMillis) {
+                    lease.leakReported = true;
+                    lease.warn(String.format("A connection of %s is borrowed for %d sec and was not closed yet, it may be leaked", getDisplayKey(), (now - lease.borrowedAt) / 1000));
+                }
+            }
+        }
+
+        private boolean isValid(Connection connection) {
+            try {
+                return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        private void destroy(PooledConnection connection) {
+            destroyed.incrementAndGet();
+            connection.close();
+        }
+
+        private void evict(long idleTimeoutMillis) {
+            long now = System.currentTimeMillis();
+            Iterator<IdleConnection> iterator = idleConnections.descendingIterator();
+            while (iterator.hasNext()) {
+                IdleConnection idle = iterator.next();
+                if (now - idle.idleSince > idleTimeoutMillis && idleConnections.removeFirstOccurrence(idle)) {
+                    logger.debug("Evicting idle connection of " + getDisplayKey());
+                    destroy(idle.connection);
+                }
+            }
+        }
+
+        private void shutdown() {
+            shutdown = true;
+            IdleConnection idle;
+            while ((idle = idleConnections.pollFirst()) != null)
+                destroy(idle.connection);
+        }
+
+        private String getDisplayKey() {
+            //Do not expose the password hash in logs
+            return dbConnString + " with user " + (dbUser == null ? "" : dbUser);
+        }
+
+        private PoolStatistics getStatistics() {
+            int idle = idleConnections.size();
+            int active = maxSize - permits.availablePermits();
+            long borrowedCount = borrowed.get();
+            return new PoolStatistics(getDisplayKey(), maxSize, active, idle, created.get(), borrowedCount, returned.get(),
+                    destroyed.get(), validationFailures.get(), waitTimeouts.get(), abandonedConnections.get(),
+                    borrowedCount == 0 ? 0 : totalWaitNanos.get() / 1_000_000.0 / borrowedCount,
+                    statementCacheHits.get(), statementCacheMisses.get());
+        }
+    }
+
+    /**
+     * Proxy handler of a borrowed connection. close() returns the physical connection to the pool and
+     * prepareStatement() goes through the connection's statement cache
+     */
+    private static class PooledConnectionHandler implements InvocationHandler {
+        private final Lease lease;
+        private final PooledConnection connection;
+        private final Connection physical;
+        private final AtomicBoolean closed;
+        private Connection proxy;
+        private Cleaner.Cleanable cleanable;
+
+        private PooledConnectionHandler(Lease lease) {
+            this.lease = lease;
+            this.connection = lease.connection;
+            this.physical = connection.physical;
+            this.closed = lease.closed;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        lease.pool.release(lease);
+                        //Unregister from the cleaner, the lease is already closed so its action does nothing
+                        cleanable.clean();
+                    }
+                    return null;
+                case "prepareStatement":
+                    if (closed.get())
+                        throw new SQLException("Connection was already returned to the pool");
+                    if (args.length == 1)
+                        return connection.statementCache.prepare(physical, this.proxy, (String) args[0], ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    if (args.length == 3 && args[1] instanceof Integer && args[2] instanceof Integer)
+                        return connection.statementCache.prepare(physical, this.proxy, (String) args[0], (Integer) args[1], (Integer) args[2]);
+                    return invokePhysical(method, args);
+                case "isClosed":
+                    return closed.get() || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical;
+                default:
+                    if (closed.get())
+                        throw new SQLException("Connection was already returned to the pool");
+                    return invokePhysical(method, args);
+            }
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Statistics of the pool of a single connection string + user + password
+     */
+    public static class PoolStatistics {
+        private final String pool;
+        private final int maxSize;
+        private final int activeConnections;
+        private final int idleConnections;
+        private final long createdConnections;
+        private final long borrowedConnections;
+        private final long returnedConnections;
+        private final long destroyedConnections;
+        private final long validationFailures;
+        private final long waitTimeouts;
+        private final long abandonedConnections;
+        private final double averageWaitMillis;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+
+        private PoolStatistics(String pool, int maxSize, int activeConnections, int idleConnections, long createdConnections,
+                               long borrowedConnections, long returnedConnections, long destroyedConnections,
+                               long validationFailures, long waitTimeouts, long abandonedConnections, double averageWaitMillis,
+                               long statementCacheHits, long statementCacheMisses) {
+            this.pool = pool;
+            this.maxSize = maxSize;
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.createdConnections = createdConnections;
+            this.borrowedConnections = borrowedConnections;
+            this.returnedConnections = returnedConnections;
+            this.destroyedConnections = destroyedConnections;
+            this.validationFailures = validationFailures;
+            this.waitTimeouts = waitTimeouts;
+            this.abandonedConnections = abandonedConnections;
+            this.averageWaitMillis = averageWaitMillis;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+        }
+
+        public String getPool() {
+            return pool;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public int getActiveConnections() {
+            return activeConnections;
+        }
+
+        public int getIdleConnections() {
+            return idleConnections;
+        }
+
+        public long getCreatedConnections() {
+            return createdConnections;
+        }
+
+        public long getBorrowedConnections() {
+            return borrowedConnections;
+        }
+
+        public long getReturnedConnections() {
+            return returnedConnections;
+        }
+
+        public long getDestroyedConnections() {
+            return destroyedConnections;
+        }
+
+        public long getValidationFailures() {
+            return validationFailures;
+        }
+
+        public long getWaitTimeouts() {
+            return waitTimeouts;
+        }
+
+        /**
+         * @return the number of borrowed connections that were garbage collected without being closed
+         */
+        public long getAbandonedConnections() {
+            return abandonedConnections;
+        }
+
+        public double getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        public long getStatementCacheHits() {
+            return statementCacheHits;
+        }
+
+        public long getStatementCacheMisses() {
+            return statementCacheMisses;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Pool: %s, max size: %d, active: %d, idle: %d, created: %d, borrowed: %d, returned: %d, destroyed: %d, validation failures: %d, wait timeouts: %d, abandoned: %d, average wait: %.2f ms, statement cache hits: %d, statement cache misses: %d",
+                    pool, maxSize, activeConnections, idleConnections, createdConnections, borrowedConnections,
+                    returnedConnections, destroyedConnections, validationFailures, waitTimeouts, abandonedConnections, averageWaitMillis,
+                    statementCacheHits, statementCacheMisses);
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package dbUtils;
+
+import Enumerations.MessageLevel;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static ReportUtils.Report.reportAndLog;
+
+/**
+ * Compares a table (or query) between two databases or environments with a tree of hashes computed on the DB side,
+ * instead of fetching all the rows and comparing them in Java.<br>
+ * Every row gets an MD5 based key hash and row hash on the DB (STANDARD_HASH on Oracle, HASHBYTES on MSSQL).
+ * The rows are split into buckets by their key hash, and a single aggregate query per side returns the row count
+ * and the sum of the row hashes of every bucket. Only the buckets whose aggregates differ are split again into
+ * finer buckets, and only the rows of small differing buckets are fetched and compared.
+ * So comparing large tables with a few differences takes a few aggregate queries and fetches only the differing buckets.<br>
+ * Since the hashes are MD5 of the same text, Oracle and MSSQL produce the same hashes and can be compared with each other,
+ * as long as the column expressions produce the same text on both DBs (i.e. use TO_CHAR / CONVERT for dates and decimals,
+ * TRIM for CHAR columns).<br>
+ * Keys are expected to be unique. Rows of a duplicate key that have no identical row on the other side are reported
+ * as DUPLICATE_KEY differences.
+ * <pre>
+ * {@code
+ *     DatasetComparator.Side qa0 = new DatasetComparator.Side(oracleUtil, qa0Conn, user, pass, "aplcnt.tab_prt", List.of("prt_code"), List.of("prt_locode", "prt_name"));
+ *     DatasetComparator.Side qa1 = new DatasetComparator.Side(oracleUtil, qa1Conn, user, pass, "aplcnt.tab_prt", List.of("prt_code"), List.of("prt_locode", "prt_name"));
+ *     DatasetComparisonResult result = new DatasetComparator().compare(qa0, qa1);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class DatasetComparator {
+
+    //Key hashes are unsigned 32 bit values, buckets can not be split beyond them
+    private static final long KEY_HASH_RANGE = 1L << 32;
+    //Oracle limits an IN list to 1000 values
+    private static final int MAX_IN_LIST_SIZE = 1000;
+
+    /** Number of sub buckets a differing bucket is split into */
+    private int fanout = 64;
+    /** Differing buckets with up to this number of rows (on the larger side) are fetched and compared row by row */
+    private int leafRows = 1000;
+
+    /**
+     * This method sets the number of sub buckets a differing bucket is split into
+     * @param fanout number of sub buckets, at least 2
+     * @since 17.10.2026
+     */
+    public void setFanout(int fanout) {
+        if (fanout < 2)
+            throw new IllegalArgumentException("Fanout must be at least 2, got: " + fanout);
+        this.fanout = fanout;
+    }
+
+    /**
+     * This method sets the row count under which a differing bucket is fetched and compared row by row
+     * @param leafRows number of rows
+     * @since 17.10.2026
+     */
+    public void setLeafRows(int leafRows) {
+        this.leafRows = leafRows;
+    }
+
+    /**
+     * Compare the rows of the source and the target, matched by their key columns
+     * @param source the source dataset
+     * @param target the target dataset
+     * @return the differing rows
+     * @since 17.10.2026
+     */
+    public DatasetComparisonResult compare(Side source, Side target) {
+
+        if (source.columns.size() != target.columns.size() || source.keyColumns.size() != target.keyColumns.size())
+            throw new IllegalArgumentException("The source and the target must have the same number of key columns and compared columns");
+
+        reportAndLog(String.format("Comparing %s with %s by hash tree", source.table, target.table), MessageLevel.INFO);
+        DatasetComparisonResult result = new DatasetComparisonResult();
+
+        try {
+            //level 1 covers all the rows, each next level splits the differing buckets of the previous one
+            long parentModulus = 1;
+            Set<Long> parentBuckets = new TreeSet<>(List.of(0L));
+            boolean countsSet = false;
+
+            while (!parentBuckets.isEmpty()) {
+                long modulus = parentModulus * fanout;
+                boolean lastLevel = modulus >= KEY_HASH_RANGE;
+                if (lastLevel)
+                    modulus = KEY_HASH_RANGE;
+                result.addLevel();
+
+                Map<Long, long[]> sourceBuckets = aggregate(source, modulus, parentModulus, parentBuckets, result);
+                Map<Long, long[]> targetBuckets = aggregate(target, modulus, parentModulus, parentBuckets, result);
+                if (!countsSet) {
+                    result.setRowCounts(totalRows(sourceBuckets), totalRows(targetBuckets));
+                    countsSet = true;
+                }
+
+                Set<Long> leafBuckets = new TreeSet<>();
+                Set<Long> splitBuckets = new TreeSet<>();
+                Set<Long> buckets = new HashSet<>(sourceBuckets.keySet());
+                buckets.addAll(targetBuckets.keySet());
+                for (Long bucket : buckets) {
+                    long[] sourceAggregate = sourceBuckets.getOrDefault(bucket, new long[2]);
+                    long[] targetAggregate = targetBuckets.getOrDefault(bucket, new long[2]);
+                    if (Arrays.equals(sourceAggregate, targetAggregate))
+                        continue;
+                    if (lastLevel || Math.max(sourceAggregate[0], targetAggregate[0]) <= leafRows)
+                        leafBuckets.add(bucket);
+                    else
+                        splitBuckets.add(bucket);
+                }
+
+                if (!leafBuckets.isEmpty())
+                    compareRows(source, target, modulus, leafBuckets, result);
+
+                parentModulus = modulus;
+                parentBuckets = splitBuckets;
+            }
+        }
+        catch (SQLException e) {
+            reportAndLog("Dataset comparison failed with error " + e.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to compare %s with %s.<br>Error: %s<br><br>", source.table, target.table, e.getMessage()));
+        }
+
+        reportAndLog(String.format("Dataset comparison of %s with %s: %s", source.table, target.table, result), result.isEqual() ? MessageLevel.INFO : MessageLevel.WARN);
+        return result;
+    }
+
+    /**
+     * Return the row count and row hash sum of every bucket of the modulus, within the parent buckets
+     */
+    private Map<Long, long[]> aggregate(Side side, long modulus, long parentModulus, Set<Long> parentBuckets, DatasetComparisonResult result) throws SQLException {
+
+        Map<Long, long[]> buckets = new HashMap<>();
+        for (String inList : toInLists(parentBuckets)) {
+            String bucket = side.dialect.mod("kh", modulus);
+            String query = String.format("select %s bucket, count(*) cnt, sum(rh) hsum from (%s) t%s group by %s",
+                    bucket, side.hashQuery(), parentModulus == 1 ? "" : " where " + side.dialect.mod("kh", parentModulus) + " in (" + inList + ")", bucket);
+
+            try (QueryCursor cursor = side.util.openQueryCursor(query, List.of(), side.dbConnString, side.dbUser, side.dbPass)) {
+                while (cursor.advance()) {
+                    String[] values = cursor.readValues();
+                    buckets.put(Long.parseLong(values[0]), new long[]{Long.parseLong(values[1]), values[2] == null ? 0 : Long.parseLong(values[2])});
+                }
+            }
+            result.addAggregateQueries(1);
+        }
+        return buckets;
+    }
+
+    /**
+     * Fetch the rows of the differing buckets from both sides and compare them by key
+     */
+    private void compareRows(Side source, Side target, long modulus, Set<Long> buckets, DatasetComparisonResult result) throws SQLException {
+
+        for (String inList : toInLists(buckets)) {
+            Map<String, List<String[]>> sourceRows = fetchRows(source, modulus, inList, result);
+            Map<String, List<String[]>> targetRows = fetchRows(target, modulus, inList, result);
+
+            for (Map.Entry<String, List<String[]>> sourceKey : sourceRows.entrySet()) {
+                List<String[]> targetKeyRows = targetRows.remove(sourceKey.getKey());
+                if (targetKeyRows == null)
+                    targetKeyRows = new ArrayList<>();
+                compareKeyRows(sourceKey.getKey(), sourceKey.getValue(), targetKeyRows, result);
+            }
+            for (Map.Entry<String, List<String[]>> targetKey : targetRows.entrySet())
+                compareKeyRows(targetKey.getKey(), new ArrayList<>(), targetKey.getValue(), result);
+        }
+    }
+
+    /**
+     * Compare the rows of a key on both sides. A key with more than one row on a side is a duplicate key:
+     * its rows are matched by row hash, and every row without a match is a DUPLICATE_KEY difference
+     */
+    private static void compareKeyRows(String key, List<String[]> sourceRows, List<String[]> targetRows, DatasetComparisonResult result) {
+
+        if (sourceRows.size() <= 1 && targetRows.size() <= 1) {
+            if (targetRows.isEmpty())
+                result.addDifference(new DatasetComparisonResult.RowDifference(key, DatasetComparisonResult.DifferenceType.ONLY_IN_SOURCE,
+                        values(sourceRows.get(0)), null));
+            else if (sourceRows.isEmpty())
+                result.addDifference(new DatasetComparisonResult.RowDifference(key, DatasetComparisonResult.DifferenceType.ONLY_IN_TARGET,
+                        null, values(targetRows.get(0))));
+            else if (!Objects.equals(sourceRows.get(0)[0], targetRows.get(0)[0]))
+                result.addDifference(new DatasetComparisonResult.RowDifference(key, DatasetComparisonResult.DifferenceType.DIFFERENT_VALUES,
+                        values(sourceRows.get(0)), values(targetRows.get(0))));
+            return;
+        }
+
+        List<String[]> unmatchedTargetRows = new ArrayList<>(targetRows);
+        for (String[] sourceRow : sourceRows) {
+            int match = 0;
+            while (match < unmatchedTargetRows.size() && !Objects.equals(sourceRow[0], unmatchedTargetRows.get(match)[0]))
+                match++;
+            if (match < unmatchedTargetRows.size())
+                unmatchedTargetRows.remove(match);
+            else
+                result.addDifference(new DatasetComparisonResult.RowDifference(key, DatasetComparisonResult.DifferenceType.DUPLICATE_KEY,
+                        values(sourceRow), null));
+        }
+        for (String[] targetRow : unmatchedTargetRows)
+            result.addDifference(new DatasetComparisonResult.RowDifference(key, DatasetComparisonResult.DifferenceType.DUPLICATE_KEY,
+                    null, values(targetRow)));
+    }
+
+    /**
+     * Return the rows of the buckets by key text. Each row holds the row hash followed by the compared column values
+     */
+    private Map<String, List<String[]>> fetchRows(Side side, long modulus, String inList, DatasetComparisonResult result) throws SQLException {
+
+        StringBuilder columns = new StringBuilder();
+        for (int i = 0; i < side.columns.size(); i++)
+            columns.append(", c").append(i);
+        String query = String.format("select kt, rh%s from (%s) t where %s in (%s)", columns, side.hashQuery(), side.dialect.mod("kh", modulus), inList);
+
+        Map<String, List<String[]>> rows = new HashMap<>();
+        long fetchedRows = 0;
+        try (QueryCursor cursor = side.util.openQueryCursor(query, List.of(), side.dbConnString, side.dbUser, side.dbPass)) {
+            while (cursor.advance()) {
+                String[] values = cursor.readValues();
+                rows.computeIfAbsent(values[0], key -> new ArrayList<>(1)).add(Arrays.copyOfRange(values, 1, values.length));
+                fetchedRows++;
+            }
+        }
+        result.addFetchedRows(fetchedRows);
+        return rows;
+    }
+
+    private static List<String> values(String[] row) {
+        return Arrays.asList(Arrays.copyOfRange(row, 1, row.length));
+    }
+
+    private static long totalRows(Map<Long, long[]> buckets) {
+        long rows = 0;
+        for (long[] aggregate : buckets.values())
+            rows += aggregate[0];
+        return rows;
+    }
+
+    private static List<String> toInLists(Set<Long> buckets) {
+        List<String> inLists = new ArrayList<>();
+        List<Long> values = new ArrayList<>(buckets);
+        for (int i = 0; i < values.size(); i += MAX_IN_LIST_SIZE)
+            inLists.add(values.subList(i, Math.min(values.size(), i + MAX_IN_LIST_SIZE)).stream().map(String::valueOf).collect(Collectors.joining(", ")));
+        return inLists;
+    }
+
+    /**
+     * SQL of the key hash, row hash and text concatenation of every supported DB
+     */
+    private enum Dialect {
+        ORACLE {
+            @Override
+            String concat(List<String> expressions) {
+                return expressions.stream().map(expression -> "(" + expression + ")").collect(Collectors.joining(" || '|' || "));
+            }
+
+            @Override
+            String hash(String text) {
+                return String.format("TO_NUMBER(SUBSTR(RAWTOHEX(STANDARD_HASH(NVL(%s, ' '), 'MD5')), 1, 8), 'XXXXXXXX')", text);
+            }
+
+            @Override
+            String mod(String expression, long modulus) {
+                return String.format("MOD(%s, %d)", expression, modulus);
+            }
+        },
+        MSSQL {
+            @Override
+            String concat(List<String> expressions) {
+                List<String> arguments = new ArrayList<>();
+                for (String expression : expressions) {
+                    if (!arguments.isEmpty())
+                        arguments.add("'|'");
+                    arguments.add(expression);
+                }
+                if (arguments.size() == 1)
+                    arguments.add("''");
+                return "CONVERT(VARCHAR(MAX), CONCAT(" + String.join(", ", arguments) + "))";
+            }
+
+            @Override
+            String hash(String text) {
+                return String.format("CONVERT(BIGINT, SUBSTRING(HASHBYTES('MD5', ISNULL(NULLIF(%s, ''), ' ')), 1, 4))", text);
+            }
+
+            @Override
+            String mod(String expression, long modulus) {
+                return String.format("(%s %% %d)", expression, modulus);
+            }
+        };
+
+        abstract String concat(List<String> expressions);
+
+        /** unsigned 32 bit hash of a text expression */
+        abstract String hash(String text);
+
+        abstract String mod(String expression, long modulus);
+
+        static Dialect of(DBConnectionManager util) {
+            if (util instanceof OracleDatabaseUtil)
+                return ORACLE;
+            if (util instanceof MSSqlServerDBUtil)
+                return MSSQL;
+            throw new IllegalArgumentException("Hash comparison is supported for Oracle and MSSQL only, got: " + util.getClass().getSimpleName());
+        }
+    }
+
+    /**
+     * A dataset to compare: a table or a sub query on a DB, its key columns and the compared columns
+     */
+    public static class Side {
+        private final DBConnectionManager util;
+        private final String dbConnString;
+        private final String dbUser;
+        private final String dbPass;
+        private final String table;
+        private final List<String> keyColumns;
+        private final List<String> columns;
+        private final Dialect dialect;
+
+        /**
+         * @param util the DB util of the DB, OracleDatabaseUtil or MSSqlServerDBUtil
+         * @param dbConnString DB connection string
+         * @param dbUser DB user
+         * @param dbPass DB password
+         * @param table the table, or a sub query in parentheses
+         * @param keyColumns the columns (or expressions) that identify a row
+         * @param columns the compared columns (or expressions), by the same order on both sides
+         */
+        public Side(DBConnectionManager util, String dbConnString, String dbUser, String dbPass, String table, List<String> keyColumns, List<String> columns) {
+            if (keyColumns.isEmpty())
+                throw new IllegalArgumentException("At least one key column is required");
+            this.util = util;
+            this.dbConnString = dbConnString;
+            this.dbUser = dbUser;
+            this.dbPass = dbPass;
+            this.table = table;
+            this.keyColumns = List.copyOf(keyColumns);
+            this.columns = List.copyOf(columns);
+            this.dialect = Dialect.of(util);
+        }
+
+        /**
+         * The rows with their key text (kt), key hash (kh), row hash (rh) and compared columns (c0, c1...)
+         */
+        private String hashQuery() {
+            String keyText = dialect.concat(keyColumns);
+            List<String> rowExpressions = new ArrayList<>(keyColumns);
+            rowExpressions.addAll(columns);
+
+            StringBuilder query = new StringBuilder("select ").append(keyText).append(" kt, ")
+                    .append(dialect.hash(keyText)).append(" kh, ")
+                    .append(dialect.hash(dialect.concat(rowExpressions))).append(" rh");
+            for (int i = 0; i < columns.size(); i++)
+                query.append(", ").append(columns.get(i)).append(" c").append(i);
+            return query.append(" from ").append(table).toString();
+        }
+    }
+}
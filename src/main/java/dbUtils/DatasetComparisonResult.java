@@ -0,0 +1,148 @@
+package dbUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Result of a DatasetComparator comparison: the rows that differ between the source and the target,
+ * and the work the comparison took
+ *
+ * @since 17.10.2026
+ */
+public class DatasetComparisonResult {
+
+    /**
+     * The kind of difference of a row
+     */
+    public enum DifferenceType {
+        ONLY_IN_SOURCE,
+        ONLY_IN_TARGET,
+        DIFFERENT_VALUES,
+        /** a row of a key that has more than one row on a side, and has no identical row on the other side */
+        DUPLICATE_KEY
+    }
+
+    private final List<RowDifference> differences = new ArrayList<>();
+    private long sourceRows;
+    private long targetRows;
+    private int levels;
+    private int aggregateQueries;
+    private long fetchedRows;
+
+    void addDifference(RowDifference difference) {
+        differences.add(difference);
+    }
+
+    void setRowCounts(long sourceRows, long targetRows) {
+        this.sourceRows = sourceRows;
+        this.targetRows = targetRows;
+    }
+
+    void addLevel() {
+        levels++;
+    }
+
+    void addAggregateQueries(int queries) {
+        aggregateQueries += queries;
+    }
+
+    void addFetchedRows(long rows) {
+        fetchedRows += rows;
+    }
+
+    /**
+     * @return true if the source and the target have the same rows and the same row count
+     */
+    public boolean isEqual() {
+        return differences.isEmpty() && sourceRows == targetRows;
+    }
+
+    public List<RowDifference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    public long getSourceRows() {
+        return sourceRows;
+    }
+
+    public long getTargetRows() {
+        return targetRows;
+    }
+
+    /**
+     * @return the number of hash tree levels that were compared
+     */
+    public int getLevels() {
+        return levels;
+    }
+
+    /**
+     * @return the number of aggregate hash queries run on both DBs
+     */
+    public int getAggregateQueries() {
+        return aggregateQueries;
+    }
+
+    /**
+     * @return the number of rows fetched from both DBs to find the differing rows
+     */
+    public long getFetchedRows() {
+        return fetchedRows;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Source rows: %d, target rows: %d, differences: %d (hash levels: %d, aggregate queries: %d, fetched rows: %d)",
+                sourceRows, targetRows, differences.size(), levels, aggregateQueries, fetchedRows);
+    }
+
+    /**
+     * A row that differs between the source and the target
+     */
+    public static class RowDifference {
+        private final String key;
+        private final DifferenceType type;
+        private final List<String> sourceValues;
+        private final List<String> targetValues;
+
+        RowDifference(String key, DifferenceType type, List<String> sourceValues, List<String> targetValues) {
+            this.key = key;
+            this.type = type;
+            this.sourceValues = sourceValues;
+            this.targetValues = targetValues;
+        }
+
+        /**
+         * @return the key columns of the row, joined with |
+         */
+        public String getKey() {
+            return key;
+        }
+
+        public DifferenceType getType() {
+            return type;
+        }
+
+        /**
+         * @return the compared column values in the source, null if the row is only in the target
+         * or is a DUPLICATE_KEY row of the target
+         */
+        public List<String> getSourceValues() {
+            return sourceValues;
+        }
+
+        /**
+         * @return the compared column values in the target, null if the row is only in the source
+         * or is a DUPLICATE_KEY row of the source
+         */
+        public List<String> getTargetValues() {
+            return targetValues;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: source %s, target %s", type, key, sourceValues, targetValues);
+        }
+    }
+}
@@ -1,61 +1,220 @@
 package dbUtils;
 
 import Managers.ReportInstanceManager;
-import Store.StoreManager;
-import Store.StoreType;
-import com.google.common.base.Stopwatch;
 import com.relevantcodes.extentreports.ExtentTest;
 import com.relevantcodes.extentreports.LogStatus;
 import constantsUtils.CommonConstants;
 import Enumerations.MessageLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import static ReportUtils.Report.reportAndLog;
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
 
 public class DbBase {
 
+    private static final Logger logger = LoggerFactory.getLogger(DbBase.class);
+
+    /** Number of rows fetched from the DB in every round trip when streaming query results */
+    public int fetchSize = getGlobalPropertyEntity().getIntProperty("query_fetch_size", 500);
+
     /**
-     * Return a Hash map containing the query result as a list of HashMaps of String, string
-     * @param resultSet the result set
-     * @return a Hash map containing the query result. i.e column names and their values
-     *
-     * @author Dafna Genosar
-     * @since 09.10.2022
+     * This method sets the number of rows fetched from the DB in every round trip when streaming query results
+     * @param fetchSize number of rows
+     * @since 17.10.2026
      */
-    protected <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(ResultSet resultSet) throws SQLException {
+    public void setFetchSize(int fetchSize) {
+        this.fetchSize = fetchSize;
+    }
 
-        LinkedList<LinkedHashMap<String, String>> queryResultsList = new LinkedList<>();
-        ResultSetMetaData resultMetaData = resultSet.getMetaData();
+    /** Number of parameter rows sent and committed together by batch updates */
+    public int batchChunkSize = getGlobalPropertyEntity().getIntProperty("batch_chunk_size", 1000);
 
-        int queryColumnCount = resultMetaData.getColumnCount();
+    /**
+     * This method sets the number of parameter rows sent and committed together by batch updates
+     * @param batchChunkSize number of rows
+     * @since 17.10.2026
+     */
+    public void setBatchChunkSize(int batchChunkSize) {
+        this.batchChunkSize = batchChunkSize;
+    }
+
+    /** Take the results of getResultsFromQuery, getSingleValueFromFirstRowAndColumn and getQueryResult from the shared QueryResultCache */
+    public boolean useQueryCache = getGlobalPropertyEntity().getBooleanProperty("db_query_cache_enabled");
+
+    /**
+     * This method turns the query result cache on/off for this DB util.
+     * Use it for reference data lookups which are repeated many times and do not change during the run
+     * @param useQueryCache true to use the query result cache
+     * @since 17.10.2026
+     */
+    public void setUseQueryCache(boolean useQueryCache) {
+        this.useQueryCache = useQueryCache;
+    }
 
-        while (resultSet.next()) {
+    /** Queries running longer than this (in milliseconds) get their execution plan captured and added to the report. 0 turns it off */
+    public int slowQueryThresholdMillis = getGlobalPropertyEntity().getIntProperty("db_slow_query_threshold", 0);
 
-            LinkedHashMap<String, String> rowResults = new LinkedHashMap<>();
+    /**
+     * This method sets the execution time above which the execution plan of a query is captured and added to the report.
+     * The plan is captured in the background on another pooled connection, so the test thread is not blocked
+     * @param slowQueryThresholdMillis threshold in milliseconds, 0 to turn off the plan capture
+     * @since 17.10.2026
+     */
+    public void setSlowQueryThresholdMillis(int slowQueryThresholdMillis) {
+        this.slowQueryThresholdMillis = slowQueryThresholdMillis;
+    }
 
-            for (int i = 1; i <= queryColumnCount; i++) {
-                String columnName = resultMetaData.getColumnName(i);
+    /** First interval (in milliseconds) between the polls of waitForQueryResult. The interval doubles after every poll */
+    public int pollInitialIntervalMillis = getGlobalPropertyEntity().getIntProperty("db_poll_initial_interval", 250);
 
-                //If key already exists, create a new key with appendix "1".
-                while (rowResults.containsKey(columnName))
-                {
-                    columnName +="1";
-                }
-                rowResults.put(columnName, resultSet.getString(i));
+    /**
+     * This method sets the first interval between the polls of waitForQueryResult
+     * @param pollInitialIntervalMillis interval in milliseconds
+     * @since 17.10.2026
+     */
+    public void setPollInitialIntervalMillis(int pollInitialIntervalMillis) {
+        this.pollInitialIntervalMillis = pollInitialIntervalMillis;
+    }
+
+    /** Max interval (in milliseconds) between the polls of waitForQueryResult */
+    public int pollMaxIntervalMillis = getGlobalPropertyEntity().getIntProperty("db_poll_max_interval", 5000);
+
+    /**
+     * This method sets the max interval between the polls of waitForQueryResult
+     * @param pollMaxIntervalMillis interval in milliseconds
+     * @since 17.10.2026
+     */
+    public void setPollMaxIntervalMillis(int pollMaxIntervalMillis) {
+        this.pollMaxIntervalMillis = pollMaxIntervalMillis;
+    }
+
+    //The connection factory of every connection returned by getPooledConnection, and the bound parameters of the thread, to capture the plan of a slow query
+    private static final Map<Connection, DBConnectionPool.ConnectionFactory> connectionFactories = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final ThreadLocal<Object[]> lastBoundQuery = new ThreadLocal<>();
+
+    /**
+     * Borrow a connection from the shared connection pool, keyed by the connection string + user + password.
+     * Closing the returned connection returns it to the pool.
+     * When a TestDataScope is active on the thread, the scope's connection of the connection string + user is returned instead
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param factory creates a new physical connection when the pool has no valid idle connection
+     * @return a pooled connection
+     * @throws SQLException if the connection could not be created
+     * @since 17.10.2026
+     */
+    protected Connection getPooledConnection(String dbConnString, String dbUser, String dbPass, DBConnectionPool.ConnectionFactory factory) throws SQLException {
+        TestDataScope scope = TestDataScope.getCurrentScope();
+        Connection connection = scope != null ? scope.getConnection(dbConnString, dbUser, dbPass, factory)
+                : DBConnectionPool.getPool().getConnection(dbConnString, dbUser, dbPass, factory);
+        //Statements return this connection from getConnection(), so a slow query resolves the factory of the connection that executed it
+        connectionFactories.put(connection, factory);
+        return connection;
+    }
+
+    /**
+     * Return a DataSource backed by the shared connection pool, for APIs that require a DataSource (i.e. stored procedures)
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param factory creates a new physical connection when the pool has no valid idle connection
+     * @return a DataSource that borrows its connections from the pool
+     * @since 17.10.2026
+     */
+    protected DataSource getPooledDataSource(String dbConnString, String dbUser, String dbPass, DBConnectionPool.ConnectionFactory factory) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return getPooledConnection(dbConnString, dbUser, dbPass, factory);
             }
-            queryResultsList.add(rowResults);
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return getPooledConnection(dbConnString, username, password, factory);
+            }
+        };
+    }
+
+    /**
+     * Run a DB util call asynchronously on the shared DbQueryExecutor
+     * @param call the DB util call
+     * @param <T> the result type
+     * @return future of the call result
+     * @since 17.10.2026
+     */
+    protected <T> CompletableFuture<T> supplyAsync(Supplier<T> call) {
+        return DbQueryExecutor.getExecutor().submit(call);
+    }
+
+    /**
+     * Return the result of a query from the shared QueryResultCache, or load it from the DB.
+     * The cache is used only when useQueryCache is on and skipCache is false
+     * @param resultType the calling method, so different result types of the same query do not share an entry
+     * @param dbConnString DB connection string
+     * @param dbUser DB user. Can be null
+     * @param query the query
+     * @param params the bind parameters of the query
+     * @param skipCache true to run the query on the DB even if its result is cached
+     * @param loader runs the query on the DB
+     * @param <T> the result type
+     * @return the result
+     * @since 17.10.2026
+     */
+    protected <T> T loadQueryResult(String resultType, String dbConnString, String dbUser, String query, List<?> params, boolean skipCache, QueryResultCache.Loader<T> loader) {
+
+        try {
+            if (!useQueryCache || skipCache)
+                return loader.load();
+
+            boolean[] loaded = {false};
+            T result = QueryResultCache.getCache().get(resultType, dbConnString + "|" + (dbUser == null ? "" : dbUser), query, params, () -> {
+                loaded[0] = true;
+                return loader.load();
+            });
+
+            if (!loaded[0])
+                reportAndLog("Query result taken from the query cache: <br>" + query, MessageLevel.INFO);
+            return result;
         }
-        if(queryResultsList.isEmpty())
-            reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+        catch (SQLException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
 
-        return (L)queryResultsList;
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, string
+     * @param resultSet the result set
+     * @return a Hash map containing the query result. i.e column names and their values
+     *
+     * @author Dafna Genosar
+     * @since 09.10.2022
+     */
+    protected <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(ResultSet resultSet) throws SQLException {
+        return (L)readAllRows(resultSet);
     }
 
     /**
@@ -69,33 +228,301 @@ public class DbBase {
      * @since 16.11.2022
      */
     protected <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultLinkedMap(ResultSet resultSet) throws SQLException {
+        return (L)readAllRows(resultSet);
+    }
+
+    /**
+     * Read all the rows of the result set through a cursor
+     * @param resultSet the result set
+     * @return list of the rows as column names and their values
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    private LinkedList<LinkedHashMap<String, String>> readAllRows(ResultSet resultSet) throws SQLException {
 
         LinkedList<LinkedHashMap<String, String>> queryResultsList = new LinkedList<>();
 
-        ResultSetMetaData resultMetaData = resultSet.getMetaData();
+        //The cursor does not own the statement and connection, the caller closes them
+        QueryCursor cursor = new QueryCursor(resultSet, null, null);
+        LinkedHashMap<String, String> rowResults;
+        while ((rowResults = cursor.nextRow()) != null)
+            queryResultsList.add(rowResults);
+
+        if(queryResultsList.isEmpty())
+            reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+
+        return queryResultsList;
+    }
+
+    /**
+     * Open a forward only cursor over the query results. The cursor owns the statement and the connection
+     * and closes them once it is closed or exhausted
+     * @param connection the connection to run the query on. Closed if the query fails
+     * @param query the query
+     * @param queryTimeout query timeout in sec
+     * @return the cursor
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected QueryCursor openCursor(Connection connection, String query, int queryTimeout) throws SQLException {
+        return openCursor(connection, query, Collections.emptyList(), queryTimeout);
+    }
+
+    /**
+     * Open a forward only cursor over the results of a parameterized query. The cursor owns the statement and the
+     * connection and closes them once it is closed or exhausted
+     * @param connection the connection to run the query on. Closed if the query fails
+     * @param query the query, with ? placeholders
+     * @param params values to bind to the query placeholders, by order
+     * @param queryTimeout query timeout in sec
+     * @return the cursor
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected QueryCursor openCursor(Connection connection, String query, List<?> params, int queryTimeout) throws SQLException {
+
+        PreparedStatement statement = null;
+        try {
+            statement = prepareStatement(connection, query, params);
+            statement.setQueryTimeout(queryTimeout);
+            statement.setFetchSize(fetchSize);
+
+            ResultSet resultSet = executeQuery(statement, query);
+            return new QueryCursor(resultSet, statement, connection);
+        }
+        catch (SQLException | RuntimeException e) {
+            if (statement != null)
+                statement.close();
+            connection.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Run a parameterized query and map its rows to records/POJOs with the RowMapper of the type
+     * @param connection the connection. Not closed by this method
+     * @param type the row type, a record or a class with a no-args constructor
+     * @param query the query, with ? placeholders
+     * @param params values to bind to the query placeholders, by order
+     * @param queryTimeout query timeout in sec
+     * @param <T> the row type
+     * @return list of the mapped rows
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected <T> List<T> readRows(Connection connection, Class<T> type, String query, List<?> params, int queryTimeout) throws SQLException {
+
+        RowMapper<T> mapper = RowMapper.of(type);
+        try (PreparedStatement statement = prepareStatement(connection, query, params)) {
+            statement.setQueryTimeout(queryTimeout);
+            statement.setFetchSize(fetchSize);
+
+            try (ResultSet resultSet = executeQuery(statement, query)) {
+                List<T> rows = mapper.mapAll(resultSet);
+                if (rows.isEmpty())
+                    reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA, MessageLevel.INFO);
+                return rows;
+            }
+        }
+    }
+
+    /**
+     * Prepare a statement and bind its parameters.
+     * On pooled connections the statement is taken from the connection's statement cache when the same query was
+     * already prepared, so repeated queries are not parsed again by the DB
+     * @param connection the connection
+     * @param query the query, with ? placeholders
+     * @param params values to bind to the query placeholders, by order. Can be null or empty
+     * @return the prepared statement
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected PreparedStatement prepareStatement(Connection connection, String query, List<?> params) throws SQLException {
 
-        int queryColumnCount = resultMetaData.getColumnCount();
+        PreparedStatement statement = connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        try {
+            bindParameters(statement, params);
+        }
+        catch (SQLException | RuntimeException e) {
+            statement.close();
+            throw e;
+        }
+        lastBoundQuery.set(new Object[]{query, params});
+        return statement;
+    }
 
-        while (resultSet.next()) {
+    /**
+     * Bind values to the placeholders of a prepared statement.
+     * java.util.Date values are bound as Timestamp, null values are bound as NULL (VARCHAR)
+     * @param statement the prepared statement
+     * @param params values to bind to the query placeholders, by order. Can be null or empty
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected void bindParameters(PreparedStatement statement, List<?> params) throws SQLException {
 
-            LinkedHashMap<String, String> rowResults = new LinkedHashMap<>();
+        if (params == null)
+            return;
 
-            for (int i = 1; i <= queryColumnCount; i++) {
-                String columnName = resultMetaData.getColumnName(i);
+        int index = 1;
+        for (Object param : params) {
+            if (param == null)
+                statement.setNull(index, Types.VARCHAR);
+            else if (param instanceof java.util.Date && !(param instanceof java.sql.Date) && !(param instanceof Timestamp))
+                statement.setTimestamp(index, new Timestamp(((java.util.Date) param).getTime()));
+            else
+                statement.setObject(index, param);
+            index++;
+        }
+    }
 
-                //If key already exists, create a new key with appendix "1".
-                while (rowResults.containsKey(columnName))
-                {
-                    columnName +="1";
+    /**
+     * Execute a statement template for every row of parameters, using JDBC batches.
+     * The rows are sent to the DB in chunks of chunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk and the previous chunks stay committed.
+     * The rows are read from the iterator one chunk at a time, so a lazy source (i.e. a stream) is not materialized
+     * @param connection the connection
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param chunkSize number of rows per batch and transaction
+     * @param queryTimeout query timeout in seconds
+     * @return the rows affected per chunk
+     * @throws SQLException if a chunk failed. The failing chunk is rolled back
+     * @since 17.10.2026
+     */
+    protected BatchUpdateResult executeBatchUpdate(Connection connection, String query, Iterator<? extends List<?>> paramRows, int chunkSize, int queryTimeout) throws SQLException {
+
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException("Batch chunk size must be positive, got: " + chunkSize);
+
+        BatchUpdateResult result = new BatchUpdateResult();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setQueryTimeout(queryTimeout);
+
+            while (paramRows.hasNext()) {
+                int rowsInChunk = 0;
+                while (rowsInChunk < chunkSize && paramRows.hasNext()) {
+                    bindParameters(statement, paramRows.next());
+                    statement.addBatch();
+                    rowsInChunk++;
+                }
+
+                try {
+                    int[] updateCounts = statement.executeBatch();
+                    connection.commit();
+                    result.addChunk(updateCounts);
                 }
-                rowResults.put(columnName, resultSet.getString(i));
+                catch (SQLException e) {
+                    statement.clearBatch();
+                    connection.rollback();
+                    throw new SQLException(String.format("Batch chunk %d failed and was rolled back. Committed so far: %s. Error: %s",
+                            result.getChunkCount() + 1, result, e.getMessage()), e.getSQLState(), e.getErrorCode(), e);
+                }
+                logger.info(String.format("Batch chunk %d committed. Rows affected: %d", result.getChunkCount(), result.getChunkRowsAffected().get(result.getChunkCount() - 1)));
             }
-            queryResultsList.add(rowResults);
         }
-        if(queryResultsList.isEmpty())
-            reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+        finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return result;
+    }
+
+    /**
+     * Poll the DB until the result of a query meets a condition or the timeout passes.
+     * All the polls run on the given connection and reuse the same prepared statements.
+     * The interval between polls starts at pollInitialIntervalMillis and doubles up to pollMaxIntervalMillis.
+     * When a probe query is given (a cheap single value query, i.e. select count(*) or select max(updated_at)),
+     * the probe runs on every poll and the full query runs only when the probe value changed since the last full query
+     * @param connection the connection to poll on. Not closed by this method
+     * @param query the full query, with ? placeholders
+     * @param params values to bind to the placeholders of the full query, by order
+     * @param condition the condition the full query result should meet
+     * @param probeQuery cheap query which returns a single value that changes when the full query result may change. Can be null
+     * @param probeParams values to bind to the placeholders of the probe query, by order
+     * @param timeoutMillis max time to wait
+     * @param queryTimeout query timeout in seconds
+     * @return the result which met the condition, or null if it was not met within the timeout
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected QueryResult pollQueryResult(Connection connection, String query, List<?> params, Predicate<QueryResult> condition,
+                                          String probeQuery, List<?> probeParams, long timeoutMillis, int queryTimeout) throws SQLException {
+
+        long startNanos = System.nanoTime();
+        long deadline = startNanos + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        long interval = Math.max(1, pollInitialIntervalMillis);
+        int polls = 0;
+        int fullQueries = 0;
+        String lastProbeValue = null;
+        QueryResult result = null;
+        boolean met = false;
+
+        try (PreparedStatement statement = prepareStatement(connection, query, params);
+             PreparedStatement probe = probeQuery == null ? null : prepareStatement(connection, probeQuery, probeParams)) {
+            statement.setQueryTimeout(queryTimeout);
+            if (probe != null)
+                probe.setQueryTimeout(queryTimeout);
+
+            while (true) {
+                polls++;
+                boolean runFullQuery = true;
+                if (probe != null) {
+                    String probeValue = readPolledValue(probe, probeQuery);
+                    runFullQuery = fullQueries == 0 || !Objects.equals(probeValue, lastProbeValue);
+                    lastProbeValue = probeValue;
+                }
+
+                if (runFullQuery) {
+                    fullQueries++;
+                    result = readPolledResult(statement, query);
+                    if (condition.test(result)) {
+                        met = true;
+                        break;
+                    }
+                }
+
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0)
+                    break;
+                try {
+                    Thread.sleep(Math.min(interval, remainingMillis));
+                }
+                catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                interval = Math.min(interval * 2, Math.max(interval, pollMaxIntervalMillis));
+            }
+        }
+
+        reportAndLog(String.format("%s after %.2f sec. Polls: %d, full queries: %d%s<br>Query: %s",
+                met ? "Query result condition met" : "Query result condition was not met",
+                (System.nanoTime() - startNanos) / 1_000_000_000.0, polls, fullQueries,
+                probeQuery == null ? "" : ", last probe value: " + lastProbeValue, query), met ? MessageLevel.INFO : MessageLevel.WARN);
+
+        return met ? result : null;
+    }
+
+    /**
+     * Run a polled query without reporting every execution to the test report, only recording its latency
+     */
+    private QueryResult readPolledResult(PreparedStatement statement, String query) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (QueryCursor cursor = new QueryCursor(statement.executeQuery(), null, null)) {
+            QueryLatencyRegistry.recordQuery(query, System.nanoTime() - startNanos);
+            return QueryResult.read(cursor);
+        }
+    }
 
-        return (L)queryResultsList;
+    private String readPolledValue(PreparedStatement statement, String query) throws SQLException {
+        long startNanos = System.nanoTime();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            QueryLatencyRegistry.recordQuery(query, System.nanoTime() - startNanos);
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
     }
 
     /**
@@ -108,35 +535,115 @@ public class DbBase {
      * @since 06.03.2023
      */
     protected ResultSet executeQuery(Statement statement, String query) throws SQLException {
+        return executeTimedQuery(statement, query, () -> statement.executeQuery(query));
+    }
 
-        LinkedHashMap<String, String> queryPerformance = StoreManager.getStore(StoreType.GLOBAL).getValueFromStore("AllQueriesTimes");
-
-        if(queryPerformance == null) {
-            StoreManager.getStore(StoreType.GLOBAL).putValueInStore("AllQueriesTimes", new LinkedHashMap<String, String>());
-            queryPerformance = StoreManager.getStore(StoreType.GLOBAL).getValueFromStore("AllQueriesTimes");
-        }
-
-        //Create a stop watch and start the timer
-        Stopwatch stopwatch = Stopwatch.createStarted();
+    /**
+     * Execute the prepared query and report the execution time
+     * @param statement PreparedStatement object, with its parameters already bound
+     * @param query the query of the statement, used for the report
+     * @return the ResultSet
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected ResultSet executeQuery(PreparedStatement statement, String query) throws SQLException {
+        return executeTimedQuery(statement, query, statement::executeQuery);
+    }
 
-        ResultSet resultSet = statement.executeQuery(query);
+    /**
+     * A JDBC call that may throw SQLException
+     * @param <T> the call result type
+     */
+    @FunctionalInterface
+    protected interface SqlCall<T> {
+        T call() throws SQLException;
+    }
 
-        //Stop the watch
-        stopwatch.stop();
+    private ResultSet executeTimedQuery(Statement statement, String query, SqlCall<ResultSet> execution) throws SQLException {
 
-        //Get the time that passed in millisecs
-        long millis = stopwatch.elapsed(TimeUnit.MILLISECONDS);
+        long startNanos = System.nanoTime();
 
-        //Get the time that passed in seconds
-        double calcSeconds = millis * 0.001;
-        String roundedSecString = String.format("%.2f", calcSeconds);
+        ResultSet resultSet = execution.call();
 
-        queryPerformance.put(query, roundedSecString);
+        long elapsedNanos = System.nanoTime() - startNanos;
+        QueryLatencyRegistry.recordQuery(query, elapsedNanos);
+        if (slowQueryThresholdMillis > 0 && elapsedNanos > slowQueryThresholdMillis * 1_000_000L)
+            captureSlowQueryPlan(statement, query, elapsedNanos);
 
         ExtentTest currentExtentTest = ReportInstanceManager.getCurrentTestReport();
-        if(currentExtentTest != null)
-            ReportInstanceManager.getCurrentTestReport().log(LogStatus.INFO, String.format("Query execution time: %s", roundedSecString));
+        if(currentExtentTest != null) {
+            currentExtentTest.log(LogStatus.INFO, String.format("Query execution time: %.2f", elapsedNanos / 1_000_000_000.0));
+
+            //Plans of previous slow queries of the test that were captured in the meantime
+            for (SlowQueryPlan plan : QueryLatencyRegistry.getTestRegistry().pollUnreportedSlowQueryPlans())
+                currentExtentTest.log(LogStatus.INFO, plan.toHtml());
+        }
 
         return resultSet;
     }
+
+    /**
+     * Return the execution plan of a query, without executing the query.
+     * Each DB util overrides it with the plan statement of its DB
+     * @param connection the connection to explain the query on
+     * @param query the query, with ? placeholders
+     * @param params values bound to the query placeholders, by order
+     * @return the execution plan as text, or null if the DB util does not support plan capture
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    protected String explainQuery(Connection connection, String query, List<?> params) throws SQLException {
+        return null;
+    }
+
+    /**
+     * Capture the execution plan of a slow query in the background, on a new connection that is not pooled and is closed
+     * after the capture, so session settings of the plan statements (SHOWPLAN_XML on MSSQL) never reach a pooled connection.
+     * The new connection is created by the factory of the connection that executed the query, so the plan is captured on the same DB.
+     * The plan is added to the test registry, and from it to the test report and the TestMetric of the test
+     * @param statement the statement that executed the slow query
+     * @param query the slow query
+     * @param elapsedNanos the execution time of the query
+     */
+    private void captureSlowQueryPlan(Statement statement, String query, long elapsedNanos) {
+
+        //Not a connection of getPooledConnection, there is no factory to create the plan connection with
+        DBConnectionPool.ConnectionFactory factory = getConnectionFactory(statement);
+        if (factory == null)
+            return;
+
+        Object[] boundQuery = lastBoundQuery.get();
+        List<?> params = boundQuery != null && query.equals(boundQuery[0]) ? (List<?>) boundQuery[1] : Collections.emptyList();
+        double elapsedMillis = elapsedNanos / 1_000_000.0;
+        logger.info(String.format("Slow query (%.2f ms), capturing its execution plan: %s", elapsedMillis, query));
+
+        CompletableFuture<SlowQueryPlan> plan = DbQueryExecutor.getExecutor().submit(() -> {
+            String explained;
+            try (Connection connection = factory.create()) {
+                explained = explainQuery(connection, query, params);
+                if (explained == null)
+                    explained = "Execution plan capture is not supported for this DB";
+            }
+            catch (SQLException | RuntimeException e) {
+                explained = "Failed to capture the execution plan: " + e.getMessage();
+            }
+            logger.info(String.format("Execution plan of slow query: %s%n%s", query, explained));
+            return new SlowQueryPlan(query, elapsedMillis, explained);
+        });
+        QueryLatencyRegistry.getTestRegistry().addSlowQueryPlan(plan);
+    }
+
+    /**
+     * Return the factory of the connection of a statement
+     * @param statement the statement
+     * @return the factory of the connection, or null if the connection was not returned by getPooledConnection
+     */
+    private static DBConnectionPool.ConnectionFactory getConnectionFactory(Statement statement) {
+        try {
+            return connectionFactories.get(statement.getConnection());
+        }
+        catch (SQLException e) {
+            return null;
+        }
+    }
 }
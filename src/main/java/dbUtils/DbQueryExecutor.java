@@ -0,0 +1,157 @@
+package dbUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import propertyUtils.Property;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Singleton bounded executor for asynchronous DB queries, so queries to several databases can run at the same time
+ * and the setup time is close to the slowest query instead of the sum of all the queries.<br>
+ * Runs on virtual threads when the JVM supports them (Java 21+), otherwise on a pool of daemon threads.
+ * In both cases at most db_async_max_concurrency queries run at the same time.<br>
+ * The query latencies of a task are recorded in the test registry of the thread that submitted it.
+ * Report messages of the DB utils written by a task go to the log only, since the Extent test is bound to the test thread.
+ * <pre>
+ * {@code
+ *     CompletableFuture<QueryResult> bookings = oracleUtil.getQueryResultAsync(bookingsQuery, List.of(), iqShipConn, user, pass);
+ *     CompletableFuture<List<String>> vessels = msSqlUtil.getResultsFromQueryAsync(vesselsQuery, List.of(), sqlConn, user, pass);
+ *     DbQueryExecutor.awaitAll(bookings, vessels);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class DbQueryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbQueryExecutor.class);
+    private static DbQueryExecutor instance = null;
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    private DbQueryExecutor() {
+        Property property = getGlobalPropertyEntity();
+        int maxConcurrency = property.getIntProperty("db_async_max_concurrency", 16);
+
+        permits = new Semaphore(maxConcurrency, true);
+        executor = createExecutor(maxConcurrency);
+    }
+
+    /**
+     * Get the executor instance
+     * @return the executor shared by all threads
+     * @since 17.10.2026
+     */
+    public static synchronized DbQueryExecutor getExecutor() {
+        if (instance == null)
+            instance = new DbQueryExecutor();
+        return instance;
+    }
+
+    /**
+     * Run a query asynchronously
+     * @param query the query call, i.e. () -> dbUtil.getQueryResult(query, params, connString, user, pass)
+     * @param <T> the result type
+     * @return future of the query result. Completes exceptionally with the Error thrown by the query call
+     * @since 17.10.2026
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> query) {
+
+        QueryLatencyRegistry callerRegistry = QueryLatencyRegistry.getTestRegistry();
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+
+            QueryLatencyRegistry previousRegistry = QueryLatencyRegistry.setTestRegistry(callerRegistry);
+            try {
+                return query.get();
+            }
+            finally {
+                QueryLatencyRegistry.setTestRegistry(previousRegistry);
+                permits.release();
+            }
+        }, executor);
+    }
+
+    /**
+     * Wait for the result of an asynchronous query
+     * @param future the query future
+     * @param <T> the result type
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Error("Interrupted while waiting for an asynchronous query", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Error)
+                throw (Error) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new Error(String.format("Asynchronous query failed.<br>Error: %s<br><br>", cause.getMessage()), cause);
+        }
+    }
+
+    /**
+     * Wait for all the asynchronous queries to complete. If any query failed, its error is thrown once all the
+     * queries completed, so no query is left running in the background
+     * @param futures the query futures
+     * @since 17.10.2026
+     */
+    public static void awaitAll(CompletableFuture<?>... futures) {
+        try {
+            CompletableFuture.allOf(futures).join();
+        }
+        catch (CompletionException ignored) {
+            //the failure is rethrown by await() of the failed future below
+        }
+        for (CompletableFuture<?> future : futures)
+            await(future);
+    }
+
+    private static ExecutorService createExecutor(int maxConcurrency) {
+        try {
+            ExecutorService virtualThreads = (ExecutorService) java.util.concurrent.Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            logger.info("DB async queries run on virtual threads, max concurrency: " + maxConcurrency);
+            return virtualThreads;
+        }
+        catch (ReflectiveOperationException e) {
+            logger.info("Virtual threads are not supported, DB async queries run on a pool of " + maxConcurrency + " threads");
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "db-async-query-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+}
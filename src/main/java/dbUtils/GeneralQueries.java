@@ -1,5 +1,6 @@
 package dbUtils;
 
+import java.util.Collections;
 import java.util.List;
 
 public class GeneralQueries {
@@ -19,9 +20,9 @@ public class GeneralQueries {
 
         String query = "select prt_code\n" +
                 "from aplcnt.tab_prt\n" +
-                "where prt_locode = '" + unLocationCode + "'";
+                "where prt_locode = ?";
 
-        List<String> results = new OracleDatabaseUtil().getResultsFromQuery(query, connectionSetting, user, password);
+        List<String> results = new OracleDatabaseUtil().getResultsFromQuery(query, Collections.singletonList(unLocationCode), connectionSetting, user, password);
         if(results.size()>0)
             return results.get(0);
         else
@@ -42,9 +43,9 @@ public class GeneralQueries {
 
         String query = "select prt_locode\n" +
                 "from aplcnt.tab_prt\n" +
-                "where prt_code = '" + iqShipPortCode + "'";
+                "where prt_code = ?";
 
-        List<String> results = new OracleDatabaseUtil().getResultsFromQuery(query, connectionSetting, user, password);
+        List<String> results = new OracleDatabaseUtil().getResultsFromQuery(query, Collections.singletonList(iqShipPortCode), connectionSetting, user, password);
         if(results.size()>0)
             return results.get(0);
         else
@@ -0,0 +1,110 @@
+package dbUtils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free histogram of durations in nanoseconds.<br>
+ * Values are counted in log-linear buckets: every power of 2 is split into 16 buckets, so a percentile is accurate
+ * to about 6% of its value. Recording a value is a few atomic increments and does not allocate,
+ * so it can be called from any number of threads on every query.
+ *
+ * @since 17.10.2026
+ */
+public class LatencyHistogram {
+
+    //Number of buckets per power of 2 (2^SUB_BUCKET_BITS)
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Record a duration
+     * @param nanos the duration in nanoseconds. Negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+
+        buckets.incrementAndGet(bucketIndex(nanos));
+        count.increment();
+        totalNanos.add(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos))
+            max = maxNanos.get();
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the longest recorded duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * @return the sum of all the recorded durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    /**
+     * Return the duration below which the given percentage of the recorded durations fall
+     * @param percentile percentile between 0 and 100, i.e. 95
+     * @return the duration in nanoseconds (the upper bound of its bucket), or 0 if nothing was recorded
+     */
+    public long getPercentileNanos(double percentile) {
+
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100.0));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += snapshot[i];
+            if (cumulative >= rank)
+                return Math.min(bucketUpperBound(i), getMaxNanos());
+        }
+        return getMaxNanos();
+    }
+
+    private static int bucketIndex(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        long upperBound = ((subBucket + 1) << shift) - 1;
+        return upperBound < 0 ? Long.MAX_VALUE : upperBound;
+    }
+}
@@ -7,13 +7,17 @@ import Enumerations.MessageLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.SqlParameter;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.jdbc.object.GenericStoredProcedure;
 import org.springframework.jdbc.object.StoredProcedure;
 import tableUtils.PrettyPrintTable;
 import javax.annotation.Nullable;
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
 import static ReportUtils.Report.reportAndLog;
@@ -70,7 +74,8 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
 
     /**
-     * This method returns a Microsoft SQL connection
+     * This method returns a Microsoft SQL connection from the shared connection pool.
+     * Closing the connection returns it to the pool
      *
      * @author zvika.sela
      * @since 15.06.2021
@@ -84,12 +89,8 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
         //Loading the required JDBC Driver class
         Class.forName("com.microsoft.sqlserver.jdbc.SQLServerDriver");
-        // Declare the JDBC objects.
-        Connection con;
-        // Establish the connection.
-        con = DriverManager.getConnection(dbConnString,dbUser,dbPass);
-
-        return con;
+        // Establish the connection, or reuse an idle one from the pool.
+        return getPooledConnection(dbConnString, dbUser, dbPass, () -> DriverManager.getConnection(dbConnString,dbUser,dbPass));
     }
 
     /** Set connection to the Azure DB
@@ -116,7 +117,16 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
         ds.setTrustServerCertificate(true);
         ds.setLoginTimeout(30);
 
-        Connection connection = ds.getConnection();
+        Connection connection;
+        try {
+            connection = getPooledConnection(serverName + ";databaseName=" + dbName, dbUser, dbPassword, ds::getConnection);
+        }
+        catch (SQLServerException e) {
+            throw e;
+        }
+        catch (SQLException e) {
+            throw new SQLServerException(e.getMessage(), e);
+        }
         System.out.println("Connected to Azure SQL database.");
 
         return  connection;
@@ -134,10 +144,45 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      */
     @Override
     public String getSingleValueFromFirstRowAndColumn(String query, String dbConnString, String dbUser, String dbPass) {
+        return getSingleValueFromFirstRowAndColumn(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address+user+pass
+     * @return a String representing the value returned from DB
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return getSingleValueFromFirstRowAndColumn(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address+user+pass
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a String representing the value returned from DB
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean skipCache) {
+        return loadQueryResult("getSingleValueFromFirstRowAndColumn", dbConnString, dbUser, query, params, skipCache, () -> getSingleValueFromDb(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Run the query of getSingleValueFromFirstRowAndColumn on the DB, bypassing the query cache
+     */
+    private String getSingleValueFromDb(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
 
 
         ResultSet resultSet = null;
-        Statement statement = null;
+        PreparedStatement statement = null;
         Connection connection = null;
         String singleValue = null;
 
@@ -146,9 +191,9 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
         try {
             connection =  connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
             if (!resultSet.next()) {
                 reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
             }
@@ -182,9 +227,24 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      */
     @Override
     public List<String> getSingleRowResult(String query, String dbConnString, String dbUser, String dbPass) {
+        return getSingleRowResult(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * if more than 1 row is fetched it will only return the first one.
+     * This is best for a single-row query results
+     *
+     * @param query  the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address+user+pass
+     * @return a List that holds the resulting row, if more than 1 row is fetched it will only return the first one.
+     * @since 17.10.2026
+     */
+    public List<String> getSingleRowResult(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
         List<String> singleRowResults = null;
         ResultSet resultSet = null;
-        Statement statement = null;
+        PreparedStatement statement = null;
         Connection connection = null;
 
         reportAndLog("Connecting to:" + dbConnString + "with user " + dbUser,MessageLevel.INFO);
@@ -192,7 +252,7 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
         try {
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             resultSet = super.executeQuery(statement, query);
@@ -236,6 +296,20 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      * @since 15.05.2023
      */
     public void executeUpdate(String query, String dbConnString, String dbUser, String dbPass, MessageLevel ml) throws SQLException, ClassNotFoundException {
+        executeUpdate(query, Collections.emptyList(), dbConnString, dbUser, dbPass, ml);
+    }
+
+    /**
+     * Execute a query
+     * @param query the query to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString connection string
+     * @param dbUser db user
+     * @param dbPass db password
+     * @param ml  message level in case the insert did not insert a new record
+     * @since 17.10.2026
+     */
+    public void executeUpdate(String query, List<?> params, String dbConnString, String dbUser, String dbPass, MessageLevel ml) throws SQLException, ClassNotFoundException {
 
         PreparedStatement statement;
         Connection connection;
@@ -244,7 +318,7 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
         reportAndLog("Executing Query: <br>" + query, MessageLevel.INFO);
 
         connection = connect(dbConnString, dbUser, dbPass);
-        statement = connection.prepareStatement(query);
+        statement = prepareStatement(connection, query, params);
         statement.setQueryTimeout(queryTimeout);
 
         // Execute the statement
@@ -275,9 +349,23 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      */
     @Override
     public List<List<String>> getQueryResultTable (String query, String dbConnString, String dbUser, String dbPass) {
+        return getQueryResultTable(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a multi-column  queries
+     *
+     * @param query        the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address+user+pass
+     * @return a List that holds a list of the table's rows
+     * @since 17.10.2026
+     */
+    public List<List<String>> getQueryResultTable (String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
         List<List<String>> queryResultsList = new ArrayList<>();
         ResultSet resultSet = null;
-        Statement statement = null;
+        PreparedStatement statement = null;
         Connection connection = null;
 
 
@@ -285,10 +373,10 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
         reportAndLog("Connecting to:" + dbConnString + " with user " + dbUser,MessageLevel.INFO);
         reportAndLog("Executing Query: <br>" + query , MessageLevel.INFO);
         try {
-            connection = DriverManager.getConnection(dbConnString);
-            statement = connection.createStatement();
+            connection = connect(dbConnString,dbUser,dbPass);
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
             int queryColumnCount = resultSet.getMetaData().getColumnCount();
 
             while (resultSet.next()) {
@@ -306,7 +394,7 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
 
 
-        } catch (SQLException sqlException) {
+        } catch (SQLException | ClassNotFoundException sqlException) {
             reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
             sqlException.printStackTrace();
 
@@ -369,7 +457,43 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
 
     public List<String> getResultsFromQuery(String query, String dbConnString, String dbUser, String dbPass) {
 
-        return getResultsFromQuery(query, dbConnString, dbUser, dbPass, true, true);
+        return getResultsFromQuery(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return getResultsFromQuery(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean skipCache) {
+        return new ArrayList<>(loadQueryResult("getResultsFromQuery", dbConnString, dbUser, query, params, skipCache, () -> getResultsFromQuery(query, params, dbConnString, dbUser, dbPass, true, true)));
     }
 
     /**
@@ -386,14 +510,33 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      * @return a List of database row
      */
     public List<String> getResultsFromQuery(String query, String dbConnString, String dbUser, String dbPass, boolean reportQuery, boolean reportResults) {
+        return getResultsFromQuery(query, Collections.emptyList(), dbConnString, dbUser, dbPass, reportQuery, reportResults);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @param reportQuery true/false if to add the query string to the report (in cases when the query is very long)
+     * @param reportResults true/false if to add the results string to the report (in cases when the results are very long)
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean reportQuery, boolean reportResults) {
         List<String> resultsList = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             if(reportQuery)
@@ -401,7 +544,7 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
             else
                 logger.info("Executing Query: <br>" + query);
 
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
 
             while (resultSet.next()) {
                 String value = resultSet.getString(1);
@@ -444,14 +587,29 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      * @since 09.10.2022
      */
     public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass) {
+        return getQueryStringResultMap(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, string
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a Hash map containing the query result. i.e column names and their values
+     *
+     * @since 17.10.2026
+     */
+    public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
 
         LinkedList<LinkedHashMap<String, String>> queryResultsList;
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             reportAndLog("Executing Query: <br>" + query , MessageLevel.INFO);
@@ -486,14 +644,29 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
      * @since 06.08.2023
      */
     public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass, boolean reportQueryToLog) {
+        return getQueryStringResultMap(query, Collections.emptyList(), dbConnString, dbUser, dbPass, reportQueryToLog);
+    }
+
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, string
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param reportQueryToLog true id to write the query string to the report
+     * @return a Hash map containing the query result. i.e column names and their values
+     * @since 17.10.2026
+     */
+    public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean reportQueryToLog) {
 
         LinkedList<LinkedHashMap<String, String>> queryResultsList;
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             if(reportQueryToLog)
@@ -577,7 +750,7 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
     {
         StoredProcedure storedProcedure;
 
-        DriverManagerDataSource dataSource = new DriverManagerDataSource(dbConnString, dbUser, dbPass);
+        DataSource dataSource = getPooledDataSource(dbConnString, dbUser, dbPass, () -> DriverManager.getConnection(dbConnString, dbUser, dbPass));
 
         storedProcedure = new GenericStoredProcedure();
         storedProcedure.setDataSource(dataSource);
@@ -627,4 +800,419 @@ public class MSSqlServerDBUtil extends DbBase implements DBConnectionManager {
             }
         }
     }
+
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try {
+            Connection connection = connect(dbConnString,dbUser,dbPass);
+
+            reportAndLog("Executing Query: " + query , MessageLevel.INFO);
+
+            return super.openCursor(connection, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to open Query Cursor.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, dbConnString, dbUser, dbPass).stream();
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, params, dbConnString, dbUser, dbPass).stream();
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, String dbConnString, String dbUser, String dbPass, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, dbConnString, dbUser, dbPass)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, List<?> params, String dbConnString, String dbUser, String dbPass, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString, dbUser, dbPass)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, String dbConnString, String dbUser, String dbPass) {
+        return getQueryResult(query, Collections.emptyList(), dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return getQueryResult(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean skipCache) {
+        return loadQueryResult("getQueryResult", dbConnString, dbUser, query, params, skipCache, () -> getQueryResultFromDb(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Run the query of getQueryResult on the DB, bypassing the query cache
+     */
+    private QueryResult getQueryResultFromDb(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString, dbUser, dbPass)) {
+            QueryResult queryResult = QueryResult.read(cursor);
+
+            if(queryResult.isEmpty())
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+
+            return queryResult;
+        }
+        catch (SQLException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the query results mapped to records/POJOs. Every column is read with the JDBC getter of the matching
+     * field type (i.e. getLong, getTimestamp) and matched to the field by name, ignoring case and underscores
+     * @param type the row type, a record or a class with a no-args constructor
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param <T> the row type
+     * @return list of the mapped rows
+     * @since 17.10.2026
+     */
+    public <T> List<T> getQueryResultAs(Class<T> type, String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try (Connection connection = connect(dbConnString, dbUser, dbPass)) {
+            reportAndLog("Executing Query: " + query, MessageLevel.INFO);
+            return readRows(connection, type, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Export the query results to a CSV, XLSX or NDJSON file, streaming the rows from the DB to the file
+     * so the results are not held in memory. The export rate (rows/sec) is added to the report
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param filePath the file to create. An existing file is replaced
+     * @param format the file format
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the export statistics
+     * @since 17.10.2026
+     */
+    public QueryExporter.ExportResult exportQueryResult(String query, List<?> params, String filePath, QueryExporter.ExportFormat format, String dbConnString, String dbUser, String dbPass) {
+        return QueryExporter.export(openQueryCursor(query, params, dbConnString, dbUser, dbPass), filePath, format);
+    }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of batchChunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString, String dbUser, String dbPass) {
+        return executeBatchUpdate(query, paramRows, dbConnString, dbUser, dbPass, batchChunkSize);
+    }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of chunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param chunkSize number of rows per batch and transaction
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString, String dbUser, String dbPass, int chunkSize) {
+
+        Connection connection = null;
+
+        reportAndLog("Executing batch update: <br>" + query, MessageLevel.INFO);
+        try {
+            connection = connect(dbConnString, dbUser, dbPass);
+
+            BatchUpdateResult result = super.executeBatchUpdate(connection, query, paramRows.iterator(), chunkSize, queryTimeout);
+
+            reportAndLog("Batch update completed. " + result, MessageLevel.INFO);
+            return result;
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Batch update failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Batch update failed.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+        finally {
+            disconnect(connection, null, null);
+        }
+    }
+
+    /**
+     * Asynchronous getSingleValueFromFirstRowAndColumn.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<String> getSingleValueFromFirstRowAndColumnAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getSingleValueFromFirstRowAndColumn(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getResultsFromQuery.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<List<String>> getResultsFromQueryAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getResultsFromQuery(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getQueryStringResultMap.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<LinkedList<LinkedHashMap<String, String>>> getQueryStringResultMapAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getQueryStringResultMap(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getQueryResult.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<QueryResult> getQueryResultAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getQueryResult(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Wait until the query returns rows, polling the DB with exponential backoff on a single connection
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result, or null if the query returned no rows within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, int timeoutInSeconds, String dbConnString, String dbUser, String dbPass) {
+        return waitForQueryResult(query, params, result -> !result.isEmpty(), null, null, timeoutInSeconds, dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Wait until the query result meets a condition, polling the DB with exponential backoff on a single connection
+     * and prepared statement, instead of a sleep loop that opens a connection on every poll.
+     * When a probe query is given, only the probe runs on every poll and the full query runs only when the probe value changed.
+     * i.e. waiting for a job to write its rows:
+     * <pre>
+     * {@code
+     *     QueryResult rows = dbUtil.waitForQueryResult("select * from job_log where job_id = ?", List.of(jobId),
+     *             result -> result.size() >= 3, "select count(*) from job_log where job_id = ?", List.of(jobId), 120, ...);
+     * }
+     * </pre>
+     * The polling statistics are added to the test report
+     * @param query the full query
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param condition the condition the query result should meet
+     * @param probeQuery cheap single value query (i.e. count(*) or max(updated_at)) which changes when the full query result may change. Can be null
+     * @param probeParams values to bind to the ? placeholders of the probe query, by order. Can be null
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result which met the condition, or null if it was not met within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, Predicate<QueryResult> condition, String probeQuery, List<?> probeParams,
+                                          int timeoutInSeconds, String dbConnString, String dbUser, String dbPass) {
+
+        reportAndLog("Waiting for Query result: " + query, MessageLevel.INFO);
+        try (Connection connection = connect(dbConnString, dbUser, dbPass)) {
+            return pollQueryResult(connection, query, params, condition, probeQuery, probeParams, timeoutInSeconds * 1000L, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to wait for Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the estimated execution plan of a query as SHOWPLAN_XML. The query is not executed while SHOWPLAN_XML is on.
+     * SHOWPLAN_XML stays on if turning it off fails, so the connection must not be a pooled one
+     * @param connection the connection to explain the query on, not pooled
+     * @param query the query, with ? placeholders
+     * @param params values bound to the query placeholders, by order
+     * @return the plan XML
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    @Override
+    protected String explainQuery(Connection connection, String query, List<?> params) throws SQLException {
+
+        StringBuilder plan = new StringBuilder();
+        try (Statement showPlan = connection.createStatement()) {
+            showPlan.execute("SET SHOWPLAN_XML ON");
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                bindParameters(statement, params);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next())
+                        plan.append(resultSet.getString(1));
+                }
+            }
+            finally {
+                showPlan.execute("SET SHOWPLAN_XML OFF");
+            }
+        }
+        return plan.toString();
+    }
 }
@@ -5,13 +5,17 @@ import Enumerations.MessageLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.jdbc.core.SqlParameter;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
 import org.springframework.jdbc.object.GenericStoredProcedure;
 import org.springframework.jdbc.object.StoredProcedure;
 import tableUtils.PrettyPrintTable;
 
+import javax.sql.DataSource;
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
 import static ReportUtils.Report.reportAndLog;
 
@@ -38,7 +42,8 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
 
 
     /**
-     * This method returns an Oracle DB connection
+     * This method returns an Oracle DB connection from the shared connection pool.
+     * Closing the connection returns it to the pool
      *
      * @author zvika.sela
      * @since 28.06.2021
@@ -50,7 +55,7 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
     @Override
     public Connection connect(String dbConnString, String dbUser, String dbPass) throws ClassNotFoundException, SQLException {
         reportAndLog("Connecting to:" + dbConnString + " with user: " + dbUser, MessageLevel.INFO);
-        return DriverManager.getConnection(dbConnString, dbUser, dbPass);
+        return getPooledConnection(dbConnString, dbUser, dbPass, () -> DriverManager.getConnection(dbConnString, dbUser, dbPass));
     }
 
 
@@ -66,17 +71,58 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @return a String representing the username
      */
     public String getSingleValueFromFirstRowAndColumn(String query, String dbConnString,String dbUser, String dbPass){
+        return getSingleValueFromFirstRowAndColumn(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     *
+     * @param query            the given query we wish to execute of type 'select user_name'
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @return a String representing the username
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString,String dbUser, String dbPass){
+        return getSingleValueFromFirstRowAndColumn(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     *
+     * @param query            the given query we wish to execute of type 'select user_name'
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a String representing the username
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString,String dbUser, String dbPass, boolean skipCache){
+        return loadQueryResult("getSingleValueFromFirstRowAndColumn", dbConnString, dbUser, query, params, skipCache, () -> getSingleValueFromDb(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Run the query of getSingleValueFromFirstRowAndColumn on the DB, bypassing the query cache
+     */
+    private String getSingleValueFromDb(String query, List<?> params, String dbConnString,String dbUser, String dbPass){
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             reportAndLog("Connecting to:" + dbConnString + " with user: " + dbUser, MessageLevel.INFO);
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
                 if (!resultSet.next()) {
                     reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
                 }
@@ -112,9 +158,52 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @return a List of database row
      */
     public List<String> getResultsFromQuery(String query, String dbConnString, String dbUser, String dbPass) {
+        return getResultsFromQuery(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return getResultsFromQuery(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean skipCache) {
+        return new ArrayList<>(loadQueryResult("getResultsFromQuery", dbConnString, dbUser, query, params, skipCache, () -> getResultsFromDb(query, params, dbConnString, dbUser, dbPass)));
+    }
+
+    /**
+     * Run the query of getResultsFromQuery on the DB, bypassing the query cache
+     */
+    private List<String> getResultsFromDb(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
         List<String> resultsList = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
 
@@ -122,9 +211,9 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
             reportAndLog("<b>Executing Query: </b><br>" + query , MessageLevel.INFO);
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
                 statement.setQueryTimeout(queryTimeout);
-                resultSet = statement.executeQuery(query);
+                resultSet = super.executeQuery(statement, query);
                 while (resultSet.next()) {
                     String value = resultSet.getString(1);
                     if(value == null)
@@ -160,9 +249,25 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @return a List that holds a list of each database row
      */
     public List<List<String>> getQueryResultTable(String query, String dbConnString,String dbUser, String dbPass) {
+        return getQueryResultTable(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a multi-column count queries
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @return a List that holds a list of each database row
+     * @since 17.10.2026
+     */
+    public List<List<String>> getQueryResultTable(String query, List<?> params, String dbConnString,String dbUser, String dbPass) {
         List<List<String>> queryResultsList = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
 
@@ -171,9 +276,9 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
 
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
             int queryColumnCount = resultSet.getMetaData().getColumnCount();
 
                 while (resultSet.next()) {
@@ -213,9 +318,25 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @return a List that holds the resulting row, if more than 1 row is fetched it will only return the first one.
      */
     public List<String> getSingleRowResult(String query, String dbConnString,String dbUser, String dbPass)  {
+        return getSingleRowResult(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single-row query results
+     *
+     * @param query            the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param dbUser       valid user name for the server login
+     * @param dbPass   valid password for the server login
+     * @return a List that holds the resulting row, if more than 1 row is fetched it will only return the first one.
+     * @since 17.10.2026
+     */
+    public List<String> getSingleRowResult(String query, List<?> params, String dbConnString,String dbUser, String dbPass)  {
         List<String> singleRowResults = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
 
         try {
@@ -224,9 +345,9 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
             int queryColumnCount = resultSet.getMetaData().getColumnCount();
 
 
@@ -293,6 +414,23 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
         return Integer.parseInt(resultsFromQuery.get(0));
     }
 
+    /**
+     * This method returns the count of the query results, please note that the query type needs to be 'Count'
+     *
+     * @param query            the given query we wish to execute of the type 'Count'
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param iqShipConnection the server address
+     * @param iqShipUser       valid user name for the server login
+     * @param iqShipPassword   valid password for the server login
+     * @return an integer representing the results count
+     * @since 17.10.2026
+     */
+    public int getQueryCountTypeResults(String query, List<?> params, String iqShipConnection, String iqShipUser, String iqShipPassword) {
+        List<String> resultsFromQuery = getResultsFromQuery(query, params, iqShipConnection, iqShipUser, iqShipPassword);
+        logger.info("Query count results " + resultsFromQuery);
+        return Integer.parseInt(resultsFromQuery.get(0));
+    }
+
     /**
      * Execute an SQL stored procedure with 1 int parameter
      * @param statement Sql statement to execute
@@ -388,7 +526,7 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
     {
         StoredProcedure storedProcedure;
 
-        DriverManagerDataSource dataSource = new DriverManagerDataSource(dbConnString, dbUser, dbPass);
+        DataSource dataSource = getPooledDataSource(dbConnString, dbUser, dbPass, () -> DriverManager.getConnection(dbConnString, dbUser, dbPass));
 
         storedProcedure = new GenericStoredProcedure();
         storedProcedure.setDataSource(dataSource);
@@ -431,10 +569,25 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @since 09.11.2021
      */
     public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryResultMap(String query, String dbConnString,String dbUser, String dbPass) {
+        return getQueryResultMap(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, Object
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a Hash map containing the query result. i.e column names and their values
+     *
+     * @since 17.10.2026
+     */
+    public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryResultMap(String query, List<?> params, String dbConnString,String dbUser, String dbPass) {
 
         LinkedList<LinkedHashMap<String, Object>> queryResultsList = new LinkedList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
 
@@ -442,7 +595,7 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
 
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             resultSet = super.executeQuery(statement, query);
@@ -494,14 +647,29 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @since 06.10.2022
      */
     public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass) {
+        return getQueryStringResultMap(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, string
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a Hash map containing the query result. i.e column names and their values
+     *
+     * @since 17.10.2026
+     */
+    public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
 
         LinkedList<LinkedHashMap<String, String>> queryResultsList;
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
@@ -536,14 +704,29 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
      * @since 06.08.2023
      */
     public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass, boolean reportQueryToLog) {
+        return getQueryStringResultMap(query, Collections.emptyList(), dbConnString, dbUser, dbPass, reportQueryToLog);
+    }
+
+    /**
+     * Return a Hash map containing the query result as a list of HashMaps of String, string
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param reportQueryToLog true id to write the query string to the report
+     * @return a Hash map containing the query result. i.e column names and their values
+     * @since 17.10.2026
+     */
+    public <K, V, T extends Map<K, V>, L extends List<T>> L getQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean reportQueryToLog) {
 
         LinkedList<LinkedHashMap<String, String>> queryResultsList;
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             connection = connect(dbConnString,dbUser,dbPass);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
             if(reportQueryToLog)
@@ -568,4 +751,446 @@ public class OracleDatabaseUtil extends DbBase implements DBConnectionManager {
         }
         return (L)queryResultsList;
     }
+
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, Collections.emptyList(), dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try {
+            Connection connection = connect(dbConnString,dbUser,dbPass);
+
+            reportAndLog("Executing Query: " + query , MessageLevel.INFO);
+
+            return super.openCursor(connection, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to open Query Cursor.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryStringResultMap(String query, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, dbConnString, dbUser, dbPass).stream();
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryStringResultMap(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return openQueryCursor(query, params, dbConnString, dbUser, dbPass).stream();
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, String dbConnString, String dbUser, String dbPass, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, dbConnString, dbUser, dbPass)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, List<?> params, String dbConnString, String dbUser, String dbPass, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString, dbUser, dbPass)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, String dbConnString, String dbUser, String dbPass) {
+        return getQueryResult(query, Collections.emptyList(), dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return getQueryResult(query, params, dbConnString, dbUser, dbPass, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString, String dbUser, String dbPass, boolean skipCache) {
+        return loadQueryResult("getQueryResult", dbConnString, dbUser, query, params, skipCache, () -> getQueryResultFromDb(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Run the query of getQueryResult on the DB, bypassing the query cache
+     */
+    private QueryResult getQueryResultFromDb(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString, dbUser, dbPass)) {
+            QueryResult queryResult = QueryResult.read(cursor);
+
+            if(queryResult.isEmpty())
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+
+            return queryResult;
+        }
+        catch (SQLException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the query results mapped to records/POJOs. Every column is read with the JDBC getter of the matching
+     * field type (i.e. getLong, getTimestamp) and matched to the field by name, ignoring case and underscores
+     * @param type the row type, a record or a class with a no-args constructor
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param <T> the row type
+     * @return list of the mapped rows
+     * @since 17.10.2026
+     */
+    public <T> List<T> getQueryResultAs(Class<T> type, String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+
+        try (Connection connection = connect(dbConnString, dbUser, dbPass)) {
+            reportAndLog("Executing Query: " + query, MessageLevel.INFO);
+            return readRows(connection, type, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Export the query results to a CSV, XLSX or NDJSON file, streaming the rows from the DB to the file
+     * so the results are not held in memory. The export rate (rows/sec) is added to the report
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param filePath the file to create. An existing file is replaced
+     * @param format the file format
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the export statistics
+     * @since 17.10.2026
+     */
+    public QueryExporter.ExportResult exportQueryResult(String query, List<?> params, String filePath, QueryExporter.ExportFormat format, String dbConnString, String dbUser, String dbPass) {
+        return QueryExporter.export(openQueryCursor(query, params, dbConnString, dbUser, dbPass), filePath, format);
+    }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of batchChunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * On Oracle the batch is sent as a single array bind of the chunk rows
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString, String dbUser, String dbPass) {
+        return executeBatchUpdate(query, paramRows, dbConnString, dbUser, dbPass, batchChunkSize);
+    }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of chunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * On Oracle the batch is sent as a single array bind of the chunk rows
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param chunkSize number of rows per batch and transaction
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString, String dbUser, String dbPass, int chunkSize) {
+
+        Connection connection = null;
+
+        reportAndLog("Executing batch update: <br>" + query, MessageLevel.INFO);
+        try {
+            connection = connect(dbConnString, dbUser, dbPass);
+
+            BatchUpdateResult result = super.executeBatchUpdate(connection, query, paramRows.iterator(), chunkSize, queryTimeout);
+
+            reportAndLog("Batch update completed. " + result, MessageLevel.INFO);
+            return result;
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Batch update failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Batch update failed.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+        finally {
+            disconnect(connection, null, null);
+        }
+    }
+
+    /**
+     * Asynchronous getSingleValueFromFirstRowAndColumn.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<String> getSingleValueFromFirstRowAndColumnAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getSingleValueFromFirstRowAndColumn(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getResultsFromQuery.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<List<String>> getResultsFromQueryAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getResultsFromQuery(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getQueryStringResultMap.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<LinkedList<LinkedHashMap<String, String>>> getQueryStringResultMapAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getQueryStringResultMap(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Asynchronous getQueryResult.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<QueryResult> getQueryResultAsync(String query, List<?> params, String dbConnString, String dbUser, String dbPass) {
+        return supplyAsync(() -> getQueryResult(query, params, dbConnString, dbUser, dbPass));
+    }
+
+    /**
+     * Wait until the query returns rows, polling the DB with exponential backoff on a single connection
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result, or null if the query returned no rows within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, int timeoutInSeconds, String dbConnString, String dbUser, String dbPass) {
+        return waitForQueryResult(query, params, result -> !result.isEmpty(), null, null, timeoutInSeconds, dbConnString, dbUser, dbPass);
+    }
+
+    /**
+     * Wait until the query result meets a condition, polling the DB with exponential backoff on a single connection
+     * and prepared statement, instead of a sleep loop that opens a connection on every poll.
+     * When a probe query is given, only the probe runs on every poll and the full query runs only when the probe value changed.
+     * i.e. waiting for a job to write its rows:
+     * <pre>
+     * {@code
+     *     QueryResult rows = dbUtil.waitForQueryResult("select * from job_log where job_id = ?", List.of(jobId),
+     *             result -> result.size() >= 3, "select count(*) from job_log where job_id = ?", List.of(jobId), 120, ...);
+     * }
+     * </pre>
+     * The polling statistics are added to the test report
+     * @param query the full query
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param condition the condition the query result should meet
+     * @param probeQuery cheap single value query (i.e. count(*) or max(updated_at)) which changes when the full query result may change. Can be null
+     * @param probeParams values to bind to the ? placeholders of the probe query, by order. Can be null
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @return the query result which met the condition, or null if it was not met within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, Predicate<QueryResult> condition, String probeQuery, List<?> probeParams,
+                                          int timeoutInSeconds, String dbConnString, String dbUser, String dbPass) {
+
+        reportAndLog("Waiting for Query result: " + query, MessageLevel.INFO);
+        try (Connection connection = connect(dbConnString, dbUser, dbPass)) {
+            return pollQueryResult(connection, query, params, condition, probeQuery, probeParams, timeoutInSeconds * 1000L, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to wait for Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the execution plan of a query using EXPLAIN PLAN and DBMS_XPLAN.DISPLAY.
+     * The ? placeholders are replaced by named binds, EXPLAIN PLAN does not need their values
+     * @param connection the connection to explain the query on
+     * @param query the query, with ? placeholders
+     * @param params values bound to the query placeholders, not used by EXPLAIN PLAN
+     * @return the plan table output
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    @Override
+    protected String explainQuery(Connection connection, String query, List<?> params) throws SQLException {
+
+        String statementId = "slow_query_" + Long.toHexString(System.nanoTime());
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(String.format("EXPLAIN PLAN SET STATEMENT_ID = '%s' FOR %s", statementId, toNamedBinds(query)));
+        }
+
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT plan_table_output FROM TABLE(DBMS_XPLAN.DISPLAY('PLAN_TABLE', ?, 'TYPICAL'))")) {
+            statement.setString(1, statementId);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next())
+                    plan.append(resultSet.getString(1)).append(System.lineSeparator());
+            }
+        }
+        finally {
+            try (PreparedStatement statement = connection.prepareStatement("DELETE FROM PLAN_TABLE WHERE STATEMENT_ID = ?")) {
+                statement.setString(1, statementId);
+                statement.executeUpdate();
+            }
+        }
+        return plan.toString();
+    }
+
+    /**
+     * Replace the ? placeholders of a query, outside of string literals, by the named binds :b1, :b2...
+     * @param query the query
+     * @return the query with named binds
+     */
+    private static String toNamedBinds(String query) {
+        StringBuilder result = new StringBuilder(query.length() + 16);
+        boolean inLiteral = false;
+        int bind = 0;
+        for (char c : query.toCharArray()) {
+            if (c == '\'')
+                inLiteral = !inLiteral;
+            if (c == '?' && !inLiteral)
+                result.append(":b").append(++bind);
+            else
+                result.append(c);
+        }
+        return result.toString();
+    }
 }
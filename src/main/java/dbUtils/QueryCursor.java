@@ -0,0 +1,219 @@
+package dbUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Forward only cursor over a query's ResultSet. Rows are read one at a time from the DB (in batches of the
+ * statement's fetch size) instead of being materialized in memory.<br>
+ * The cursor owns the statement and connection it was opened with and closes them once it is closed or exhausted,
+ * so it must be used in a try-with-resources block (or the stream must be closed):
+ * <pre>
+ * {@code
+ *     try (Stream<LinkedHashMap<String, String>> rows = dbUtil.streamQueryStringResultMap(query, connString, user, pass)) {
+ *         rows.filter(row -> row.get("STATUS").equals("F")).forEach(...);
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class QueryCursor implements Iterator<LinkedHashMap<String, String>>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryCursor.class);
+
+    private final ResultSet resultSet;
+    private final Statement statement;
+    private final Connection connection;
+    private final String[] columnNames;
+    private final int[] columnTypes;
+
+    private Boolean hasNext = null;
+    private boolean closed = false;
+    private long rowCount = 0;
+
+    /**
+     * @param resultSet the result set to iterate
+     * @param statement the statement of the result set, closed with the cursor. Can be null
+     * @param connection the connection of the result set, closed with the cursor. Can be null
+     * @throws SQLException if the result set's metadata could not be read
+     */
+    public QueryCursor(ResultSet resultSet, Statement statement, Connection connection) throws SQLException {
+        this.resultSet = resultSet;
+        this.statement = statement;
+        this.connection = connection;
+        this.columnNames = getUniqueColumnNames(resultSet.getMetaData());
+        this.columnTypes = new int[columnNames.length];
+        for (int i = 0; i < columnTypes.length; i++)
+            columnTypes[i] = resultSet.getMetaData().getColumnType(i + 1);
+    }
+
+    /**
+     * Return the column names of the query. Duplicate names get the appendix "1" (i.e. ID, ID1, ID11)
+     * @return the column names
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+
+    /**
+     * Return the SQL types of the query columns
+     * @return the java.sql.Types of the columns, by column order
+     * @since 17.10.2026
+     */
+    public int[] getColumnTypes() {
+        return columnTypes.clone();
+    }
+
+    /**
+     * @return the number of rows read so far
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Move to the next row
+     * @return true if a row exists, false if the cursor is exhausted. The cursor closes itself once exhausted
+     * @throws SQLException sql exception
+     */
+    public boolean advance() throws SQLException {
+        if (closed)
+            return false;
+
+        if (hasNext == null) {
+            hasNext = resultSet.next();
+            if (!hasNext)
+                close();
+        }
+        boolean result = hasNext;
+        hasNext = null;
+        if (result)
+            rowCount++;
+        return result;
+    }
+
+    /**
+     * Read the values of the current row
+     * @return the values of the current row, by column order
+     * @throws SQLException sql exception
+     */
+    public String[] readValues() throws SQLException {
+        String[] values = new String[columnNames.length];
+        for (int i = 0; i < columnNames.length; i++)
+            values[i] = resultSet.getString(i + 1);
+        return values;
+    }
+
+    /**
+     * Read the next row
+     * @return the next row as a map of column names and values, or null if the cursor is exhausted
+     * @throws SQLException sql exception
+     */
+    public LinkedHashMap<String, String> nextRow() throws SQLException {
+        if (!advance())
+            return null;
+
+        LinkedHashMap<String, String> row = new LinkedHashMap<>(columnNames.length * 4 / 3 + 1);
+        for (int i = 0; i < columnNames.length; i++)
+            row.put(columnNames[i], resultSet.getString(i + 1));
+        return row;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed)
+            return false;
+        try {
+            if (hasNext == null) {
+                hasNext = resultSet.next();
+                if (!hasNext)
+                    close();
+            }
+            return hasNext;
+        } catch (SQLException e) {
+            close();
+            throw new Error(String.format("Failed to read the query results.<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
+
+    @Override
+    public LinkedHashMap<String, String> next() {
+        if (!hasNext())
+            throw new NoSuchElementException("The query cursor has no more rows");
+        try {
+            return nextRow();
+        } catch (SQLException e) {
+            close();
+            throw new Error(String.format("Failed to read the query results.<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
+
+    /**
+     * Return the remaining rows as a sequential stream. Closing the stream closes the cursor
+     * @return stream of rows
+     */
+    public Stream<LinkedHashMap<String, String>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Close the result set and the statement and connection owned by the cursor
+     */
+    @Override
+    public void close() {
+        if (closed)
+            return;
+        closed = true;
+
+        try {
+            resultSet.close();
+        } catch (SQLException e) { logger.error("Failed to close result set"); logger.error(Arrays.toString(e.getStackTrace()));}
+
+        if (statement != null) {
+            try {
+                statement.close();
+            } catch (SQLException e) { logger.error("Failed to close statement"); logger.error(Arrays.toString(e.getStackTrace()));}
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) { logger.error("Failed to close connection"); logger.error(Arrays.toString(e.getStackTrace()));}
+        }
+    }
+
+    private static String[] getUniqueColumnNames(ResultSetMetaData resultMetaData) throws SQLException {
+        int queryColumnCount = resultMetaData.getColumnCount();
+        String[] names = new String[queryColumnCount];
+        HashSet<String> existingNames = new HashSet<>();
+
+        for (int i = 0; i < queryColumnCount; i++) {
+            String columnName = resultMetaData.getColumnName(i + 1);
+
+            //If key already exists, create a new key with appendix "1".
+            while (existingNames.contains(columnName))
+            {
+                columnName +="1";
+            }
+            existingNames.add(columnName);
+            names[i] = columnName;
+        }
+        return names;
+    }
+}
@@ -0,0 +1,210 @@
+package dbUtils;
+
+import Enumerations.MessageLevel;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+import static ReportUtils.Report.reportAndLog;
+
+/**
+ * Streams query results from a QueryCursor straight to a CSV, XLSX or NDJSON file, one row at a time,
+ * so exporting a large query does not hold the results in memory.<br>
+ * The XLSX export keeps only a window of rows in memory (SXSSF) and continues on a new sheet when a sheet is full.
+ * <pre>
+ * {@code
+ *     QueryCursor cursor = oracleUtil.openQueryCursor(query, List.of(), iqShipConn, user, pass);
+ *     QueryExporter.export(cursor, "target/bookings.csv", QueryExporter.ExportFormat.CSV);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class QueryExporter {
+
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final int XLSX_MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The export file formats
+     */
+    public enum ExportFormat {
+        CSV,
+        XLSX,
+        //one JSON object per line, column names as keys
+        NDJSON
+    }
+
+    private QueryExporter() {
+    }
+
+    /**
+     * Export the rows of a cursor to a file. The cursor is closed once the export is done
+     * @param cursor the query cursor
+     * @param filePath the file to create. An existing file is replaced
+     * @param format the file format
+     * @return the export statistics
+     * @since 17.10.2026
+     */
+    public static ExportResult export(QueryCursor cursor, String filePath, ExportFormat format) {
+
+        Path path = Paths.get(filePath);
+        long startNanos = System.nanoTime();
+        long rows;
+
+        try (cursor) {
+            if (path.getParent() != null)
+                Files.createDirectories(path.getParent());
+
+            switch (format) {
+                case CSV:
+                    rows = writeCsv(cursor, path);
+                    break;
+                case XLSX:
+                    rows = writeXlsx(cursor, path);
+                    break;
+                case NDJSON:
+                    rows = writeNdjson(cursor, path);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported export format: " + format);
+            }
+        }
+        catch (IOException | SQLException e) {
+            reportAndLog(String.format("Failed to export query results to %s. Error: %s", filePath, e.getMessage()), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to export query results to %s.<br>Error: %s<br><br>", filePath, e.getMessage()));
+        }
+
+        ExportResult result = new ExportResult(path, rows, System.nanoTime() - startNanos);
+        reportAndLog(result.toString(), MessageLevel.INFO);
+        return result;
+    }
+
+    private static long writeCsv(QueryCursor cursor, Path path) throws IOException, SQLException {
+
+        long rows = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             CSVPrinter printer = new CSVPrinter(writer, CSVFormat.DEFAULT.withHeader(cursor.getColumnNames()))) {
+
+            while (cursor.advance()) {
+                printer.printRecord((Object[]) cursor.readValues());
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private static long writeXlsx(QueryCursor cursor, Path path) throws IOException, SQLException {
+
+        String[] columns = cursor.getColumnNames();
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        workbook.setCompressTempFiles(true);
+
+        long rows = 0;
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), WRITE_BUFFER_SIZE)) {
+            Sheet sheet = null;
+            int rowIndex = XLSX_MAX_ROWS_PER_SHEET;
+
+            while (cursor.advance()) {
+                if (rowIndex == XLSX_MAX_ROWS_PER_SHEET) {
+                    sheet = workbook.createSheet("Sheet" + (workbook.getNumberOfSheets() + 1));
+                    writeXlsxRow(sheet.createRow(0), columns);
+                    rowIndex = 1;
+                }
+                writeXlsxRow(sheet.createRow(rowIndex++), cursor.readValues());
+                rows++;
+            }
+            if (sheet == null)
+                writeXlsxRow(workbook.createSheet("Sheet1").createRow(0), columns);
+
+            workbook.write(out);
+        }
+        finally {
+            //delete the temp files of the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+        return rows;
+    }
+
+    private static void writeXlsxRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++)
+            if (values[i] != null)
+                row.createCell(i).setCellValue(values[i]);
+    }
+
+    private static long writeNdjson(QueryCursor cursor, Path path) throws IOException, SQLException {
+
+        String[] columns = cursor.getColumnNames();
+        long rows = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+             JsonGenerator generator = new JsonFactory().createGenerator(writer)) {
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(System.lineSeparator()));
+
+            while (cursor.advance()) {
+                String[] values = cursor.readValues();
+                generator.writeStartObject();
+                for (int i = 0; i < columns.length; i++)
+                    generator.writeStringField(columns[i], values[i]);
+                generator.writeEndObject();
+                rows++;
+            }
+            generator.flush();
+            if (rows > 0)
+                writer.newLine();
+        }
+        return rows;
+    }
+
+    /**
+     * Statistics of an export
+     */
+    public static class ExportResult {
+        private final Path path;
+        private final long rows;
+        private final long elapsedNanos;
+
+        private ExportResult(Path path, long rows, long elapsedNanos) {
+            this.path = path;
+            this.rows = rows;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedNanos / 1_000_000_000.0;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedNanos == 0 ? 0 : rows / getElapsedSeconds();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Exported %d rows to %s in %.2f sec (%.0f rows/sec)", rows, path, getElapsedSeconds(), getRowsPerSecond());
+        }
+    }
+}
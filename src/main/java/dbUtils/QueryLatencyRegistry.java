@@ -0,0 +1,196 @@
+package dbUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Concurrent registry of query latency histograms, keyed by query fingerprint.<br>
+ * The fingerprint is the query with its string and number literals replaced by ? and its whitespace collapsed,
+ * so the same query built with different values is counted under one entry.<br>
+ * Every query is recorded in the global registry (the whole run) and in the registry of the current test thread,
+ * which ElasticMetricsReportExtension resets before each test and adds to the test's TestMetric after it.
+ * The test registry also holds the execution plans captured for the slow queries of the test.
+ *
+ * @since 17.10.2026
+ */
+public class QueryLatencyRegistry {
+
+    //Stop caching fingerprints of new query strings above this size, to bound the memory of generated queries
+    private static final int MAX_CACHED_FINGERPRINTS = 10_000;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final QueryLatencyRegistry globalRegistry = new QueryLatencyRegistry();
+    private static final ThreadLocal<QueryLatencyRegistry> testRegistry = ThreadLocal.withInitial(QueryLatencyRegistry::new);
+    private static final ConcurrentHashMap<String, String> fingerprints = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<CompletableFuture<SlowQueryPlan>> slowQueryPlans = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<SlowQueryPlan> unreportedSlowQueryPlans = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @return the registry of all the queries of the run
+     * @since 17.10.2026
+     */
+    public static QueryLatencyRegistry getGlobalRegistry() {
+        return globalRegistry;
+    }
+
+    /**
+     * @return the registry of the queries of the test running on the current thread
+     * @since 17.10.2026
+     */
+    public static QueryLatencyRegistry getTestRegistry() {
+        return testRegistry.get();
+    }
+
+    /**
+     * Start a new test registry for the current thread
+     * @since 17.10.2026
+     */
+    public static void startTest() {
+        testRegistry.set(new QueryLatencyRegistry());
+    }
+
+    /**
+     * Set the test registry of the current thread, i.e. for a worker thread running a query of the test
+     * @param registry the test registry
+     * @return the previous test registry of the current thread
+     */
+    static QueryLatencyRegistry setTestRegistry(QueryLatencyRegistry registry) {
+        QueryLatencyRegistry previous = testRegistry.get();
+        testRegistry.set(registry);
+        return previous;
+    }
+
+    /**
+     * Record the execution time of a query in the global registry and in the current test registry
+     * @param query the query
+     * @param nanos the execution time in nanoseconds
+     * @since 17.10.2026
+     */
+    public static void recordQuery(String query, long nanos) {
+        String fingerprint = fingerprint(query);
+        globalRegistry.record(fingerprint, nanos);
+        testRegistry.get().record(fingerprint, nanos);
+    }
+
+    /**
+     * Return the fingerprint of a query: string and number literals replaced by ? and whitespace collapsed
+     * @param query the query
+     * @return the query fingerprint
+     * @since 17.10.2026
+     */
+    public static String fingerprint(String query) {
+        if (query == null)
+            return "";
+
+        String fingerprint = fingerprints.get(query);
+        if (fingerprint != null)
+            return fingerprint;
+
+        fingerprint = STRING_LITERAL.matcher(query).replaceAll("?");
+        fingerprint = NUMBER_LITERAL.matcher(fingerprint).replaceAll("?");
+        fingerprint = WHITESPACE.matcher(fingerprint).replaceAll(" ").trim();
+
+        if (fingerprints.size() < MAX_CACHED_FINGERPRINTS)
+            fingerprints.put(query, fingerprint);
+        return fingerprint;
+    }
+
+    /**
+     * Record a duration of a query fingerprint
+     * @param fingerprint the query fingerprint
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(String fingerprint, long nanos) {
+        LatencyHistogram histogram = histograms.get(fingerprint);
+        if (histogram == null)
+            histogram = histograms.computeIfAbsent(fingerprint, key -> new LatencyHistogram());
+        histogram.record(nanos);
+    }
+
+    /**
+     * Return the histogram of a query
+     * @param query the query or its fingerprint
+     * @return the histogram or null if the query was not recorded
+     */
+    public LatencyHistogram getHistogram(String query) {
+        return histograms.get(fingerprint(query));
+    }
+
+    /**
+     * Return the latency summary of every recorded query, the queries with the longest total time first
+     * @return list of summaries
+     */
+    public List<QueryLatencySummary> getSummaries() {
+        List<QueryLatencySummary> summaries = new ArrayList<>(histograms.size());
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet())
+            summaries.add(new QueryLatencySummary(entry.getKey(), entry.getValue()));
+        summaries.sort(Comparator.comparingDouble(QueryLatencySummary::getTotalMillis).reversed());
+        return summaries;
+    }
+
+    /**
+     * Add the execution plan of a slow query, captured asynchronously
+     * @param plan future of the captured plan
+     */
+    public void addSlowQueryPlan(CompletableFuture<SlowQueryPlan> plan) {
+        slowQueryPlans.add(plan);
+        plan.thenAccept(unreportedSlowQueryPlans::add);
+    }
+
+    /**
+     * Return the captured plans which were not returned by a previous call, so they can be added to the report
+     * @return list of plans, empty if no new plan was captured
+     */
+    public List<SlowQueryPlan> pollUnreportedSlowQueryPlans() {
+        List<SlowQueryPlan> plans = new ArrayList<>();
+        SlowQueryPlan plan;
+        while ((plan = unreportedSlowQueryPlans.poll()) != null)
+            plans.add(plan);
+        return plans;
+    }
+
+    /**
+     * Return the execution plans of the slow queries, waiting for the plans that are still being captured
+     * @param timeoutMillis max time to wait for all the pending plans
+     * @return list of captured plans, without the plans which were not captured within the timeout
+     */
+    public List<SlowQueryPlan> getSlowQueryPlans(long timeoutMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        List<SlowQueryPlan> plans = new ArrayList<>();
+        for (CompletableFuture<SlowQueryPlan> plan : slowQueryPlans) {
+            try {
+                plans.add(plan.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            catch (TimeoutException | ExecutionException ignored) {
+                //the plan was not captured in time, the test metric is sent without it
+            }
+        }
+        return plans;
+    }
+
+    /**
+     * Remove all the recorded histograms and slow query plans
+     */
+    public void clear() {
+        histograms.clear();
+        slowQueryPlans.clear();
+        unreportedSlowQueryPlans.clear();
+    }
+}
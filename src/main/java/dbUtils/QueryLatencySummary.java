@@ -0,0 +1,68 @@
+package dbUtils;
+
+/**
+ * Latency summary of a query fingerprint, in milliseconds.
+ * Added to the TestMetric of every test, so it is shipped with the Elastic metrics report
+ *
+ * @since 17.10.2026
+ */
+public class QueryLatencySummary {
+    private final String query;
+    private final long count;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final double totalMillis;
+
+    QueryLatencySummary(String query, LatencyHistogram histogram) {
+        this.query = query;
+        this.count = histogram.getCount();
+        this.p50Millis = toMillis(histogram.getPercentileNanos(50));
+        this.p95Millis = toMillis(histogram.getPercentileNanos(95));
+        this.p99Millis = toMillis(histogram.getPercentileNanos(99));
+        this.maxMillis = toMillis(histogram.getMaxNanos());
+        this.totalMillis = toMillis(histogram.getTotalNanos());
+    }
+
+    /**
+     * @return the query fingerprint (the query with its literals replaced by ?)
+     */
+    public String getQuery() {
+        return query;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count: %d, p50: %.2f ms, p95: %.2f ms, p99: %.2f ms, max: %.2f ms, query: %s",
+                count, p50Millis, p95Millis, p99Millis, maxMillis, query);
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
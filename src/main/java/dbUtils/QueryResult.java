@@ -0,0 +1,283 @@
+package dbUtils;
+
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Compact columnar result of a query.<br>
+ * The column names are stored once for the whole result and every row is stored as a String array, instead of a
+ * LinkedHashMap per row that repeats the column names and allocates an entry per value.
+ * Repeating values of low cardinality columns (codes, statuses, flags) share the same String instance.<br>
+ * The result is a List of Maps, where each Map is a lazy read view over the row, so it can be passed as is to
+ * MapUtils and CommonVerifications methods that expect a List of Maps.<br>
+ * Results kept in the QueryResultCache are read only, since all the callers of the query share them.
+ *
+ * @since 17.10.2026
+ */
+public class QueryResult extends AbstractList<Map<String, String>> implements RandomAccess {
+
+    //Stop sharing values of a column once it has more distinct values than this
+    private static final int MAX_SHARED_VALUES_PER_COLUMN = 1024;
+
+    private final String[] columnNames;
+    private final Map<String, Integer> columnIndexes;
+    private final List<String[]> rows;
+    private volatile boolean readOnly;
+
+    private QueryResult(String[] columnNames, List<String[]> rows) {
+        this.columnNames = columnNames;
+        this.rows = rows;
+
+        Map<String, Integer> indexes = new HashMap<>(columnNames.length * 4 / 3 + 1);
+        for (int i = 0; i < columnNames.length; i++)
+            indexes.put(columnNames[i], i);
+        this.columnIndexes = Collections.unmodifiableMap(indexes);
+    }
+
+    /**
+     * Read all the remaining rows of the cursor into a query result
+     * @param cursor the query cursor
+     * @return the query result
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    public static QueryResult read(QueryCursor cursor) throws SQLException {
+
+        String[] columnNames = cursor.getColumnNames();
+        List<String[]> rows = new ArrayList<>();
+
+        List<Map<String, String>> sharedValues = new ArrayList<>(columnNames.length);
+        for (int i = 0; i < columnNames.length; i++)
+            sharedValues.add(new HashMap<>());
+
+        while (cursor.advance()) {
+            String[] values = cursor.readValues();
+            for (int i = 0; i < values.length; i++) {
+                Map<String, String> columnValues = sharedValues.get(i);
+                if (values[i] == null || columnValues == null)
+                    continue;
+
+                String shared = columnValues.putIfAbsent(values[i], values[i]);
+                if (shared != null)
+                    values[i] = shared;
+                else if (columnValues.size() > MAX_SHARED_VALUES_PER_COLUMN)
+                    sharedValues.set(i, null);
+            }
+            rows.add(values);
+        }
+        return new QueryResult(columnNames, rows);
+    }
+
+    /**
+     * @return the column names of the query, by column order
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(Arrays.asList(columnNames));
+    }
+
+    /**
+     * @return the number of columns
+     */
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Return the index of a column
+     * @param columnName the column name
+     * @return the column index (0 based) or -1 if the column does not exist
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Return a single value
+     * @param rowIndex the row index (0 based)
+     * @param columnName the column name
+     * @return the value
+     */
+    public String getValue(int rowIndex, String columnName) {
+        return rows.get(rowIndex)[getRequiredColumnIndex(columnName)];
+    }
+
+    /**
+     * Return a single value
+     * @param rowIndex the row index (0 based)
+     * @param columnIndex the column index (0 based)
+     * @return the value
+     */
+    public String getValue(int rowIndex, int columnIndex) {
+        return rows.get(rowIndex)[columnIndex];
+    }
+
+    /**
+     * Return the values of a row
+     * @param rowIndex the row index (0 based)
+     * @return a copy of the row values, by column order
+     */
+    public String[] getRowValues(int rowIndex) {
+        return rows.get(rowIndex).clone();
+    }
+
+    /**
+     * Return all the values of a column
+     * @param columnName the column name
+     * @return the column values, by row order
+     */
+    public List<String> getColumn(String columnName) {
+        int columnIndex = getRequiredColumnIndex(columnName);
+        List<String> values = new ArrayList<>(rows.size());
+        for (String[] row : rows)
+            values.add(row[columnIndex]);
+        return values;
+    }
+
+    /**
+     * Return the row as a lazy map view of column names and values
+     * @param index the row index (0 based)
+     * @return the row map
+     */
+    @Override
+    public Map<String, String> get(int index) {
+        return new RowView(rows.get(index));
+    }
+
+    @Override
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Materialize the result as the list of LinkedHashMaps returned by the other query methods, for code that
+     * requires (or modifies) LinkedHashMaps
+     * @return list of rows as column names and their values
+     */
+    public LinkedList<LinkedHashMap<String, String>> toLinkedHashMaps() {
+        LinkedList<LinkedHashMap<String, String>> queryResultsList = new LinkedList<>();
+        for (String[] row : rows) {
+            LinkedHashMap<String, String> rowResults = new LinkedHashMap<>(columnNames.length * 4 / 3 + 1);
+            for (int i = 0; i < columnNames.length; i++)
+                rowResults.put(columnNames[i], row[i]);
+            queryResultsList.add(rowResults);
+        }
+        return queryResultsList;
+    }
+
+    /**
+     * @return true if the row values cannot be replaced, since the result is shared by the QueryResultCache
+     */
+    public boolean isReadOnly() {
+        return readOnly;
+    }
+
+    /**
+     * Make the row values read only, before the result is shared by the QueryResultCache
+     */
+    void setReadOnly() {
+        readOnly = true;
+    }
+
+    private void checkWritable() {
+        if (readOnly)
+            throw new UnsupportedOperationException("The query result is shared by the query cache and cannot be modified. Use toLinkedHashMaps() for a modifiable copy");
+    }
+
+    private int getRequiredColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        if (index == null)
+            throw new Error(String.format("Column '%s' does not exist in the query result. Existing columns: %s", columnName, Arrays.toString(columnNames)));
+        return index;
+    }
+
+    /**
+     * Map view over a single row. Keys keep the column order. Values of existing columns can be replaced unless the
+     * result is read only, columns cannot be added or removed
+     */
+    private class RowView extends AbstractMap<String, String> {
+        private final String[] values;
+
+        private RowView(String[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public String get(Object key) {
+            Integer index = columnIndexes.get(key);
+            return index == null ? null : values[index];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return columnIndexes.containsKey(key);
+        }
+
+        @Override
+        public String put(String key, String value) {
+            checkWritable();
+            int index = getRequiredColumnIndex(key);
+            String previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return columnNames.length;
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int index = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < columnNames.length;
+                        }
+
+                        @Override
+                        public Entry<String, String> next() {
+                            if (!hasNext())
+                                throw new NoSuchElementException();
+                            int current = index++;
+                            return new SimpleEntry<>(columnNames[current], values[current]) {
+                                @Override
+                                public String setValue(String value) {
+                                    checkWritable();
+                                    super.setValue(value);
+                                    String previous = values[current];
+                                    values[current] = value;
+                                    return previous;
+                                }
+                            };
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return columnNames.length;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package dbUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import propertyUtils.Property;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Singleton thread safe cache of query results, for reference data lookups that are repeated many times per suite
+ * (i.e. code conversions).<br>
+ * Results are keyed by the result type, connection, normalized SQL (whitespace collapsed outside of quoted literals)
+ * and the bind parameters.
+ * Entries expire after the TTL, and the least recently used entries are evicted once the cache exceeds its max size.
+ * Concurrent lookups of the same missing key run the query once, the other threads wait for its result.<br>
+ * Null results and empty collections are not kept in the cache, since the DB utils return them when a query fails.<br>
+ * Cached results are shared by all the callers and must not be modified. Cached QueryResults are made read only.
+ * <br>
+ * The cache is configured with the following keys of zim.global.properties:<br>
+ * db_query_cache_enabled (used by the DB utils), db_query_cache_ttl, db_query_cache_max_size
+ *
+ * @since 17.10.2026
+ */
+public class QueryResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryResultCache.class);
+    private static QueryResultCache instance = null;
+
+    private final ConcurrentHashMap<List<Object>, CacheEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private volatile long ttlNanos;
+    private volatile int maxSize;
+
+    /**
+     * Loads a result from the DB
+     * @param <T> the result type
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private QueryResultCache() {
+        Property property = getGlobalPropertyEntity();
+        ttlNanos = TimeUnit.SECONDS.toNanos(property.getIntProperty("db_query_cache_ttl", 300));
+        maxSize = property.getIntProperty("db_query_cache_max_size", 1000);
+    }
+
+    /**
+     * Get the cache instance
+     * @return the query result cache shared by all threads
+     * @since 17.10.2026
+     */
+    public static synchronized QueryResultCache getCache() {
+        if (instance == null)
+            instance = new QueryResultCache();
+        return instance;
+    }
+
+    /**
+     * Return the cached result of the query or load it
+     * @param resultType the kind of result the loader returns (i.e. the calling method), so different result
+     *                   types of the same query do not share an entry
+     * @param connection the connection the query runs on (i.e. connection string + user)
+     * @param query the query
+     * @param params the bind parameters of the query. Can be null
+     * @param loader runs the query when the result is not cached
+     * @param <T> the result type
+     * @return the result
+     * @throws SQLException if the loader failed
+     * @since 17.10.2026
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String resultType, String connection, String query, List<?> params, Loader<T> loader) throws SQLException {
+
+        List<Object> key = Arrays.asList(resultType, connection, normalize(query), params == null ? List.of() : new ArrayList<>(params));
+
+        while (true) {
+            long now = System.nanoTime();
+            CacheEntry entry = entries.get(key);
+
+            if (entry != null && entry.isExpired(now)) {
+                entries.remove(key, entry);
+                entry = null;
+            }
+
+            if (entry != null) {
+                hits.incrementAndGet();
+                entry.lastAccess = now;
+                return (T) await(entry.result);
+            }
+
+            CacheEntry created = new CacheEntry(now);
+            if (entries.putIfAbsent(key, created) != null)
+                continue;
+
+            misses.incrementAndGet();
+            T result;
+            try {
+                result = loader.load();
+            }
+            catch (SQLException | RuntimeException | Error e) {
+                entries.remove(key, created);
+                created.result.completeExceptionally(e);
+                throw e;
+            }
+
+            created.expiresAt = System.nanoTime() + ttlNanos;
+            if (result == null || (result instanceof Collection && ((Collection<?>) result).isEmpty()))
+                entries.remove(key, created);
+            else if (result instanceof QueryResult)
+                ((QueryResult) result).setReadOnly();
+            created.result.complete(result);
+
+            if (entries.size() > maxSize)
+                evict();
+            return result;
+        }
+    }
+
+    /**
+     * Remove all the cached results
+     * @since 17.10.2026
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * Set the time to live of new entries
+     * @param ttlSeconds time to live in seconds
+     */
+    public void setTtlSeconds(int ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Query result cache: size: %d, hits: %d, misses: %d, evictions: %d", getSize(), getHits(), getMisses(), getEvictions());
+    }
+
+    /**
+     * Remove the expired entries, then the least recently used entries until the cache fits its max size
+     */
+    private synchronized void evict() {
+        long now = System.nanoTime();
+        List<Map.Entry<List<Object>, CacheEntry>> loaded = new ArrayList<>();
+
+        for (Map.Entry<List<Object>, CacheEntry> entry : entries.entrySet()) {
+            if (!entry.getValue().result.isDone())
+                continue;
+            if (entry.getValue().isExpired(now)) {
+                if (entries.remove(entry.getKey(), entry.getValue()))
+                    evictions.incrementAndGet();
+            }
+            else
+                loaded.add(entry);
+        }
+
+        int excess = entries.size() - maxSize;
+        if (excess <= 0)
+            return;
+
+        loaded.sort(Comparator.comparingLong(entry -> entry.getValue().lastAccess));
+        for (int i = 0; i < loaded.size() && excess > 0; i++) {
+            if (entries.remove(loaded.get(i).getKey(), loaded.get(i).getValue())) {
+                evictions.incrementAndGet();
+                excess--;
+            }
+        }
+        logger.debug(toString());
+    }
+
+    private static Object await(CompletableFuture<Object> result) throws SQLException {
+        try {
+            return result.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the query result to be loaded by another thread", e);
+        }
+        catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException)
+                throw (SQLException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            if (cause instanceof Error)
+                throw (Error) cause;
+            throw new SQLException(cause);
+        }
+    }
+
+    /**
+     * Collapse the whitespace of a query outside its quoted literals and identifiers, so queries that differ only in
+     * their formatting share a key. A whitespace run with a line break becomes a line break, so a -- comment still ends there
+     */
+    private static String normalize(String query) {
+        String trimmed = query.trim();
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        char quote = 0;
+        int i = 0;
+        while (i < trimmed.length()) {
+            char c = trimmed.charAt(i);
+            if (quote == 0 && Character.isWhitespace(c)) {
+                boolean lineBreak = false;
+                for (; i < trimmed.length() && Character.isWhitespace(trimmed.charAt(i)); i++)
+                    lineBreak |= trimmed.charAt(i) == '\n' || trimmed.charAt(i) == '\r';
+                normalized.append(lineBreak ? '\n' : ' ');
+                continue;
+            }
+            //'' inside a literal closes and opens it again, which keeps it inside
+            if (c == '\'' || c == '"')
+                quote = quote == 0 ? c : quote == c ? 0 : quote;
+            normalized.append(c);
+            i++;
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * A cached result, or a result being loaded by another thread
+     */
+    private static class CacheEntry {
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long expiresAt;
+        private volatile long lastAccess;
+
+        private CacheEntry(long now) {
+            this.lastAccess = now;
+        }
+
+        private boolean isExpired(long now) {
+            return result.isDone() && now - expiresAt > 0;
+        }
+    }
+}
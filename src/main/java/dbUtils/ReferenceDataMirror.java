@@ -0,0 +1,286 @@
+package dbUtils;
+
+import Enumerations.MessageLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ReportUtils.Report.reportAndLog;
+
+/**
+ * Local SQLite mirror of remote reference tables.<br>
+ * Tables (or query results) of Oracle/MSSQL are copied into a local SQLite file and then read locally through the
+ * SqliteDatabaseUtil query API, instead of paying the network round trips of the remote DB in every test.<br>
+ * A table is copied once per run. When a staleness query is given (i.e. select max(last_update) from the table),
+ * the table is kept between runs and copied again only when the value of the staleness query changes.<br>
+ * The copy is built with WAL journaling, in large batched transactions, into a loading table which replaces the
+ * mirrored table only once it is complete. Numeric source columns get INTEGER, REAL or NUMERIC affinity,
+ * so the same query compares and sorts numbers on the mirror like on the source.<br>
+ * The mirror creates and copies its tables on its own connections, also when a TestDataScope is active on the thread,
+ * so its DDL does not commit the scope data and the mirrored tables are not rolled back with the scope.
+ * <pre>
+ * {@code
+ *     ReferenceDataMirror mirror = new ReferenceDataMirror("target/reference_data.db");
+ *     mirror.mirrorQuery("tab_prt", "select prt_code, prt_locode from aplcnt.tab_prt", List.of(),
+ *             new OracleDatabaseUtil(), iqShipConnection, user, password, "select max(upd_date) from aplcnt.tab_prt", "prt_locode");
+ *     List<String> codes = mirror.getResultsFromQuery("select prt_code from tab_prt where prt_locode = ?", List.of(unLocationCode));
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class ReferenceDataMirror {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataMirror.class);
+    private static final String METADATA_TABLE = "mirror_metadata";
+    private static final int LOAD_CHUNK_SIZE = 50_000;
+
+    //Tables mirrored during this run, by mirror file + table name
+    private static final Set<String> mirroredThisRun = ConcurrentHashMap.newKeySet();
+    //SQLite allows a single writer, so the tables of a mirror file are copied one at a time
+    private static final ConcurrentHashMap<String, Object> fileLocks = new ConcurrentHashMap<>();
+
+    private final String dbConnString;
+    private final SqliteDatabaseUtil sqliteUtil = new SqliteDatabaseUtil();
+
+    /**
+     * @param sqliteFilePath path of the local SQLite file, created if it does not exist
+     */
+    public ReferenceDataMirror(String sqliteFilePath) {
+        this.dbConnString = "jdbc:sqlite:" + sqliteFilePath;
+
+        TestDataScope.callOutsideScope(() -> {
+            String journalMode = sqliteUtil.getSingleValueFromFirstRowAndColumn("PRAGMA journal_mode=WAL", Collections.emptyList(), dbConnString, true);
+            logger.info("Reference data mirror " + sqliteFilePath + " journal mode: " + journalMode);
+            sqliteUtil.executeUpdate("create table if not exists " + METADATA_TABLE +
+                    " (table_name TEXT PRIMARY KEY, source_query TEXT, staleness_marker TEXT, row_count INTEGER, loaded_at TEXT)", dbConnString);
+            return null;
+        });
+    }
+
+    /**
+     * @return the connection string of the local SQLite file, for the SqliteDatabaseUtil query methods
+     */
+    public String getDbConnString() {
+        return dbConnString;
+    }
+
+    /**
+     * @return the SQLite util used to read the mirror
+     */
+    public SqliteDatabaseUtil getSqliteUtil() {
+        return sqliteUtil;
+    }
+
+    /**
+     * Copy a whole remote table to a local table of the same name (without the schema), once per run
+     * @param sourceTable the remote table, i.e. aplcnt.tab_prt
+     * @param source the DB util of the remote DB
+     * @param sourceConnString remote DB connection string
+     * @param sourceUser remote DB user
+     * @param sourcePass remote DB password
+     * @return the number of rows in the local table
+     * @since 17.10.2026
+     */
+    public long mirrorTable(String sourceTable, DBConnectionManager source, String sourceConnString, String sourceUser, String sourcePass) {
+        String tableName = sourceTable.substring(sourceTable.lastIndexOf('.') + 1);
+        return mirrorQuery(tableName, "select * from " + sourceTable, Collections.emptyList(), source, sourceConnString, sourceUser, sourcePass, null);
+    }
+
+    /**
+     * Copy the results of a remote query to a local table.
+     * Without a staleness query the table is copied once per run. With a staleness query the table is copied
+     * only when the value of the staleness query differs from its value at the last copy
+     * @param tableName the local table name
+     * @param sourceQuery the query on the remote DB
+     * @param params values to bind to the ? placeholders of the source query, by order
+     * @param source the DB util of the remote DB
+     * @param sourceConnString remote DB connection string
+     * @param sourceUser remote DB user
+     * @param sourcePass remote DB password
+     * @param stalenessQuery query on the remote DB which returns a single value that changes when the data changes,
+     *                       i.e. select max(last_update) from table. Can be null
+     * @param indexColumns columns of the local table to index, for the local lookups
+     * @return the number of rows in the local table
+     * @since 17.10.2026
+     */
+    public long mirrorQuery(String tableName, String sourceQuery, List<?> params, DBConnectionManager source, String sourceConnString,
+                            String sourceUser, String sourcePass, String stalenessQuery, String... indexColumns) {
+        return TestDataScope.callOutsideScope(() -> mirrorIfStale(tableName, sourceQuery, params, source, sourceConnString,
+                sourceUser, sourcePass, stalenessQuery, indexColumns));
+    }
+
+    private long mirrorIfStale(String tableName, String sourceQuery, List<?> params, DBConnectionManager source, String sourceConnString,
+                               String sourceUser, String sourcePass, String stalenessQuery, String... indexColumns) {
+
+        String runKey = dbConnString + "|" + tableName;
+        synchronized (fileLocks.computeIfAbsent(dbConnString, key -> new Object())) {
+
+            String sourceKey = sourceConnString + "|" + sourceQuery + "|" + params;
+            QueryResult metadata = readMetadata(tableName);
+            boolean sameSource = !metadata.isEmpty() && sourceKey.equals(metadata.getValue(0, "source_query"));
+
+            if (sameSource && mirroredThisRun.contains(runKey))
+                return Long.parseLong(metadata.getValue(0, "row_count"));
+
+            String stalenessMarker = null;
+            if (stalenessQuery != null) {
+                stalenessMarker = Objects.toString(source.getSingleValueFromFirstRowAndColumn(stalenessQuery, sourceConnString, sourceUser, sourcePass), "");
+                if (sameSource && stalenessMarker.equals(metadata.getValue(0, "staleness_marker"))) {
+                    reportAndLog(String.format("Reference table %s is up to date in the local mirror (%s)", tableName, stalenessMarker), MessageLevel.INFO);
+                    mirroredThisRun.add(runKey);
+                    return Long.parseLong(metadata.getValue(0, "row_count"));
+                }
+            }
+
+            long rowCount = load(tableName, sourceQuery, params, source, sourceConnString, sourceUser, sourcePass, indexColumns);
+
+            sqliteUtil.executeUpdate("insert or replace into " + METADATA_TABLE + " values (?, ?, ?, ?, ?)",
+                    Arrays.asList(tableName, sourceKey, stalenessMarker, rowCount, LocalDateTime.now().toString()), dbConnString);
+            mirroredThisRun.add(runKey);
+            return rowCount;
+        }
+    }
+
+    /**
+     * Run a query on the local mirror
+     * @param query the query
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params) {
+        return sqliteUtil.getQueryResult(query, params, dbConnString);
+    }
+
+    /**
+     * Run a single column query on the local mirror
+     * @param query the query
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @return the values of the first column
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params) {
+        return sqliteUtil.getResultsFromQuery(query, params, dbConnString);
+    }
+
+    private long load(String tableName, String sourceQuery, List<?> params, DBConnectionManager source, String sourceConnString,
+                      String sourceUser, String sourcePass, String... indexColumns) {
+
+        String table = quote(tableName);
+        String loadingTable = quote(tableName + "__loading");
+
+        //Remove the metadata first, so a failed load is copied again in the next run
+        sqliteUtil.executeUpdate("delete from " + METADATA_TABLE + " where table_name = ?", List.of(tableName), dbConnString);
+        sqliteUtil.executeUpdate("PRAGMA synchronous=NORMAL", dbConnString);
+        sqliteUtil.executeUpdate("drop table if exists " + loadingTable, dbConnString);
+
+        reportAndLog(String.format("Copying reference table %s to the local mirror: <br>%s", tableName, sourceQuery), MessageLevel.INFO);
+        BatchUpdateResult result;
+        try (QueryCursor cursor = source.openQueryCursor(sourceQuery, params, sourceConnString, sourceUser, sourcePass)) {
+            String[] columns = cursor.getColumnNames();
+            int[] columnTypes = cursor.getColumnTypes();
+
+            StringBuilder create = new StringBuilder("create table ").append(loadingTable).append(" (");
+            StringBuilder insert = new StringBuilder("insert into ").append(loadingTable).append(" values (");
+            for (int i = 0; i < columns.length; i++) {
+                create.append(i == 0 ? "" : ", ").append(quote(columns[i])).append(" ").append(getAffinity(columnTypes[i]));
+                insert.append(i == 0 ? "?" : ", ?");
+            }
+            sqliteUtil.executeUpdate(create.append(")").toString(), dbConnString);
+
+            Iterable<List<String>> rows = () -> new CursorRows(cursor);
+            result = sqliteUtil.executeBatchUpdate(insert.append(")").toString(), rows, dbConnString, LOAD_CHUNK_SIZE);
+        }
+
+        sqliteUtil.executeUpdate("drop table if exists " + table, dbConnString);
+        sqliteUtil.executeUpdate("alter table " + loadingTable + " rename to " + table, dbConnString);
+        for (String column : indexColumns)
+            sqliteUtil.executeUpdate(String.format("create index %s on %s (%s)", quote(tableName + "__" + column), table, quote(column)), dbConnString);
+
+        reportAndLog(String.format("Reference table %s copied to the local mirror, rows: %d", tableName, result.getStatementCount()), MessageLevel.INFO);
+        return result.getStatementCount();
+    }
+
+    private QueryResult readMetadata(String tableName) {
+        //Read through a cursor, a missing table should not be reported as missing data
+        try (QueryCursor cursor = sqliteUtil.openQueryCursor("select * from " + METADATA_TABLE + " where table_name = ?", List.of(tableName), dbConnString)) {
+            return QueryResult.read(cursor);
+        }
+        catch (SQLException sqlException) {
+            throw new Error(String.format("Failed to read the mirror metadata.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * The SQLite column affinity of a source column type, so numbers are stored, compared and sorted as numbers
+     * like on the source. Dates are copied as their text, which sorts like the date for the ISO format of the JDBC drivers
+     */
+    private static String getAffinity(int sqlType) {
+        switch (sqlType) {
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+                return "INTEGER";
+            case Types.REAL:
+            case Types.FLOAT:
+            case Types.DOUBLE:
+                return "REAL";
+            case Types.NUMERIC:
+            case Types.DECIMAL:
+                return "NUMERIC";
+            default:
+                return "TEXT";
+        }
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * The remaining rows of a cursor as lists of values, for the batch insert
+     */
+    private static class CursorRows implements Iterator<List<String>> {
+        private final QueryCursor cursor;
+        private String[] nextValues;
+        private boolean fetched = false;
+
+        private CursorRows(QueryCursor cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!fetched) {
+                try {
+                    nextValues = cursor.advance() ? cursor.readValues() : null;
+                } catch (SQLException e) {
+                    throw new Error(String.format("Failed to read the source rows.<br>Error: %s<br><br>", e.getMessage()));
+                }
+                fetched = true;
+            }
+            return nextValues != null;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            fetched = false;
+            return Arrays.asList(nextValues);
+        }
+    }
+}
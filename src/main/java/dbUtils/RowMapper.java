@@ -0,0 +1,282 @@
+package dbUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps the rows of a ResultSet to records or POJOs, reading every column with its native JDBC getter
+ * (getLong, getTimestamp...) according to the type of the target field, without going through String.<br>
+ * Columns are matched to the record components / fields by name, ignoring case and underscores,
+ * so the column PRT_LOCODE is mapped to the field prtLocode. Columns without a matching field are ignored.<br>
+ * The constructor and field setters are resolved once per class as MethodHandles, and the column binding is
+ * resolved once per query columns, so mapping a row is a call per column.
+ * <pre>
+ * {@code
+ *     record Port(String prtCode, String prtLocode, LocalDateTime updDate) {}
+ *     List<Port> ports = oracleUtil.getQueryResultAs(Port.class, "select * from aplcnt.tab_prt where prt_code = ?", List.of(code), conn, user, pass);
+ * }
+ * </pre>
+ *
+ * @param <T> the mapped type
+ * @since 17.10.2026
+ */
+public class RowMapper<T> {
+
+    private static final ConcurrentHashMap<Class<?>, RowMapper<?>> mappers = new ConcurrentHashMap<>();
+
+    private final Class<T> type;
+    private final boolean isRecord;
+    //Record: the canonical constructor taking Object[]. POJO: the no-args constructor
+    private final MethodHandle constructor;
+    private final String[] propertyNames;
+    private final Class<?>[] propertyTypes;
+    //POJO field setters, by property index. Null for records
+    private final MethodHandle[] setters;
+    private final Map<String, Integer> propertyIndexes = new HashMap<>();
+    //Column binding by the column labels of the query
+    private final ConcurrentHashMap<List<String>, int[]> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * Return the mapper of a class, created once per class
+     * @param type a record, or a class with a no-args constructor
+     * @param <T> the mapped type
+     * @return the mapper
+     * @since 17.10.2026
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> RowMapper<T> of(Class<T> type) {
+        RowMapper<T> mapper = (RowMapper<T>) mappers.get(type);
+        if (mapper == null)
+            mapper = (RowMapper<T>) mappers.computeIfAbsent(type, RowMapper::new);
+        return mapper;
+    }
+
+    private RowMapper(Class<T> type) {
+        this.type = type;
+        this.isRecord = type.isRecord();
+
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            if (isRecord) {
+                RecordComponent[] components = type.getRecordComponents();
+                propertyNames = new String[components.length];
+                propertyTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i++) {
+                    propertyNames[i] = components[i].getName();
+                    propertyTypes[i] = components[i].getType();
+                }
+                constructor = lookup.findConstructor(type, MethodType.methodType(void.class, propertyTypes))
+                        .asSpreader(Object[].class, propertyTypes.length)
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+                setters = null;
+            }
+            else {
+                List<Field> fields = new ArrayList<>();
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass())
+                    for (Field field : c.getDeclaredFields())
+                        if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers()))
+                            fields.add(field);
+
+                propertyNames = new String[fields.size()];
+                propertyTypes = new Class<?>[fields.size()];
+                setters = new MethodHandle[fields.size()];
+                for (int i = 0; i < fields.size(); i++) {
+                    Field field = fields.get(i);
+                    propertyNames[i] = field.getName();
+                    propertyTypes[i] = field.getType();
+                    setters[i] = MethodHandles.privateLookupIn(field.getDeclaringClass(), MethodHandles.lookup()).unreflectSetter(field)
+                            .asType(MethodType.methodType(void.class, Object.class, Object.class));
+                }
+                Constructor<T> noArgs = type.getDeclaredConstructor();
+                constructor = lookup.unreflectConstructor(noArgs).asType(MethodType.methodType(Object.class));
+            }
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Cannot map query rows to " + type.getName() + ", a record or a class with a no-args constructor is required: " + e.getMessage(), e);
+        }
+
+        for (int i = 0; i < propertyNames.length; i++)
+            propertyIndexes.putIfAbsent(normalize(propertyNames[i]), i);
+    }
+
+    /**
+     * Map all the remaining rows of the result set
+     * @param resultSet the result set. Not closed by this method
+     * @return list of the mapped rows
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    public List<T> mapAll(ResultSet resultSet) throws SQLException {
+        int[] binding = getBinding(resultSet.getMetaData());
+        List<T> rows = new ArrayList<>();
+        while (resultSet.next())
+            rows.add(mapRow(resultSet, binding));
+        return rows;
+    }
+
+    /**
+     * Map the current row of the result set
+     * @param resultSet the result set, positioned on a row
+     * @return the mapped row
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    public T mapRow(ResultSet resultSet) throws SQLException {
+        return mapRow(resultSet, getBinding(resultSet.getMetaData()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private T mapRow(ResultSet resultSet, int[] binding) throws SQLException {
+        try {
+            if (isRecord) {
+                Object[] values = new Object[propertyNames.length];
+                for (int i = 0; i < values.length; i++)
+                    values[i] = defaultValue(propertyTypes[i]);
+                for (int column = 0; column < binding.length; column++)
+                    if (binding[column] >= 0)
+                        values[binding[column]] = readValue(resultSet, column + 1, propertyTypes[binding[column]]);
+                return (T) (Object) constructor.invokeExact(values);
+            }
+
+            Object row = (Object) constructor.invokeExact();
+            for (int column = 0; column < binding.length; column++) {
+                int property = binding[column];
+                if (property < 0)
+                    continue;
+                Object value = readValue(resultSet, column + 1, propertyTypes[property]);
+                if (value != null)
+                    setters[property].invokeExact(row, value);
+            }
+            return (T) row;
+        }
+        catch (SQLException | RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new IllegalStateException("Failed to create " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Return the property index of every column of the query, -1 for columns without a matching property
+     */
+    private int[] getBinding(ResultSetMetaData metaData) throws SQLException {
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++)
+            labels[i] = metaData.getColumnLabel(i + 1);
+
+        return bindings.computeIfAbsent(Arrays.asList(labels), key -> {
+            int[] binding = new int[labels.length];
+            for (int i = 0; i < labels.length; i++)
+                binding[i] = propertyIndexes.getOrDefault(normalize(labels[i]), -1);
+            return binding;
+        });
+    }
+
+    /**
+     * Read a column with the JDBC getter of the target type
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object readValue(ResultSet resultSet, int column, Class<?> targetType) throws SQLException {
+
+        if (targetType == String.class)
+            return resultSet.getString(column);
+        if (targetType == long.class || targetType == Long.class) {
+            long value = resultSet.getLong(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == int.class || targetType == Integer.class) {
+            int value = resultSet.getInt(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == double.class || targetType == Double.class) {
+            double value = resultSet.getDouble(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == boolean.class || targetType == Boolean.class) {
+            boolean value = resultSet.getBoolean(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == short.class || targetType == Short.class) {
+            short value = resultSet.getShort(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == float.class || targetType == Float.class) {
+            float value = resultSet.getFloat(column);
+            return resultSet.wasNull() ? defaultValue(targetType) : value;
+        }
+        if (targetType == BigDecimal.class)
+            return resultSet.getBigDecimal(column);
+        if (targetType == LocalDateTime.class) {
+            Timestamp value = resultSet.getTimestamp(column);
+            return value == null ? null : value.toLocalDateTime();
+        }
+        if (targetType == LocalDate.class) {
+            Date value = resultSet.getDate(column);
+            return value == null ? null : value.toLocalDate();
+        }
+        if (targetType == Instant.class) {
+            Timestamp value = resultSet.getTimestamp(column);
+            return value == null ? null : value.toInstant();
+        }
+        if (targetType == Timestamp.class || targetType == java.util.Date.class)
+            return resultSet.getTimestamp(column);
+        if (targetType == Date.class)
+            return resultSet.getDate(column);
+        if (targetType == byte[].class)
+            return resultSet.getBytes(column);
+        if (targetType.isEnum()) {
+            String value = resultSet.getString(column);
+            return value == null ? null : Enum.valueOf((Class<? extends Enum>) targetType, value.trim());
+        }
+        return resultSet.getObject(column, targetType);
+    }
+
+    /**
+     * @return the default value of a primitive type, null for other types
+     */
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive())
+            return null;
+        if (type == boolean.class)
+            return false;
+        if (type == long.class)
+            return 0L;
+        if (type == double.class)
+            return 0d;
+        if (type == float.class)
+            return 0f;
+        if (type == short.class)
+            return (short) 0;
+        if (type == byte.class)
+            return (byte) 0;
+        if (type == char.class)
+            return '\0';
+        return 0;
+    }
+
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+}
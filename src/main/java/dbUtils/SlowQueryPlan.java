@@ -0,0 +1,51 @@
+package dbUtils;
+
+/**
+ * Execution plan of a query which exceeded the slow query threshold.
+ * Added to the test report and to the TestMetric of the test, so it is shipped with the Elastic metrics report
+ *
+ * @since 17.10.2026
+ */
+public class SlowQueryPlan {
+    private final String query;
+    private final double elapsedMillis;
+    private final String plan;
+
+    SlowQueryPlan(String query, double elapsedMillis, String plan) {
+        this.query = query;
+        this.elapsedMillis = elapsedMillis;
+        this.plan = plan;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * @return the execution plan as returned by the DB (text or XML), or the reason it could not be captured
+     */
+    public String getPlan() {
+        return plan;
+    }
+
+    /**
+     * @return the query and the plan for the html test report, with the query and plan text escaped
+     * @since 17.10.2026
+     */
+    public String toHtml() {
+        return String.format("Slow query execution plan (%.2f ms):<br>%s<br><pre>%s</pre>", elapsedMillis, escapeHtml(query), escapeHtml(plan));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Slow query (%.2f ms): %s%n%s", elapsedMillis, query, plan);
+    }
+
+    private static String escapeHtml(String text) {
+        return text == null ? "" : text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
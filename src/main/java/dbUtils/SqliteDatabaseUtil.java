@@ -7,8 +7,14 @@ import org.slf4j.LoggerFactory;
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
 import static ReportUtils.Report.reportAndLog;
@@ -20,7 +26,7 @@ import static ReportUtils.Report.reportAndLog;
  *
  */
 
-public class SqliteDatabaseUtil  {
+public class SqliteDatabaseUtil extends DbBase {
     private static Logger logger = LoggerFactory.getLogger(SqliteDatabaseUtil.class);
     public int queryTimeout = getGlobalPropertyEntity().getIntProperty("query_timeout");
 
@@ -36,7 +42,8 @@ public class SqliteDatabaseUtil  {
     }
 
     /**
-     * This method returns an SQLite connection which has no user/pass
+     * This method returns an SQLite connection which has no user/pass, from the shared connection pool.
+     * Closing the connection returns it to the pool
      *
      * @author zvika.sela
      * @since 02.06.2023
@@ -46,7 +53,17 @@ public class SqliteDatabaseUtil  {
 
     public Connection connect(String dbConnString) throws ClassNotFoundException, SQLException {
         reportAndLog("Connecting to:" + dbConnString, MessageLevel.INFO);
-        return DriverManager.getConnection(dbConnString);
+        return getPooledConnection(dbConnString, null, null, () -> DriverManager.getConnection(dbConnString));
+    }
+
+    /**
+     * Return the statistics of the shared connection pool of the connection string
+     * @param dbConnString the DB connection string
+     * @return the pool statistics or null if no connection was taken for this connection string
+     * @since 17.10.2026
+     */
+    public DBConnectionPool.PoolStatistics getConnectionPoolStatistics(String dbConnString) {
+        return DBConnectionPool.getPool().getStatistics(dbConnString, null);
     }
 
     /**
@@ -58,17 +75,54 @@ public class SqliteDatabaseUtil  {
      * @return a String representing the username
      */
     public String getSingleValueFromFirstRowAndColumn(String query, String dbConnString){
+        return getSingleValueFromFirstRowAndColumn(query, Collections.emptyList(), dbConnString);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     *
+     * @param query  the given query we wish to execute such as 'select user_name from table'
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @return a String representing the username
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString){
+        return getSingleValueFromFirstRowAndColumn(query, params, dbConnString, false);
+    }
+
+    /**
+     * This method returns a single value from the query, please note that the query will return the upper-left
+     * value even if more than 1 value exists in table
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     *
+     * @param query  the given query we wish to execute such as 'select user_name from table'
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a String representing the username
+     * @since 17.10.2026
+     */
+    public String getSingleValueFromFirstRowAndColumn(String query, List<?> params, String dbConnString, boolean skipCache){
+        return loadQueryResult("getSingleValueFromFirstRowAndColumn", dbConnString, null, query, params, skipCache, () -> getSingleValueFromDb(query, params, dbConnString));
+    }
+
+    /**
+     * Run the query of getSingleValueFromFirstRowAndColumn on the DB, bypassing the query cache
+     */
+    private String getSingleValueFromDb(String query, List<?> params, String dbConnString){
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             reportAndLog("Connecting to:" + dbConnString, MessageLevel.INFO);
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
 
             connection = connect(dbConnString);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
                 if (!resultSet.next()) {
                     reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
                 }
@@ -104,18 +158,57 @@ public class SqliteDatabaseUtil  {
      * @return a List of database row
      */
     public List<String> getResultsFromQuery(String query, String dbConnString) {
+        return getResultsFromQuery(query, Collections.emptyList(), dbConnString);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     *
+     * @param query the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString) {
+        return getResultsFromQuery(query, params, dbConnString, false);
+    }
+
+    /**
+     * This method receives a Query then loops through the query results and stores them into a list
+     * This is best for a single column count queries
+     * Please note that each data in the list is already trimmed
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     *
+     * @param query the given query we wish to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString the server address
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return a List of database row
+     * @since 17.10.2026
+     */
+    public List<String> getResultsFromQuery(String query, List<?> params, String dbConnString, boolean skipCache) {
+        return new ArrayList<>(loadQueryResult("getResultsFromQuery", dbConnString, null, query, params, skipCache, () -> getResultsFromDb(query, params, dbConnString)));
+    }
+
+    /**
+     * Run the query of getResultsFromQuery on the DB, bypassing the query cache
+     */
+    private List<String> getResultsFromDb(String query, List<?> params, String dbConnString) {
         List<String> resultsList = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
 
             reportAndLog("<b>Executing Query: </b><br>" + query , MessageLevel.INFO);
 
             connection = connect(dbConnString);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
                 statement.setQueryTimeout(queryTimeout);
-                resultSet = statement.executeQuery(query);
+                resultSet = super.executeQuery(statement, query);
                 while (resultSet.next()) {
                     String value = resultSet.getString(1);
                     if(value == null)
@@ -150,19 +243,32 @@ public class SqliteDatabaseUtil  {
      * @since 02.06.2023
      */
     public List<HashMap<String, String>> getQueryResultMap(String query, String dbConnString) {
+        return getQueryResultMap(query, Collections.emptyList(), dbConnString);
+    }
+
+    /**
+     * Returns a List of Hash maps containing the query result
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return a Hash map containing the query result. i.e column names and their values
+     *
+     * @since 17.10.2026
+     */
+    public List<HashMap<String, String>> getQueryResultMap(String query, List<?> params, String dbConnString) {
 
         List<HashMap<String, String>> queryResultsList = new ArrayList<>();
         Connection connection=null;
-        Statement statement =null;
+        PreparedStatement statement = null;
         ResultSet resultSet =null;
         try {
             reportAndLog("Executing Query: " + query , MessageLevel.INFO);
 
             connection = connect(dbConnString);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
-            resultSet = statement.executeQuery(query);
+            resultSet = super.executeQuery(statement, query);
             ResultSetMetaData resultMetaData = resultSet.getMetaData();
 
             int queryColumnCount = resultMetaData.getColumnCount();
@@ -199,6 +305,205 @@ public class SqliteDatabaseUtil  {
 
 
 
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, String dbConnString) {
+        return openQueryCursor(query, Collections.emptyList(), dbConnString);
+    }
+
+    /**
+     * Open a forward only cursor over the query results. Rows are fetched from the DB in batches of fetchSize
+     * while iterating, instead of loading all the results to memory.
+     * The cursor must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return the cursor
+     * @since 17.10.2026
+     */
+    public QueryCursor openQueryCursor(String query, List<?> params, String dbConnString) {
+
+        try {
+            Connection connection = connect(dbConnString);
+
+            reportAndLog("Executing Query: " + query , MessageLevel.INFO);
+
+            return super.openCursor(connection, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to open Query Cursor.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryResultMap(String query, String dbConnString) {
+        return openQueryCursor(query, dbConnString).stream();
+    }
+
+    /**
+     * Return a stream of the query results, each row as a map of column names and their values.
+     * Rows are fetched from the DB in batches of fetchSize while the stream is consumed.
+     * The stream must be closed (try-with-resources) to return the connection to the pool
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return a stream of the rows
+     * @since 17.10.2026
+     */
+    public Stream<LinkedHashMap<String, String>> streamQueryResultMap(String query, List<?> params, String dbConnString) {
+        return openQueryCursor(query, params, dbConnString).stream();
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, String dbConnString, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, dbConnString)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Run the query and pass each row of the results to the consumer, without loading all the results to memory
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param rowConsumer called with every row as a map of column names and their values
+     * @return the number of rows read
+     * @since 17.10.2026
+     */
+    public long forEachRow(String query, List<?> params, String dbConnString, Consumer<LinkedHashMap<String, String>> rowConsumer) {
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString)) {
+            cursor.forEachRemaining(rowConsumer);
+            if(cursor.getRowCount() == 0)
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+            return cursor.getRowCount();
+        }
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param dbConnString DB connection string
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, String dbConnString) {
+        return getQueryResult(query, Collections.emptyList(), dbConnString, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString) {
+        return getQueryResult(query, params, dbConnString, false);
+    }
+
+    /**
+     * Return the query results as a compact columnar QueryResult.
+     * The result is a List of Maps (lazy row views), so it can be used wherever a list of row maps is expected
+     * When useQueryCache is on, the result is taken from the shared QueryResultCache if it was already loaded
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param skipCache true to run the query on the DB even if its result is in the query cache
+     * @return the query result
+     * @since 17.10.2026
+     */
+    public QueryResult getQueryResult(String query, List<?> params, String dbConnString, boolean skipCache) {
+        return loadQueryResult("getQueryResult", dbConnString, null, query, params, skipCache, () -> getQueryResultFromDb(query, params, dbConnString));
+    }
+
+    /**
+     * Run the query of getQueryResult on the DB, bypassing the query cache
+     */
+    private QueryResult getQueryResultFromDb(String query, List<?> params, String dbConnString) {
+
+        try (QueryCursor cursor = openQueryCursor(query, params, dbConnString)) {
+            QueryResult queryResult = QueryResult.read(cursor);
+
+            if(queryResult.isEmpty())
+                reportAndLog(CommonConstants.FailureClassificationErrors.MISSING_DATA,MessageLevel.INFO);
+
+            return queryResult;
+        }
+        catch (SQLException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(),MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the query results mapped to records/POJOs. Every column is read with the JDBC getter of the matching
+     * field type (i.e. getLong, getTimestamp) and matched to the field by name, ignoring case and underscores
+     * @param type the row type, a record or a class with a no-args constructor
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @param <T> the row type
+     * @return list of the mapped rows
+     * @since 17.10.2026
+     */
+    public <T> List<T> getQueryResultAs(Class<T> type, String query, List<?> params, String dbConnString) {
+
+        try (Connection connection = connect(dbConnString)) {
+            reportAndLog("Executing Query: " + query, MessageLevel.INFO);
+            return readRows(connection, type, query, params, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to retrieve Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Export the query results to a CSV, XLSX or NDJSON file, streaming the rows from the DB to the file
+     * so the results are not held in memory. The export rate (rows/sec) is added to the report
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param filePath the file to create. An existing file is replaced
+     * @param format the file format
+     * @param dbConnString DB connection string
+     * @return the export statistics
+     * @since 17.10.2026
+     */
+    public QueryExporter.ExportResult exportQueryResult(String query, List<?> params, String filePath, QueryExporter.ExportFormat format, String dbConnString) {
+        return QueryExporter.export(openQueryCursor(query, params, dbConnString), filePath, format);
+    }
+
+
     /**
      * Execute a modification query (such as: create table, insert row, drop, truncate etc..
      * This should not be used for Selection queries
@@ -208,8 +513,20 @@ public class SqliteDatabaseUtil  {
      * @since 15.05.2023
      */
     public void executeUpdate(String query, String dbConnString) {
+        executeUpdate(query, Collections.emptyList(), dbConnString);
+    }
+
+    /**
+     * Execute a modification query (such as: create table, insert row, drop, truncate etc..
+     * This should not be used for Selection queries
+     * @param query the query to execute
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString connection string
+     * @since 17.10.2026
+     */
+    public void executeUpdate(String query, List<?> params, String dbConnString) {
 
-        Statement statement = null;
+        PreparedStatement statement = null;
         Connection connection = null;
 
         try {
@@ -217,10 +534,10 @@ public class SqliteDatabaseUtil  {
             reportAndLog("Executing Query: <br>" + query, MessageLevel.INFO);
 
             connection = connect(dbConnString);
-            statement = connection.createStatement();
+            statement = prepareStatement(connection, query, params);
             statement.setQueryTimeout(queryTimeout);
 
-            statement.executeUpdate(query);
+            statement.executeUpdate();
             // Close the statement and connection
             statement.close();
             connection.close();
@@ -257,4 +574,163 @@ public class SqliteDatabaseUtil  {
             } catch (SQLException e) { logger.error("Failed to close connection"); logger.error(Arrays.toString(e.getStackTrace()));}
         }
     }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of batchChunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString) {
+        return executeBatchUpdate(query, paramRows, dbConnString, batchChunkSize);
+    }
+
+    /**
+     * Execute a statement template (insert/update/delete) for every row of parameters, using JDBC batches.
+     * The rows are sent and committed in chunks of chunkSize, each chunk in its own transaction, so a failure only
+     * rolls back the failing chunk.
+     * A stream of rows can be passed as stream::iterator, it is read one chunk at a time
+     * @param query the statement template, with ? placeholders
+     * @param paramRows the parameters of every execution, by placeholder order
+     * @param dbConnString DB connection string
+     * @param chunkSize number of rows per batch and transaction
+     * @return the rows affected per chunk
+     * @since 17.10.2026
+     */
+    public BatchUpdateResult executeBatchUpdate(String query, Iterable<? extends List<?>> paramRows, String dbConnString, int chunkSize) {
+
+        Connection connection = null;
+
+        reportAndLog("Executing batch update: <br>" + query, MessageLevel.INFO);
+        try {
+            connection = connect(dbConnString);
+
+            BatchUpdateResult result = super.executeBatchUpdate(connection, query, paramRows.iterator(), chunkSize, queryTimeout);
+
+            reportAndLog("Batch update completed. " + result, MessageLevel.INFO);
+            return result;
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Batch update failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Batch update failed.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+        finally {
+            disconnect(connection, null, null);
+        }
+    }
+
+    /**
+     * Asynchronous getSingleValueFromFirstRowAndColumn.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<String> getSingleValueFromFirstRowAndColumnAsync(String query, List<?> params, String dbConnString) {
+        return supplyAsync(() -> getSingleValueFromFirstRowAndColumn(query, params, dbConnString));
+    }
+
+    /**
+     * Asynchronous getResultsFromQuery.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<List<String>> getResultsFromQueryAsync(String query, List<?> params, String dbConnString) {
+        return supplyAsync(() -> getResultsFromQuery(query, params, dbConnString));
+    }
+
+    /**
+     * Asynchronous getQueryResult.
+     * The query runs on the shared DbQueryExecutor, so queries to several DBs can run at the same time
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param dbConnString DB connection string
+     * @return future of the result
+     * @since 17.10.2026
+     */
+    public CompletableFuture<QueryResult> getQueryResultAsync(String query, List<?> params, String dbConnString) {
+        return supplyAsync(() -> getQueryResult(query, params, dbConnString));
+    }
+
+    /**
+     * Wait until the query returns rows, polling the DB with exponential backoff on a single connection
+     * @param query query to the DB
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @return the query result, or null if the query returned no rows within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, int timeoutInSeconds, String dbConnString) {
+        return waitForQueryResult(query, params, result -> !result.isEmpty(), null, null, timeoutInSeconds, dbConnString);
+    }
+
+    /**
+     * Wait until the query result meets a condition, polling the DB with exponential backoff on a single connection
+     * and prepared statement, instead of a sleep loop that opens a connection on every poll.
+     * When a probe query is given, only the probe runs on every poll and the full query runs only when the probe value changed.
+     * i.e. waiting for a job to write its rows:
+     * <pre>
+     * {@code
+     *     QueryResult rows = dbUtil.waitForQueryResult("select * from job_log where job_id = ?", List.of(jobId),
+     *             result -> result.size() >= 3, "select count(*) from job_log where job_id = ?", List.of(jobId), 120, ...);
+     * }
+     * </pre>
+     * The polling statistics are added to the test report
+     * @param query the full query
+     * @param params values to bind to the ? placeholders of the query, by order
+     * @param condition the condition the query result should meet
+     * @param probeQuery cheap single value query (i.e. count(*) or max(updated_at)) which changes when the full query result may change. Can be null
+     * @param probeParams values to bind to the ? placeholders of the probe query, by order. Can be null
+     * @param timeoutInSeconds max time to wait
+     * @param dbConnString DB connection string
+     * @return the query result which met the condition, or null if it was not met within the timeout
+     * @since 17.10.2026
+     */
+    public QueryResult waitForQueryResult(String query, List<?> params, Predicate<QueryResult> condition, String probeQuery, List<?> probeParams,
+                                          int timeoutInSeconds, String dbConnString) {
+
+        reportAndLog("Waiting for Query result: " + query, MessageLevel.INFO);
+        try (Connection connection = connect(dbConnString)) {
+            return pollQueryResult(connection, query, params, condition, probeQuery, probeParams, timeoutInSeconds * 1000L, queryTimeout);
+        }
+        catch (SQLException | ClassNotFoundException sqlException) {
+            reportAndLog("Query failed with error " + sqlException.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to wait for Query Result.<br>Error: %s<br><br>", sqlException.getMessage()));
+        }
+    }
+
+    /**
+     * Return the execution plan of a query using EXPLAIN QUERY PLAN
+     * @param connection the connection to explain the query on
+     * @param query the query, with ? placeholders
+     * @param params values bound to the query placeholders, by order
+     * @return the plan steps, one per line
+     * @throws SQLException sql exception
+     * @since 17.10.2026
+     */
+    @Override
+    protected String explainQuery(Connection connection, String query, List<?> params) throws SQLException {
+
+        StringBuilder plan = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN QUERY PLAN " + query)) {
+            bindParameters(statement, params);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next())
+                    plan.append(resultSet.getString("detail")).append(System.lineSeparator());
+            }
+        }
+        return plan.toString();
+    }
 }
@@ -0,0 +1,195 @@
+package dbUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of the PreparedStatements of a single pooled physical connection.<br>
+ * Preparing the same SQL again on the same connection reuses the statement, so the DB only soft parses it
+ * (or not at all) instead of hard parsing it on every call. Closing a cached statement closes its open result set,
+ * clears its parameters and returns it to the cache.<br>
+ * A pooled connection is used by a single thread at a time, so the cache is not thread safe.
+ *
+ * @since 17.10.2026
+ */
+class StatementCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementCache.class);
+
+    private final int maxSize;
+    private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+
+    /**
+     * @param maxSize max number of cached statements, 0 disables the cache
+     * @param hits counter of statements reused from the cache, can be shared by several caches
+     * @param misses counter of statements prepared on the DB, can be shared by several caches
+     */
+    StatementCache(int maxSize, AtomicLong hits, AtomicLong misses) {
+        this.maxSize = maxSize;
+        this.hits = hits;
+        this.misses = misses;
+    }
+
+    /**
+     * Return a cached statement of the SQL or prepare a new one
+     * @param connection the physical connection
+     * @param connectionProxy the pooled connection returned by the statement's getConnection()
+     * @param sql the SQL
+     * @param resultSetType result set type
+     * @param resultSetConcurrency result set concurrency
+     * @return the statement. Closing it returns it to the cache
+     * @throws SQLException sql exception
+     */
+    PreparedStatement prepare(Connection connection, Connection connectionProxy, String sql, int resultSetType, int resultSetConcurrency) throws SQLException {
+
+        if (maxSize <= 0)
+            return connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+
+        String key = resultSetType + "|" + resultSetConcurrency + "|" + sql;
+        CachedStatement cached = statements.get(key);
+
+        if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+            hits.incrementAndGet();
+            return cached.borrow(connectionProxy);
+        }
+
+        misses.incrementAndGet();
+        PreparedStatement statement = connection.prepareStatement(sql, resultSetType, resultSetConcurrency);
+
+        //The same SQL is already open by the caller (i.e. nested loops), do not cache the second statement
+        if (cached != null && cached.inUse)
+            return statement;
+
+        cached = new CachedStatement(statement);
+        statements.put(key, cached);
+        evictEldest();
+        return cached.borrow(connectionProxy);
+    }
+
+    /**
+     * Close all the cached statements
+     */
+    void closeAll() {
+        for (CachedStatement cached : statements.values())
+            cached.closePhysical();
+        statements.clear();
+    }
+
+    private void evictEldest() {
+        Iterator<Map.Entry<String, CachedStatement>> iterator = statements.entrySet().iterator();
+        while (statements.size() > maxSize && iterator.hasNext()) {
+            CachedStatement eldest = iterator.next().getValue();
+            iterator.remove();
+            if (eldest.inUse)
+                eldest.evicted = true;
+            else
+                eldest.closePhysical();
+        }
+    }
+
+    /**
+     * A cached statement and its usage state
+     */
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse = false;
+        private boolean evicted = false;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        private PreparedStatement borrow(Connection connectionProxy) {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(StatementCache.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new CachedStatementHandler(this, connectionProxy));
+        }
+
+        private void release(ResultSet openResultSet) {
+            try {
+                if (openResultSet != null)
+                    openResultSet.close();
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                logger.info("Failed to reset cached statement, closing it: " + e.getMessage());
+                evicted = true;
+            }
+            inUse = false;
+            if (evicted)
+                closePhysical();
+        }
+
+        private void closePhysical() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.error("Failed to close cached statement: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Proxy handler of a borrowed cached statement. close() returns the statement to the cache
+     */
+    private static class CachedStatementHandler implements InvocationHandler {
+        private final CachedStatement cached;
+        private final Connection connectionProxy;
+        private ResultSet openResultSet;
+        private boolean closed = false;
+
+        private CachedStatementHandler(CachedStatement cached, Connection connectionProxy) {
+            this.cached = cached;
+            this.connectionProxy = connectionProxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cached.release(openResultSet);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return connectionProxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached" + cached.statement;
+                default:
+                    if (closed)
+                        throw new SQLException("Statement was already closed");
+                    try {
+                        Object result = method.invoke(cached.statement, args);
+                        if (result instanceof ResultSet)
+                            openResultSet = (ResultSet) result;
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
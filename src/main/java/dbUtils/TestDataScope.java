@@ -0,0 +1,302 @@
+package dbUtils;
+
+import Enumerations.MessageLevel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static ReportUtils.Report.reportAndLog;
+
+/**
+ * Transactional scope of the test data created through the DB utils.<br>
+ * While a scope is active on the current thread, every DB util call gets the same pooled connection per
+ * connection string + user, in a single open transaction. Ending the scope rolls back the transaction,
+ * so all the data the test created is removed by one rollback instead of cleanup deletes, also when the test failed midway.<br>
+ * Commits done by the DB utils inside the scope (i.e. the chunks of executeBatchUpdate) become savepoints,
+ * so a later rollback of the same code only rolls back to its last commit.<br>
+ * Note that the scope data is not committed, so it is visible only to the queries of the test thread and not
+ * to other sessions (i.e. the application under test or asynchronous queries). DDL statements commit implicitly on Oracle.
+ * <pre>
+ * {@code
+ *     @ExtendWith(TestDataScopeExtension.class)   //or
+ *     try (TestDataScope scope = TestDataScope.begin()) {
+ *         oracleUtil.executeUpdate(insertBooking, iqShipConn, user, pass);
+ *         scope.savepoint("booking");
+ *         ...
+ *         scope.rollbackTo("booking");
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class TestDataScope implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestDataScope.class);
+    private static final ThreadLocal<TestDataScope> currentScope = new ThreadLocal<>();
+
+    //Scoped connections by connection string + user + password hash
+    private final Map<String, ScopedConnection> connections = new LinkedHashMap<>();
+    private boolean ended = false;
+
+    private TestDataScope() {
+    }
+
+    /**
+     * Begin a test data scope on the current thread. A scope that is still active on the thread is rolled back first
+     * @return the scope
+     * @since 17.10.2026
+     */
+    public static TestDataScope begin() {
+        TestDataScope previous = currentScope.get();
+        if (previous != null) {
+            logger.warn("A test data scope was still active on the thread, rolling it back");
+            previous.close();
+        }
+
+        TestDataScope scope = new TestDataScope();
+        currentScope.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return the scope active on the current thread, or null if there is none
+     * @since 17.10.2026
+     */
+    public static TestDataScope getCurrentScope() {
+        return currentScope.get();
+    }
+
+    /**
+     * Run a call with no scope active on the current thread, so its DB util calls borrow their own connections
+     * from the pool. Used for DDL, which commits implicitly on Oracle and MSSQL and would commit the scope data
+     * and its savepoints. The scope is active again once the call returns
+     * @param call the DB util calls
+     * @param <T> the call result type
+     * @return the call result
+     * @since 17.10.2026
+     */
+    static <T> T callOutsideScope(Supplier<T> call) {
+        TestDataScope scope = currentScope.get();
+        if (scope == null)
+            return call.get();
+
+        currentScope.remove();
+        try {
+            return call.get();
+        }
+        finally {
+            currentScope.set(scope);
+        }
+    }
+
+    /**
+     * Roll back the scope active on the current thread, if any
+     * @since 17.10.2026
+     */
+    public static void end() {
+        TestDataScope scope = currentScope.get();
+        if (scope != null)
+            scope.close();
+    }
+
+    /**
+     * Set a named savepoint on all the connections of the scope
+     * @param name the savepoint name
+     * @since 17.10.2026
+     */
+    public void savepoint(String name) {
+        for (ScopedConnection connection : connections.values()) {
+            try {
+                connection.savepoints.put(name, connection.pooled.setSavepoint());
+            }
+            catch (SQLException e) {
+                throw new Error(String.format("Failed to set savepoint %s.<br>Error: %s<br><br>", name, e.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Roll back the data created after a named savepoint, on all the connections of the scope.
+     * Connections that joined the scope after the savepoint are rolled back entirely
+     * @param name the savepoint name
+     * @since 17.10.2026
+     */
+    public void rollbackTo(String name) {
+        for (ScopedConnection connection : connections.values()) {
+            try {
+                Savepoint savepoint = connection.savepoints.get(name);
+                if (savepoint != null)
+                    connection.pooled.rollback(savepoint);
+                else
+                    connection.pooled.rollback();
+                connection.commitPoint = null;
+            }
+            catch (SQLException e) {
+                throw new Error(String.format("Failed to roll back to savepoint %s.<br>Error: %s<br><br>", name, e.getMessage()));
+            }
+        }
+        reportAndLog("Test data rolled back to savepoint " + name, MessageLevel.INFO);
+    }
+
+    /**
+     * Roll back the scope data and return its connections to the pool
+     */
+    @Override
+    public void close() {
+        if (ended)
+            return;
+        ended = true;
+        if (currentScope.get() == this)
+            currentScope.remove();
+
+        for (Map.Entry<String, ScopedConnection> entry : connections.entrySet()) {
+            Connection pooled = entry.getValue().pooled;
+            try {
+                pooled.rollback();
+            }
+            catch (SQLException e) {
+                logger.error("Failed to roll back the test data of " + entry.getKey() + ": " + e.getMessage());
+            }
+            finally {
+                try {
+                    pooled.close();
+                } catch (SQLException e) { logger.error("Failed to close connection"); }
+            }
+        }
+        if (!connections.isEmpty())
+            reportAndLog(String.format("Test data rolled back on %d connection(s)", connections.size()), MessageLevel.INFO);
+        connections.clear();
+    }
+
+    /**
+     * Return the scoped connection of the connection string + user, borrowing it from the pool on first use
+     * @param dbConnString DB connection string
+     * @param dbUser DB user
+     * @param dbPass DB password
+     * @param factory creates a new physical connection when the pool has no valid idle connection
+     * @return a connection whose close() keeps it in the scope
+     * @throws SQLException if the connection could not be created
+     */
+    Connection getConnection(String dbConnString, String dbUser, String dbPass, DBConnectionPool.ConnectionFactory factory) throws SQLException {
+
+        if (ended)
+            throw new SQLException("Test data scope already ended");
+
+        String key = DBConnectionPool.getKey(dbConnString, dbUser, dbPass);
+        ScopedConnection connection = connections.get(key);
+        if (connection == null) {
+            Connection pooled = DBConnectionPool.getPool().getConnection(dbConnString, dbUser, dbPass, factory);
+            try {
+                pooled.setAutoCommit(false);
+            }
+            catch (SQLException e) {
+                pooled.close();
+                throw e;
+            }
+            connection = new ScopedConnection(pooled);
+            connections.put(key, connection);
+        }
+        return connection.proxy;
+    }
+
+    /**
+     * A pooled connection bound to the scope. The proxy ignores close() and auto commit changes, and turns
+     * commit() into a savepoint that a later rollback() returns to.
+     * Statements created by the proxy return the proxy from getConnection(), so stmt.getConnection().commit()
+     * also goes through the scope
+     */
+    private static class ScopedConnection implements InvocationHandler {
+        private final Connection pooled;
+        private final Connection proxy;
+        private final Map<String, Savepoint> savepoints = new HashMap<>();
+        private Savepoint commitPoint;
+
+        private ScopedConnection(Connection pooled) {
+            this.pooled = pooled;
+            this.proxy = (Connection) Proxy.newProxyInstance(TestDataScope.class.getClassLoader(), new Class<?>[]{Connection.class}, this);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            switch (method.getName()) {
+                case "close":
+                case "setAutoCommit":
+                    return null;
+                case "getAutoCommit":
+                    return false;
+                case "isClosed":
+                    return pooled.isClosed();
+                case "commit":
+                    commitPoint = pooled.setSavepoint();
+                    return null;
+                case "rollback":
+                    if (args == null || args.length == 0) {
+                        if (commitPoint != null)
+                            pooled.rollback(commitPoint);
+                        else
+                            pooled.rollback();
+                        return null;
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Scoped" + pooled;
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    return wrapStatement((Statement) invokePooled(method, args), method.getReturnType());
+            }
+            return invokePooled(method, args);
+        }
+
+        private Object invokePooled(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(pooled, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Wrap a statement of the pooled connection so its getConnection() returns the scoped connection
+         * @param statement the statement of the pooled connection
+         * @param type the statement interface (Statement, PreparedStatement or CallableStatement)
+         */
+        private Object wrapStatement(Statement statement, Class<?> type) {
+            return Proxy.newProxyInstance(TestDataScope.class.getClassLoader(), new Class<?>[]{type}, (statementProxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getConnection":
+                        return proxy;
+                    case "equals":
+                        return statementProxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(statementProxy);
+                    case "toString":
+                        return "Scoped" + statement;
+                }
+                try {
+                    return method.invoke(statement, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+        }
+    }
+}
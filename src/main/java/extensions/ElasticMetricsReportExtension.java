@@ -10,6 +10,8 @@ import constantsUtils.CommonConstants;
 import CustomAnnotations.Performance;
 import dateTimeUtils.DateTime;
 import dateTimeUtils.DateUtils;
+import dbUtils.QueryLatencyRegistry;
+import dbUtils.SlowQueryPlan;
 import Enumerations.MessageLevel;
 import Enumerations.TestFailureReasonEnum;
 import io.github.artsok.RepeatedIfExceptionsTest;
@@ -185,6 +187,8 @@ public class ElasticMetricsReportExtension implements TestWatcher,AfterTestExecu
     public void beforeEach(ExtensionContext extensionContext)  {
         //test start time
         StoreManager.getStore(StoreType.LOCAL_THREAD).putValueInStore(TEST_START_TIME,System.currentTimeMillis());
+        //start collecting the query latencies of the test
+        QueryLatencyRegistry.startTest();
 
         //if repeated test then increment by 1 num of attempts
         if (repeatTagExists(extensionContext) && testRepeatCounter.get(extensionContext.getRequiredTestMethod().getName()) != null) {
@@ -296,6 +300,8 @@ public class ElasticMetricsReportExtension implements TestWatcher,AfterTestExecu
         testMetric.setMobile_capability(System.getProperty("caps.name"));
 
         testMetric.setSelenium_grid_version(System.getProperty("seleniumGridVersion"));
+        testMetric.setQueryLatencies(QueryLatencyRegistry.getTestRegistry().getSummaries());
+        testMetric.setSlowQueryPlans(getSlowQueryPlans());
 
 
 
@@ -419,6 +425,22 @@ public class ElasticMetricsReportExtension implements TestWatcher,AfterTestExecu
         return warningMessageStr;
     }
 
-
+    /**
+     * Return the execution plans of the slow queries of the test, waiting up to db_slow_query_plan_wait ms for the
+     * plans still being captured. Plans that were not added to the test report during the test are reported here
+     * @return the captured plans
+     * @since 17.10.2026
+     */
+    private List<SlowQueryPlan> getSlowQueryPlans() {
+        long waitMillis = 1000;
+        String waitProperty = getGlobalProperty("db_slow_query_plan_wait");
+        if (waitProperty != null && waitProperty.trim().matches("\\d+"))
+            waitMillis = Long.parseLong(waitProperty.trim());
+
+        QueryLatencyRegistry registry = QueryLatencyRegistry.getTestRegistry();
+        List<SlowQueryPlan> plans = registry.getSlowQueryPlans(waitMillis);
+        for (SlowQueryPlan plan : registry.pollUnreportedSlowQueryPlans())
+            reportAndLog(plan.toHtml(), MessageLevel.INFO);
+        return plans;
+    }
 }
-
@@ -0,0 +1,26 @@
+package extensions;
+
+import dbUtils.TestDataScope;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Run every test in a TestDataScope, so the data the test created through the DB utils is rolled back
+ * after the test, whether it passed or failed.
+ * @since 17.10.2026
+ */
+public class TestDataScopeExtension implements BeforeEachCallback, AfterEachCallback {
+
+    //will be invoked before -> before test
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestDataScope.begin();
+    }
+
+    //will be invoked just before -> after test
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestDataScope.end();
+    }
+}
@@ -0,0 +1,123 @@
+package fileUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Column based content of a csv file, read by MappedCsvParser.readTable().<br>
+ * Every column is kept in one array, instead of an array or a HashMap per row.
+ * Values missing from short rows are null, and values beyond the header columns are dropped
+ *
+ * @since 17.10.2026
+ */
+public class CsvTable {
+
+    private final String[] headers;
+    private final String[][] columns;
+    private final int rowCount;
+    private final HashMap<String, Integer> columnIndexes = new HashMap<>();
+
+    CsvTable(String[] headers, String[][] columns, int rowCount) {
+        this.headers = headers;
+        this.columns = columns;
+        this.rowCount = rowCount;
+        for (int c = headers.length - 1; c >= 0; c--)
+            columnIndexes.put(headers[c], c);
+    }
+
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    /**
+     * @return the number of rows, not including the header row
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public int getColumnCount() {
+        return headers.length;
+    }
+
+    /**
+     * Return the index of a column
+     * @param columnName column name
+     * @return the index of the first column with the name
+     * @throws IllegalArgumentException if there is no such column
+     */
+    public int getColumnIndex(String columnName) {
+        Integer index = columnIndexes.get(columnName);
+        if (index == null)
+            throw new IllegalArgumentException("Column " + columnName + " does not exist in the csv file");
+        return index;
+    }
+
+    /**
+     * Return the values of a column, without copying them
+     * @param columnName column name
+     * @return read only list of the column values, in row order
+     */
+    public List<String> getColumn(String columnName) {
+        return Collections.unmodifiableList(Arrays.asList(columns[getColumnIndex(columnName)]));
+    }
+
+    /**
+     * Return a value
+     * @param rowIndex row index, 0 is the first row after the header
+     * @param columnName column name
+     * @return the value, null if the row is shorter than the header
+     */
+    public String getValue(int rowIndex, String columnName) {
+        return columns[getColumnIndex(columnName)][rowIndex];
+    }
+
+    /**
+     * Return a row as an array
+     * @param rowIndex row index, 0 is the first row after the header
+     * @return the values of the row, in column order
+     */
+    public String[] getRow(int rowIndex) {
+        if (rowIndex < 0 || rowIndex >= rowCount)
+            throw new IndexOutOfBoundsException("Row " + rowIndex + " is out of the csv rows range: " + rowCount);
+        String[] row = new String[columns.length];
+        for (int c = 0; c < columns.length; c++)
+            row[c] = columns[c][rowIndex];
+        return row;
+    }
+
+    /**
+     * Return a row as a HashMap of column name to value, like CsvUtils.getAllLinesFromCsvAsHashMap returns the rows.
+     * Values missing from a short row are not added
+     * @param rowIndex row index, 0 is the first row after the header
+     * @return the row
+     */
+    public HashMap<String, String> getRowAsMap(int rowIndex) {
+        String[] row = getRow(rowIndex);
+        HashMap<String, String> rowMap = new HashMap<>(headers.length * 4 / 3 + 1);
+        for (int c = 0; c < headers.length; c++) {
+            if (row[c] != null)
+                rowMap.put(headers[c], row[c]);
+        }
+        return rowMap;
+    }
+
+    /**
+     * Return the indexes of the rows that have a value under a column
+     * @param columnName column name
+     * @param value value to search
+     * @return the row indexes, in row order
+     */
+    public List<Integer> findRows(String columnName, String value) {
+        String[] column = columns[getColumnIndex(columnName)];
+        List<Integer> rowIndexes = new ArrayList<>();
+        for (int r = 0; r < rowCount; r++) {
+            if (value.equals(column[r]))
+                rowIndexes.add(r);
+        }
+        return rowIndexes;
+    }
+}
@@ -17,6 +17,7 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static ReportUtils.Report.reportAndLog;
 
@@ -189,6 +190,33 @@ public class CsvUtils {
         return null;
     }
 
+    /**
+     * Search a value in a specific column of a csv file and return the record row, like getRecordFromCSV,
+     * using a key index of the column that is built on the first search and saved in the temp folder (see LineIndex).
+     * Every line of the file must be one record, values with line breaks are not supported
+     * @param columnNameToSearch column to search value
+     * @param valueToSearch value to search, compared ignoring case
+     * @param filepath file to search
+     * @return record with request value in request column, null if not found
+     * @throws IOException if the found line could not be parsed
+     * @since 17.10.2026
+     */
+    public static CSVRecord getRecordFromCSVIndexed(String columnNameToSearch, String valueToSearch, String filepath) throws IOException {
+
+        LineIndex lineIndex = LineIndex.forFile(filepath);
+        List<String> lines = lineIndex.findLines(columnNameToSearch, valueToSearch, ',', true);
+        if (lines.isEmpty()) {
+            logger.info("value: " + valueToSearch + " wasn't found in column: " + columnNameToSearch + " in file: " + filepath);
+            return null;
+        }
+
+        //parse the header and the found line, so the record can be read by column name
+        String headerAndLine = lineIndex.getLine(0) + "\r\n" + lines.get(0);
+        try (CSVParser parser = CSVParser.parse(headerAndLine, CSVFormat.EXCEL.withHeader())) {
+            return parser.iterator().next();
+        }
+    }
+
     /**
      * Get all rows from csv file
      * @param csvFilePath - file get its rows
@@ -221,12 +249,38 @@ public class CsvUtils {
      * @throws IOException
      */
     public static String[] getRandomRowFromCsvFile(String filePath,int startRandom,boolean isCommaDelimiter) throws IOException {
-        // List to store CSV rows
-        List<String[]> rows = getCsvRows(filePath,isCommaDelimiter);
-        reportAndLog("count of rows in csv file: " + rows.size(), MessageLevel.INFO);
-        // Get a random row from the list
-        int index= RandomUtils.getRandomNumber(startRandom,rows.size());
+        // Line index of the file, built once and saved in the temp folder
+        LineIndex lineIndex = LineIndex.forFile(filePath);
+        int rowCount = (int)lineIndex.getLineCount();
+        reportAndLog("count of rows in csv file: " + rowCount, MessageLevel.INFO);
+        // Get a random row from the file
+        int index= RandomUtils.getRandomNumber(startRandom,rowCount);
         reportAndLog("random row is "  + index,MessageLevel.INFO);
-        return rows.get(index);
+        String delimiter =isCommaDelimiter?",":"\t";
+        return lineIndex.getLine(index).split(delimiter);
+    }
+
+    /**
+     * Stream all the rows of a large CSV file, including the header row. The file is memory mapped and parsed in parallel chunks,
+     * see MappedCsvParser. The stream must be closed
+     * @param filePath path of the csv file
+     * @return stream of the rows
+     * @since 17.10.2026
+     */
+    public static Stream<String[]> streamCsvRows(String filePath) {
+        return new MappedCsvParser(filePath).stream();
+    }
+
+    /**
+     * Read a large CSV file into a column based table, see MappedCsvParser.
+     * Takes less memory than getAllLinesFromCsvAsHashMap, which builds a HashMap per line
+     * @param filePath path of the csv file
+     * @return the table, with the first row as the header
+     * @since 17.10.2026
+     */
+    public static CsvTable readCsvTable(String filePath) {
+        try (MappedCsvParser parser = new MappedCsvParser(filePath)) {
+            return parser.readTable();
+        }
     }
 }
@@ -0,0 +1,329 @@
+package fileUtils;
+
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append only session on an excel sheet. The workbook is opened once, the appended rows are kept in memory
+ * and the file is written once on close, instead of reading and rewriting the whole file on every appended row
+ * as ExcelUtils.writeNewRowsToExcel does.<br>
+ * New files are written with a streaming SXSSF workbook that keeps only a window of rows in memory.
+ * The streaming workbook can be written only once, so new files that should also be written every few rows or seconds
+ * use a regular workbook.<br>
+ * All the methods are synchronized, so one appender can be shared by several test threads.
+ * The file is replaced atomically on every write, readers never see a half written file.
+ * <pre>
+ * {@code
+ *     try (ExcelAppender appender = new ExcelAppender(filePath, "Results")) {
+ *         appender.writeHeader(Arrays.asList("Test", "Status"));
+ *         ...
+ *         appender.appendRowByColumnName(Map.of("Test", testName, "Status", "Passed"));
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class ExcelAppender implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelAppender.class);
+    private static final int STREAMING_WINDOW_SIZE = 100;
+
+    private final File file;
+    private final Workbook workbook;
+    private final Sheet sheet;
+    private final boolean streaming;
+    private final int flushEveryRows;
+    private final ScheduledExecutorService flusher;
+    private final Map<String, Integer> columnIndexes = new HashMap<>();
+    private int nextRowNumber;
+    private int unflushedRows = 0;
+    private long appendedRows = 0;
+    private int writes = 0;
+    private boolean closed = false;
+
+    /**
+     * Open an append session that writes the file on close only
+     * @param excelFilePath Excel file, created if it does not exist
+     * @param sheet sheet name (String) or sheet number (int). A sheet name that does not exist is created
+     */
+    public <S> ExcelAppender(String excelFilePath, S sheet) {
+        this(excelFilePath, sheet, 0, 0);
+    }
+
+    /**
+     * Open an append session that writes the file on close, and also every few rows and/or every few seconds
+     * @param excelFilePath Excel file, created if it does not exist
+     * @param sheet sheet name (String) or sheet number (int). A sheet name that does not exist is created
+     * @param flushEveryRows write the file after this number of appended rows, 0 to not write by rows
+     * @param flushIntervalSeconds write the file every this number of seconds if rows were appended, 0 to not write by time
+     */
+    public <S> ExcelAppender(String excelFilePath, S sheet, int flushEveryRows, int flushIntervalSeconds) {
+
+        if (!(sheet instanceof String) && !(sheet instanceof Integer))
+            throw new Error("Sheet type received in ExcelAppender must be of types: String or int");
+
+        this.file = new File(excelFilePath).getAbsoluteFile();
+        this.flushEveryRows = flushEveryRows;
+        this.streaming = !file.exists() && flushEveryRows <= 0 && flushIntervalSeconds <= 0;
+
+        try {
+            workbook = openWorkbook();
+        }
+        catch (IOException | EncryptedDocumentException e) {
+            throw new Error(String.format("Failed to open excel file %s<br>Error: %s<br><br>", excelFilePath, e.getMessage()));
+        }
+
+        this.sheet = getOrCreateSheet(sheet);
+        nextRowNumber = this.sheet.getLastRowNum() + 1;
+        if (this.sheet.getRow(0) == null)
+            nextRowNumber = 0;
+        else
+            readHeader();
+
+        if (flushIntervalSeconds > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "excel-appender-flusher-" + file.getName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::flushQuietly, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS);
+        }
+        else
+            flusher = null;
+    }
+
+    /**
+     * Write the header row. The header must be the first row of the sheet
+     * @param columnNames the column names, in column order
+     */
+    public synchronized void writeHeader(List<String> columnNames) {
+
+        assertOpen();
+        if (nextRowNumber != 0)
+            throw new Error(String.format("Can not write a header to sheet %s of %s, the sheet already has rows", sheet.getSheetName(), file));
+
+        Row row = sheet.createRow(nextRowNumber++);
+        for (int i = 0; i < columnNames.size(); i++) {
+            row.createCell(i).setCellValue(columnNames.get(i));
+            columnIndexes.put(columnNames.get(i), i);
+        }
+        rowAppended();
+    }
+
+    /**
+     * Append a row to the sheet
+     * @param row Key=cellIndex, value=value to set in cell. Values can be String, Integer, Double, Long, Date or DateTime
+     */
+    public synchronized <T> void appendRow(Map<Integer, T> row) {
+
+        assertOpen();
+        Row newRow = sheet.createRow(nextRowNumber++);
+        for (Map.Entry<Integer, T> value : row.entrySet()) {
+            Cell cell = newRow.createCell(value.getKey());
+            try {
+                ExcelUtils.setCellValue(cell, value.getValue());
+            }
+            catch (IllegalArgumentException e) {
+                logger.error(String.format("Failed to set value: %s in column %d. Error: %s", value.getValue(), value.getKey(), e.getMessage()), e);
+                throw e;
+            }
+        }
+        rowAppended();
+    }
+
+    /**
+     * Append rows to the sheet
+     * @param rows list of rows, each row is a map of Key=cellIndex, value=value to set in cell
+     */
+    public synchronized <T> void appendRows(List<? extends Map<Integer, T>> rows) {
+        for (Map<Integer, T> row : rows)
+            appendRow(row);
+    }
+
+    /**
+     * Append a row to the sheet by the column names of the header row
+     * @param row Key=column name, value=value to set in cell
+     */
+    public synchronized <T> void appendRowByColumnName(Map<String, T> row) {
+
+        Map<Integer, T> rowByIndex = new HashMap<>();
+        for (Map.Entry<String, T> value : row.entrySet()) {
+            Integer columnIndex = columnIndexes.get(value.getKey());
+            if (columnIndex == null)
+                throw new Error(String.format("Column %s does not exist in sheet %s of %s", value.getKey(), sheet.getSheetName(), file));
+            rowByIndex.put(columnIndex, value.getValue());
+        }
+        appendRow(rowByIndex);
+    }
+
+    /**
+     * @return the number of rows appended in this session, including the header
+     */
+    public synchronized long getAppendedRows() {
+        return appendedRows;
+    }
+
+    /**
+     * Write the appended rows to the file. A streaming workbook of a new file is written on close only,
+     * so for it this method does nothing
+     */
+    public synchronized void flush() {
+
+        assertOpen();
+        if (streaming || unflushedRows == 0)
+            return;
+        write();
+    }
+
+    /**
+     * Write the appended rows to the file and release the workbook
+     */
+    @Override
+    public synchronized void close() {
+
+        if (closed)
+            return;
+        closed = true;
+
+        if (flusher != null)
+            flusher.shutdownNow();
+
+        try {
+            if (unflushedRows > 0 || streaming)
+                write();
+            logger.info(String.format("Excel appender of %s closed: %d rows appended, %d file writes", file, appendedRows, writes));
+        }
+        finally {
+            try {
+                if (streaming)
+                    ((SXSSFWorkbook) workbook).dispose();
+                workbook.close();
+            }
+            catch (IOException e) {
+                logger.error("couldn't close the workbook. see error: " + e.getMessage());
+            }
+        }
+    }
+
+    private Workbook openWorkbook() throws IOException {
+
+        if (streaming)
+            return new SXSSFWorkbook(STREAMING_WINDOW_SIZE);
+        if (!file.exists())
+            return new XSSFWorkbook();
+
+        //the whole file is read into the workbook, so the file is not locked while the session is open
+        try (InputStream inputStream = new FileInputStream(file)) {
+            return WorkbookFactory.create(inputStream);
+        }
+    }
+
+    private <S> Sheet getOrCreateSheet(S sheet) {
+
+        if (sheet instanceof Integer) {
+            int sheetIndex = (Integer) sheet;
+            if (sheetIndex < workbook.getNumberOfSheets())
+                return workbook.getSheetAt(sheetIndex);
+            if (sheetIndex == 0 && workbook.getNumberOfSheets() == 0)
+                return workbook.createSheet("Sheet1");
+            throw new Error(String.format("Sheet %d does not exist in %s", sheetIndex, file));
+        }
+
+        Sheet sheetObject = workbook.getSheet((String) sheet);
+        return sheetObject != null ? sheetObject : workbook.createSheet((String) sheet);
+    }
+
+    private void readHeader() {
+        for (Cell cell : sheet.getRow(0))
+            columnIndexes.put(ExcelStreamReader.getCellText(cell), cell.getColumnIndex());
+    }
+
+    private void rowAppended() {
+        appendedRows++;
+        unflushedRows++;
+        if (flushEveryRows > 0 && unflushedRows >= flushEveryRows)
+            flush();
+    }
+
+    private void flushQuietly() {
+        try {
+            synchronized (this) {
+                if (!closed)
+                    flush();
+            }
+        }
+        catch (Throwable e) {
+            logger.error(String.format("Failed to write excel file %s. Error: %s", file, e.getMessage()), e);
+        }
+    }
+
+    /**
+     * Write the workbook to a temp file in the same folder and move it over the file, so the file is always complete
+     */
+    private void write() {
+
+        Path target = file.toPath();
+        Path tempFile = null;
+        try {
+            File folder = file.getParentFile();
+            if (folder != null && !folder.exists())
+                folder.mkdirs();
+
+            tempFile = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                workbook.write(outputStream);
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            unflushedRows = 0;
+            writes++;
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to write excel file %s<br>Error: %s<br><br>", file, e.getMessage()));
+        }
+        finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException e) {
+                    logger.error("couldn't delete the temp file. see error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void assertOpen() {
+        if (closed)
+            throw new IllegalStateException("The excel appender of " + file + " is closed");
+    }
+}
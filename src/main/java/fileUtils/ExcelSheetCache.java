@@ -0,0 +1,270 @@
+package fileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import propertyUtils.Property;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Singleton thread safe cache of parsed excel sheets, for data driven tests that look up rows of the same
+ * workbook many times.<br>
+ * Sheets are keyed by the file path and sheet index, and are parsed again when the file modification time or size changed.
+ * The least recently used sheets are evicted once the estimated memory of the cached sheets exceeds the max size.<br>
+ * Every cached sheet builds a hash index of a column the first time the column is searched, so the next
+ * lookups of the column do not scan the rows.
+ * <br>
+ * The cache is configured with the key excel_sheet_cache_max_mb of zim.global.properties
+ *
+ * @since 17.10.2026
+ */
+public class ExcelSheetCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelSheetCache.class);
+    private static ExcelSheetCache instance = null;
+
+    //access ordered, the least recently used sheet first
+    private final LinkedHashMap<String, CachedSheet> sheets = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long usedBytes = 0;
+    private volatile long maxBytes;
+
+    private ExcelSheetCache() {
+        Property property = getGlobalPropertyEntity();
+        maxBytes = property.getIntProperty("excel_sheet_cache_max_mb", 256) * 1024L * 1024L;
+    }
+
+    /**
+     * Get the cache instance
+     * @return the sheet cache shared by all threads
+     * @since 17.10.2026
+     */
+    public static synchronized ExcelSheetCache getCache() {
+        if (instance == null)
+            instance = new ExcelSheetCache();
+        return instance;
+    }
+
+    /**
+     * Return the parsed sheet from the cache, or parse it if it is not cached or the file changed since it was parsed
+     * @param filePath path to excel
+     * @param sheetIndex sheet index
+     * @return the parsed sheet
+     * @since 17.10.2026
+     */
+    public CachedSheet getSheet(String filePath, int sheetIndex) {
+
+        File file = new File(filePath).getAbsoluteFile();
+        String key = file.getPath() + "#" + sheetIndex;
+        long lastModified = file.lastModified();
+        long size = file.length();
+
+        synchronized (this) {
+            CachedSheet sheet = sheets.get(key);
+            if (sheet != null && sheet.lastModified == lastModified && sheet.fileSize == size) {
+                hits.incrementAndGet();
+                return sheet;
+            }
+        }
+
+        misses.incrementAndGet();
+        CachedSheet sheet = parse(file, sheetIndex, lastModified, size);
+
+        synchronized (this) {
+            CachedSheet replaced = sheets.put(key, sheet);
+            if (replaced != null)
+                usedBytes -= replaced.estimatedBytes;
+            usedBytes += sheet.estimatedBytes;
+            evict();
+        }
+        return sheet;
+    }
+
+    /**
+     * Remove all the cached sheets
+     * @since 17.10.2026
+     */
+    public synchronized void clear() {
+        sheets.clear();
+        usedBytes = 0;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized int getSize() {
+        return sheets.size();
+    }
+
+    public synchronized long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Set the max estimated memory of the cached sheets
+     * @param maxMegabytes max memory in MB
+     */
+    public synchronized void setMaxMegabytes(int maxMegabytes) {
+        this.maxBytes = maxMegabytes * 1024L * 1024L;
+        evict();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Excel sheet cache: sheets: %d, used MB: %.1f, hits: %d, misses: %d, evictions: %d",
+                getSize(), getUsedBytes() / 1024.0 / 1024.0, getHits(), getMisses(), getEvictions());
+    }
+
+    /**
+     * Remove the least recently used sheets until the cache fits its max size. The last added sheet is kept
+     * even if it is larger than the max size by itself
+     */
+    private void evict() {
+        Iterator<CachedSheet> iterator = sheets.values().iterator();
+        while (usedBytes > maxBytes && sheets.size() > 1 && iterator.hasNext()) {
+            usedBytes -= iterator.next().estimatedBytes;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static CachedSheet parse(File file, int sheetIndex, long lastModified, long size) {
+
+        long startNanos = System.nanoTime();
+        try (ExcelStreamReader reader = new ExcelStreamReader(file.getPath(), sheetIndex)) {
+            String[] headers = reader.getHeaders();
+            List<Map<String, Object>> rows = new ArrayList<>();
+            long estimatedBytes = 0;
+            while (reader.hasNext()) {
+                Map<String, Object> row = reader.next();
+                rows.add(Collections.unmodifiableMap(row));
+                //map entry + string object overhead per cell, 2 bytes per char
+                for (Object value : row.values())
+                    estimatedBytes += 80 + 2L * value.toString().length();
+            }
+
+            logger.info(String.format("Parsed excel sheet %s#%d: %d rows in %.2f sec", file, sheetIndex, rows.size(), (System.nanoTime() - startNanos) / 1_000_000_000.0));
+            return new CachedSheet(headers, rows, lastModified, size, estimatedBytes);
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read excel file %s<br>Error: %s", file, e.getMessage()));
+        }
+    }
+
+    /**
+     * A parsed sheet: the rows as maps of header to value, and the column indexes built so far.
+     * The cached rows are shared and can not be modified, the lookup methods return copies
+     */
+    public static class CachedSheet {
+        private final String[] headers;
+        private final List<Map<String, Object>> rows;
+        private final long lastModified;
+        private final long fileSize;
+        private final long estimatedBytes;
+        //column name -> case folded value -> row numbers
+        private final ConcurrentHashMap<String, Map<String, int[]>> indexes = new ConcurrentHashMap<>();
+
+        private CachedSheet(String[] headers, List<Map<String, Object>> rows, long lastModified, long fileSize, long estimatedBytes) {
+            this.headers = headers;
+            this.rows = Collections.unmodifiableList(rows);
+            this.lastModified = lastModified;
+            this.fileSize = fileSize;
+            this.estimatedBytes = estimatedBytes;
+        }
+
+        public String[] getHeaders() {
+            return headers.clone();
+        }
+
+        /**
+         * @return the rows of the sheet. The rows are shared by all the callers and can not be modified
+         */
+        public List<Map<String, Object>> getRows() {
+            return rows;
+        }
+
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        /**
+         * Return copies of the rows that have the value under the column. The column index is built on the first lookup of the column
+         * @param columnName the column name
+         * @param columnValue the value to search
+         * @param ignoreCase true to compare the values ignoring case, like String.equalsIgnoreCase
+         * @param firstOnly true to return the first matching row only
+         * @return the matching rows, in sheet order. Empty if none matched
+         * @throws IllegalArgumentException if the sheet has no such column
+         */
+        public List<Map<String, Object>> findRows(String columnName, String columnValue, boolean ignoreCase, boolean firstOnly) {
+
+            if (columnValue == null)
+                return new ArrayList<>();
+
+            Map<String, int[]> index = indexes.computeIfAbsent(columnName, this::buildIndex);
+            int[] rowNumbers = index.get(foldCase(columnValue));
+            if (rowNumbers == null)
+                return new ArrayList<>();
+
+            List<Map<String, Object>> result = new ArrayList<>();
+            for (int rowNumber : rowNumbers) {
+                Map<String, Object> row = rows.get(rowNumber);
+                String value = row.get(columnName).toString();
+                if (ignoreCase ? value.equalsIgnoreCase(columnValue) : value.equals(columnValue)) {
+                    result.add(new HashMap<>(row));
+                    if (firstOnly)
+                        break;
+                }
+            }
+            return result;
+        }
+
+        private Map<String, int[]> buildIndex(String columnName) {
+            if (!rows.isEmpty() && !rows.get(0).containsKey(columnName))
+                throw new IllegalArgumentException("Column " + columnName + " does not exist in the sheet");
+
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < rows.size(); i++)
+                positions.computeIfAbsent(foldCase(rows.get(i).get(columnName).toString()), key -> new ArrayList<>(1)).add(i);
+
+            Map<String, int[]> index = new HashMap<>(positions.size() * 4 / 3 + 1);
+            for (Map.Entry<String, List<Integer>> entry : positions.entrySet())
+                index.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+            return index;
+        }
+
+        /**
+         * Fold the case of a value the way String.equalsIgnoreCase compares characters, so values that are equal
+         * ignoring case have the same folded value
+         */
+        private static String foldCase(String value) {
+            char[] chars = value.toCharArray();
+            for (int i = 0; i < chars.length; i++)
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            return new String(chars);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package fileUtils;
+
+import com.github.pjfanning.xlsx.SharedStringsImplementationType;
+import com.github.pjfanning.xlsx.StreamingReader;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.LocaleUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming reader of an xlsx sheet, based on excel-streaming-reader.<br>
+ * Rows are parsed from the file while iterating, keeping only a small window of rows in memory,
+ * instead of loading the whole workbook DOM. The first row of the sheet is the header, and every following row
+ * is returned as a map of header to value, with the same values as ExcelUtils.readExcel.<br>
+ * The reader must be closed, stopping early (i.e. on the first match) closes the file without parsing the rest of the sheet.
+ * <pre>
+ * {@code
+ *     try (ExcelStreamReader reader = new ExcelStreamReader(filePath, 0)) {
+ *         while (reader.hasNext()) {
+ *             Map<String, Object> row = reader.next();
+ *             ...
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class ExcelStreamReader implements Iterator<Map<String, Object>>, AutoCloseable {
+
+    private static final int ROW_CACHE_SIZE = 100;
+    private static final int BUFFER_SIZE = 4096;
+
+    private final Workbook workbook;
+    private final Iterator<Row> rows;
+    private final String[] headers;
+    private Map<String, Object> nextRow;
+    private int rowNumber = 0;
+
+    /**
+     * Open a sheet of an xlsx file and read its header row
+     * @param filePath path of the xlsx file
+     * @param sheetIndex sheet index
+     * @throws IOException if the file could not be opened
+     */
+    public ExcelStreamReader(String filePath, int sheetIndex) throws IOException {
+
+        workbook = StreamingReader.builder()
+                .rowCacheSize(ROW_CACHE_SIZE)
+                .bufferSize(BUFFER_SIZE)
+                .setSharedStringsImplementationType(SharedStringsImplementationType.TEMP_FILE_BACKED)
+                .setEncryptSstTempFile(true)
+                .open(new File(filePath));
+
+        try {
+            Sheet sheet = workbook.getSheetAt(sheetIndex);
+            rows = sheet.iterator();
+
+            Row headerRow = rows.hasNext() ? rows.next() : null;
+            headers = new String[headerRow == null ? 0 : Math.max(0, headerRow.getLastCellNum())];
+            for (int i = 0; i < headers.length; i++) {
+                Cell cell = headerRow.getCell(i);
+                headers[i] = cell == null ? "" : cell.getStringCellValue();
+            }
+        }
+        catch (RuntimeException e) {
+            workbook.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the column names of the header row
+     */
+    public String[] getHeaders() {
+        return headers.clone();
+    }
+
+    /**
+     * @return the number of data rows read so far
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && rows.hasNext())
+            nextRow = readRow(rows.next());
+        return nextRow != null;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        Map<String, Object> row = nextRow;
+        nextRow = null;
+        rowNumber++;
+        return row;
+    }
+
+    /**
+     * Return the remaining rows as a stream. Closing the stream closes the reader
+     * @return stream of the rows
+     */
+    public Stream<Map<String, Object>> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        try {
+            workbook.close();
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to close the excel file.<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
+
+    private Map<String, Object> readRow(Row row) {
+        Map<String, Object> values = new LinkedHashMap<>(headers.length * 4 / 3 + 1);
+        for (int i = 0; i < headers.length; i++) {
+            Cell cell = row.getCell(i);
+            values.put(headers[i], cell == null ? "" : getCellText(cell));
+        }
+        return values;
+    }
+
+    /**
+     * Return the text of a cell as Cell.toString() of the XSSF workbook returns it, so the streamed values
+     * are the same as the values of ExcelUtils.readExcel
+     * @param cell the cell
+     * @return the cell text
+     */
+    static String getCellText(Cell cell) {
+        switch (cell.getCellType()) {
+            case NUMERIC:
+                if (DateUtil.isCellDateFormatted(cell)) {
+                    SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MMM-yyyy", LocaleUtil.getUserLocale());
+                    dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+                    return dateFormat.format(cell.getDateCellValue());
+                }
+                return Double.toString(cell.getNumericCellValue());
+            case STRING:
+                return cell.getRichStringCellValue().toString();
+            case FORMULA:
+                return cell.getCellFormula();
+            case BOOLEAN:
+                return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+            default:
+                return "";
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package fileUtils;
+
+import org.apache.poi.EncryptedDocumentException;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Batch of cell updates and row deletions of an existing workbook, applied in one load and one save of the file.<br>
+ * The changes are collected in memory and applied in order on commit, while the file is locked:
+ * threads of this JVM wait on a lock per file, and other processes wait on a lock of a lock file next to the excel file
+ * (.&lt;file name&gt;.lock). So parallel tests that update the same data sheet apply their changes one after the other,
+ * each on the latest content of the file.<br>
+ * A commit also detects that the file was changed by someone else since the transaction began. By default the changes are
+ * applied on the new content and a warning is logged, use failOnConcurrentModification(true) to fail the commit instead.
+ * <pre>
+ * {@code
+ *     try (ExcelTransaction transaction = ExcelUtils.beginTransaction(filePath)) {
+ *         transaction.updateCell(0, 5, 2, "Used")
+ *                 .updateCell(0, 6, 2, "Used")
+ *                 .deleteLastRow("Bookings");
+ *         transaction.commit();
+ *     }
+ * }
+ * </pre>
+ * The lock wait time is configured with the key excel_lock_timeout of zim.global.properties
+ *
+ * @since 17.10.2026
+ */
+public class ExcelTransaction implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelTransaction.class);
+    private static final ConcurrentHashMap<String, ReentrantLock> fileLocks = new ConcurrentHashMap<>();
+    private static final long LOCK_RETRY_MILLIS = 50;
+
+    private final File file;
+    private final long beginLastModified;
+    private final long beginSize;
+    private final int lockTimeoutSeconds;
+    private final List<Consumer<Workbook>> changes = new ArrayList<>();
+    private boolean failOnConcurrentModification = false;
+    private boolean committed = false;
+
+    /**
+     * Begin a transaction on an existing excel file
+     * @param excelFilePath path to excel
+     */
+    public ExcelTransaction(String excelFilePath) {
+
+        file = new File(excelFilePath).getAbsoluteFile();
+        if (!file.exists())
+            throw new Error(String.format("Excel file '%s' cannot be found", excelFilePath));
+
+        beginLastModified = file.lastModified();
+        beginSize = file.length();
+        lockTimeoutSeconds = getGlobalPropertyEntity().getIntProperty("excel_lock_timeout", 60);
+    }
+
+    /**
+     * Fail the commit with ConcurrentModificationException if the file was changed since the transaction began,
+     * instead of applying the changes on the new content
+     * @param failOnConcurrentModification true to fail on concurrent modification
+     * @return this transaction
+     */
+    public synchronized ExcelTransaction failOnConcurrentModification(boolean failOnConcurrentModification) {
+        this.failOnConcurrentModification = failOnConcurrentModification;
+        return this;
+    }
+
+    /**
+     * Set the value of a cell. The row and cell are created if they do not exist
+     * @param sheet sheet name (String), sheet number (int) or a Sheet object of the sheet with the same name
+     * @param rowNumber row index
+     * @param columnNumber column index
+     * @param value value to set, String, Integer, Double, Long, Date or DateTime
+     * @return this transaction
+     */
+    public synchronized <S, T> ExcelTransaction updateCell(S sheet, int rowNumber, int columnNumber, T value) {
+
+        addChange(workbook -> {
+            Sheet sheetObject = getSheetObject(workbook, sheet);
+            Row row = sheetObject.getRow(rowNumber);
+            if (row == null)
+                row = sheetObject.createRow(rowNumber);
+            Cell cell = row.getCell(columnNumber);
+            if (cell == null)
+                cell = row.createCell(columnNumber);
+            ExcelUtils.setCellValue(cell, value);
+        });
+        return this;
+    }
+
+    /**
+     * Delete a row's content, leaving the row blank
+     * @param sheet sheet name (String), sheet number (int) or a Sheet object of the sheet with the same name
+     * @param rowIndexToDelete index of row to delete
+     * @return this transaction
+     */
+    public synchronized <S> ExcelTransaction deleteRowContent(S sheet, int rowIndexToDelete) {
+
+        if (rowIndexToDelete < 0)
+            throw new Error(String.format("Cannot delete a row in index %s from excel sheet", rowIndexToDelete));
+
+        addChange(workbook -> {
+            Sheet sheetObject = getSheetObject(workbook, sheet);
+            if (sheetObject.getRow(rowIndexToDelete) != null)
+                sheetObject.removeRow(sheetObject.getRow(rowIndexToDelete));
+        });
+        return this;
+    }
+
+    /**
+     * Delete the last row of the sheet, as it is when this change is applied, leaving the row blank
+     * @param sheet sheet name (String), sheet number (int) or a Sheet object of the sheet with the same name
+     * @return this transaction
+     */
+    public synchronized <S> ExcelTransaction deleteLastRow(S sheet) {
+
+        addChange(workbook -> {
+            Sheet sheetObject = getSheetObject(workbook, sheet);
+            int rowIndexToDelete = sheetObject.getLastRowNum();
+            if (rowIndexToDelete >= 0 && sheetObject.getRow(rowIndexToDelete) != null)
+                sheetObject.removeRow(sheetObject.getRow(rowIndexToDelete));
+        });
+        return this;
+    }
+
+    /**
+     * @return the number of changes collected and not committed yet
+     */
+    public synchronized int getPendingChanges() {
+        return changes.size();
+    }
+
+    /**
+     * Lock the file, load it, apply all the changes in order and save it once
+     * @throws ConcurrentModificationException if failOnConcurrentModification is set and the file was changed since the transaction began
+     */
+    public synchronized void commit() {
+
+        if (committed)
+            throw new IllegalStateException("The excel transaction of " + file + " is already committed");
+        if (changes.isEmpty()) {
+            committed = true;
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        ReentrantLock fileLock = fileLocks.computeIfAbsent(file.getPath(), path -> new ReentrantLock());
+        try {
+            if (!fileLock.tryLock(lockTimeoutSeconds, TimeUnit.SECONDS))
+                throw new Error(String.format("Excel file %s is locked by another thread for more than %d seconds", file, lockTimeoutSeconds));
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new Error(String.format("Interrupted while waiting for the lock of excel file %s", file));
+        }
+
+        try (FileChannel lockChannel = FileChannel.open(getLockFile(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = lockFile(lockChannel)) {
+
+            if (file.lastModified() != beginLastModified || file.length() != beginSize) {
+                if (failOnConcurrentModification)
+                    throw new ConcurrentModificationException(String.format("Excel file %s was changed since the transaction began", file));
+                logger.warn(String.format("Excel file %s was changed since the transaction began, applying %d changes on the new content", file, changes.size()));
+            }
+
+            Workbook workbook;
+            try (InputStream inputStream = Files.newInputStream(file.toPath())) {
+                workbook = WorkbookFactory.create(inputStream);
+            }
+            try {
+                for (Consumer<Workbook> change : changes)
+                    change.accept(workbook);
+                write(workbook);
+            }
+            finally {
+                workbook.close();
+            }
+
+            committed = true;
+            logger.info(String.format("Committed %d changes to excel file %s in %.2f sec", changes.size(), file, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+            changes.clear();
+        }
+        catch (IOException | EncryptedDocumentException e) {
+            throw new Error(String.format("Failed to update excel file %s<br>Error: %s<br><br>", file, e.getMessage()));
+        }
+        finally {
+            fileLock.unlock();
+        }
+    }
+
+    /**
+     * Discard the changes that were not committed
+     */
+    @Override
+    public synchronized void close() {
+        if (!committed && !changes.isEmpty())
+            logger.warn(String.format("Excel transaction of %s closed without commit, %d changes discarded", file, changes.size()));
+        changes.clear();
+        committed = true;
+    }
+
+    private void addChange(Consumer<Workbook> change) {
+        if (committed)
+            throw new IllegalStateException("The excel transaction of " + file + " is already committed");
+        changes.add(change);
+    }
+
+    private Path getLockFile() {
+        return file.toPath().resolveSibling("." + file.getName() + ".lock");
+    }
+
+    /**
+     * Wait for the lock of the lock file, held by other processes updating the same excel file
+     */
+    private FileLock lockFile(FileChannel lockChannel) throws IOException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(lockTimeoutSeconds);
+        while (true) {
+            FileLock lock = lockChannel.tryLock();
+            if (lock != null)
+                return lock;
+            if (System.nanoTime() > deadline)
+                throw new Error(String.format("Excel file %s is locked by another process for more than %d seconds", file, lockTimeoutSeconds));
+            try {
+                Thread.sleep(LOCK_RETRY_MILLIS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new Error(String.format("Interrupted while waiting for the lock of excel file %s", file));
+            }
+        }
+    }
+
+    /**
+     * Write the workbook to a temp file in the same folder and move it over the file, so the file is always complete
+     */
+    private void write(Workbook workbook) throws IOException {
+
+        Path target = file.toPath();
+        Path tempFile = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                workbook.write(outputStream);
+            }
+            try {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static <S> Sheet getSheetObject(Workbook workbook, S sheet) {
+
+        Sheet sheetObject;
+        if (sheet instanceof Sheet)
+            sheetObject = workbook.getSheet(((Sheet) sheet).getSheetName());
+        else if (sheet instanceof String)
+            sheetObject = workbook.getSheet((String) sheet);
+        else if (sheet instanceof Integer)
+            sheetObject = workbook.getSheetAt((int) sheet);
+        else
+            throw new Error("Sheet type received in ExcelTransaction must be of types: String, int or Sheet");
+
+        if (sheetObject == null)
+            throw new Error(String.format("Sheet %s does not exist in the excel file", sheet));
+        return sheetObject;
+    }
+}
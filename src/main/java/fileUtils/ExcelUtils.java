@@ -204,41 +204,14 @@ public class ExcelUtils {
      */
     public static void updateSpecificCellInExcelFile(String updatedValue, String excelFilePath, int sheetNumber, int rowNumber, int columnNumber) {
 
-        FileInputStream inputStream;
-        Workbook workbook = null;
-        FileOutputStream outputStream = null;
-        
-        try {
-            inputStream = new FileInputStream(excelFilePath);
-            workbook = WorkbookFactory.create(inputStream);
-
-            Sheet sheet = workbook.getSheetAt(sheetNumber);
-
-            Cell cell = sheet.getRow(rowNumber).getCell(columnNumber);
-            cell.setCellValue(updatedValue);
-
-            inputStream.close();
-
-            outputStream = new FileOutputStream(excelFilePath);
-            workbook.write(outputStream);
-
-        } catch (IOException | EncryptedDocumentException ex) {
+        //a single change transaction, so the update takes the file lock and replaces the file atomically
+        try (ExcelTransaction transaction = beginTransaction(excelFilePath)) {
+            transaction.updateCell(sheetNumber, rowNumber, columnNumber, updatedValue).commit();
+        }
+        catch (Error ex) {
             logger.error(ex.getMessage(),ex);
             ReportInstanceManager.getCurrentTestReport().log(LogStatus.ERROR, "Error with excel file " + excelFilePath + "</br>" + ex.getMessage());
         }
-        finally {
-            try {
-                //close workbook and outputStream
-                if (workbook != null) {
-                    workbook.close();
-                }
-                if (outputStream != null) {
-                    outputStream.close();
-                }
-            } catch (Exception e) {
-                logger.error("couldn't close the file. see error: " + e.getMessage());
-            }
-        }
     }
 
     /**
@@ -253,49 +226,14 @@ public class ExcelUtils {
         if(rowIndexToDelete < 0)
             throw new Error(String.format("Cannot delete a row in index %s from excel sheet", rowIndexToDelete));
 
-        FileInputStream fileInputStream;
-        Workbook workbook = null;
-        FileOutputStream fileOutputStream = null;
-
-        try {
-            File file = new File(excelFilePath);
-            if(!file.exists()) {
-                throw new Error(String.format("Excel file '%s' cannot be found", excelFilePath));
-            }
-            fileInputStream = new FileInputStream(excelFilePath);
-            workbook = new XSSFWorkbook();
-            workbook = WorkbookFactory.create(fileInputStream);
-            Sheet sheetObj = getSheetObject(workbook, sheet);
-
-            // total no. of rows
-            int totalRows = sheetObj.getLastRowNum();
-            System.out.println("Total no of rows : " + totalRows);
-
-            // remove values from third row but keep third row blank
-            if (sheetObj.getRow(rowIndexToDelete) != null) {
-                sheetObj.removeRow(sheetObj.getRow(rowIndexToDelete));
-            }
-
-            fileOutputStream = new FileOutputStream(excelFilePath);
-            workbook.write(fileOutputStream);
-
-        } catch (Throwable ex) {
+        //a single change transaction, so the delete takes the file lock and replaces the file atomically
+        try (ExcelTransaction transaction = beginTransaction(excelFilePath)) {
+            transaction.deleteRowContent(sheet, rowIndexToDelete).commit();
+        }
+        catch (Throwable ex) {
             logger.error(ex.getMessage(), ex);
             ReportInstanceManager.getCurrentTestReport().log(LogStatus.ERROR, "Error with excel file " + excelFilePath + "</br>" + ex.getMessage());
         }
-        finally {
-            try {
-                //close workbook and outputStream
-                if (workbook != null) {
-                    workbook.close();
-                }
-                if (fileOutputStream != null) {
-                    fileOutputStream.close();
-                }
-            } catch (Exception e) {
-                logger.error("couldn't close the Excel file. Error: " + e.getMessage());
-            }
-        }
     }
 
     /**
@@ -306,52 +244,27 @@ public class ExcelUtils {
      */
     public static <S> void deleteLastRow(String excelFilePath, S sheet){
 
-        FileInputStream fileInputStream;
-        Workbook workbook = null;
-        FileOutputStream fileOutputStream = null;
-
-        try {
-            File file = new File(excelFilePath);
-            if(!file.exists()) {
-                throw new Error(String.format("Excel file '%s' cannot be found", excelFilePath));
-            }
-            fileInputStream = new FileInputStream(excelFilePath);
-            workbook = new XSSFWorkbook();
-            workbook = new XSSFWorkbook(fileInputStream);
-           // workbook = WorkbookFactory.create(fileInputStream);
-            Sheet sheetObj = getSheetObject(workbook, sheet);
-
-            sheetObj.setSelected(true);
-
-            int rowIndexToDelete = sheetObj.getLastRowNum();
-
-            // remove values from third row but keep third row blank
-            if (sheetObj.getRow(rowIndexToDelete) != null) {
-                sheetObj.removeRow(sheetObj.getRow(rowIndexToDelete));
-            }
-
-            rowIndexToDelete = sheetObj.getLastRowNum();
-
-            fileOutputStream = new FileOutputStream(excelFilePath);
-            workbook.write(fileOutputStream);
-
-        } catch (Throwable ex) {
+        //a single change transaction, so the delete takes the file lock and replaces the file atomically
+        try (ExcelTransaction transaction = beginTransaction(excelFilePath)) {
+            transaction.deleteLastRow(sheet).commit();
+        }
+        catch (Throwable ex) {
             logger.error(ex.getMessage(), ex);
             ReportInstanceManager.getCurrentTestReport().log(LogStatus.ERROR, "Error with excel file " + excelFilePath + "</br>" + ex.getMessage());
         }
-        finally {
-            try {
-                //close workbook and outputStream
-                if (workbook != null) {
-                    workbook.close();
-                }
-                if (fileOutputStream != null) {
-                    fileOutputStream.close();
-                }
-            } catch (Exception e) {
-                logger.error("couldn't close the Excel file. Error: " + e.getMessage());
-            }
-        }
+    }
+
+    /**
+     * Begin a transaction that collects cell updates and row deletions of an existing Excel file,
+     * and applies them all in one load and one save of the file, under a file lock.
+     * Use it instead of calling updateSpecificCellInExcelFile / deleteRowContent / deleteLastRow many times,
+     * each of them is a transaction of a single change
+     * @param excelFilePath Excel file
+     * @return the transaction, commit() applies the changes
+     * @since 17.10.2026
+     */
+    public static ExcelTransaction beginTransaction(String excelFilePath) {
+        return new ExcelTransaction(excelFilePath);
     }
 
     private static <S> Sheet getSheetObject(Workbook workbook, S sheet){
@@ -415,21 +328,7 @@ public class ExcelUtils {
                     Object updatedValue = valuesToUpdate.getValue();
 
                     try {
-
-                        if (updatedValue instanceof String)
-                            cell.setCellValue((String) updatedValue);
-                        else if (updatedValue instanceof Integer)
-                            cell.setCellValue((Integer) updatedValue);
-                        else if (updatedValue instanceof Double)
-                            cell.setCellValue((Double) updatedValue);
-                        else if (updatedValue instanceof Long) {
-                            Long l = Long.valueOf(updatedValue.toString());
-                            double d = l.doubleValue();
-                            cell.setCellValue(d);
-                        } else if (updatedValue instanceof Date)
-                            cell.setCellValue((Date) updatedValue);
-                        else if (updatedValue instanceof DateTime)
-                            cell.setCellValue(((DateTime) updatedValue).getDateObject());
+                        setCellValue(cell, updatedValue);
                     }
                     catch(IllegalArgumentException eex){
                         logger.error(String.format("Failed to set value: %s in column %d. Error: %s", updatedValue, columnNumber, eex.getMessage()), eex);
@@ -462,6 +361,31 @@ public class ExcelUtils {
         }
     }
 
+    /**
+     * Set the value of a cell by the value type: String, Integer, Double, Long, Date or DateTime.
+     * Values of other types are ignored
+     * @param cell the cell
+     * @param value the value to set
+     * @since 17.10.2026
+     */
+    static void setCellValue(Cell cell, Object value) {
+
+        if (value instanceof String)
+            cell.setCellValue((String) value);
+        else if (value instanceof Integer)
+            cell.setCellValue((Integer) value);
+        else if (value instanceof Double)
+            cell.setCellValue((Double) value);
+        else if (value instanceof Long) {
+            Long l = Long.valueOf(value.toString());
+            double d = l.doubleValue();
+            cell.setCellValue(d);
+        } else if (value instanceof Date)
+            cell.setCellValue((Date) value);
+        else if (value instanceof DateTime)
+            cell.setCellValue(((DateTime) value).getDateObject());
+    }
+
     /**
      * add new rows to Excel, based on file name, sheet, and  cells and values HashMap.
      * @param excelFilePath Excel file
@@ -856,6 +780,7 @@ public class ExcelUtils {
     }
     /**
      * Get the first excel row that has the expected value under the column name
+     * The sheet is taken from the ExcelSheetCache and the column is searched by its index, so repeated lookups do not parse the file again
      * @param filePath path to excel
      * @param sheetIndex sheet index
      * @param columnName the desired column name to search under
@@ -866,9 +791,9 @@ public class ExcelUtils {
      */
     public static Map<String, Object> getRowByColumnValue(String filePath, int sheetIndex, String columnName, String columnValue) {
 
-        List<Map<String, Object>> excelDataList = readExcel(filePath, sheetIndex);
         try {
-            return excelDataList.stream().filter(x -> x.get(columnName).toString().equalsIgnoreCase(columnValue)).findFirst().orElse(null);
+            List<Map<String, Object>> rows = ExcelSheetCache.getCache().getSheet(filePath, sheetIndex).findRows(columnName, columnValue, true, true);
+            return rows.isEmpty() ? null : rows.get(0);
         }
         catch(Exception e)
         {
@@ -878,6 +803,7 @@ public class ExcelUtils {
 
     /**
      * Get All excel rows that has the expected value under the column name
+     * The sheet is taken from the ExcelSheetCache and the column is searched by its index, so repeated lookups do not parse the file again
      * @param filePath path to excel
      * @param sheetIndex sheet index
      * @param columnName the desired column name to search under
@@ -887,13 +813,112 @@ public class ExcelUtils {
      * @since 05.07.2023
      */
     public static List<Map<String, Object>> getAllRowsByColumnValue(String filePath, int sheetIndex, String columnName, String columnValue) {
-        List<Map<String, Object>> excelDataList = readExcel(filePath, sheetIndex);
+        ExcelSheetCache.CachedSheet sheet = ExcelSheetCache.getCache().getSheet(filePath, sheetIndex);
         try {
-            return  excelDataList.stream()
-                    .filter(row -> row.containsKey(columnName) && row.get(columnName).equals(columnValue))
-                    .collect(Collectors.toList());
+            if (!Arrays.asList(sheet.getHeaders()).contains(columnName))
+                return new ArrayList<>();
+            return sheet.findRows(columnName, columnValue, false, false);
         } catch (Exception var6) {
             throw new Error(String.format("Error when trying to return an excel row with column name '%s' and column value '%s'<br>Error: %s", columnName, columnValue, var6.getMessage()));
         }
     }
+
+    /**
+     * Stream the rows of an excel sheet as maps of header to value, parsing the file while the stream is consumed,
+     * so the memory is bounded by a small window of rows instead of the whole workbook.
+     * The stream must be closed (try-with-resources) to close the file
+     * @param filePath path to excel
+     * @param sheetIndex sheet index
+     * @return stream of the rows, with the same values as readExcel
+     * @since 17.10.2026
+     */
+    public static Stream<Map<String, Object>> streamExcel(String filePath, int sheetIndex) {
+        try {
+            return new ExcelStreamReader(filePath, sheetIndex).stream();
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to open excel file %s<br>Error: %s", filePath, e.getMessage()));
+        }
+    }
+
+    /**
+     * Streaming variant of readExcel, which does not load the workbook into memory
+     * @param filePath path to excel
+     * @param sheetIndex sheet index
+     * @return all lines of text from the sheet as a list of maps
+     * @since 17.10.2026
+     */
+    public static List<Map<String, Object>> readExcelStreaming(String filePath, int sheetIndex) {
+        try (Stream<Map<String, Object>> rows = streamExcel(filePath, sheetIndex)) {
+            return rows.collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Streaming variant of readExcelFile, which does not load the workbook into memory
+     * @param filePath path of Excel file
+     * @param sheetIndex sheet index to extract
+     * @return the header names as keys and the values of their column
+     * @since 17.10.2026
+     */
+    public static HashMap<String, ArrayList<String>> readExcelFileStreaming(String filePath, int sheetIndex) {
+
+        HashMap<String, ArrayList<String>> excelData = new HashMap<>();
+        try (ExcelStreamReader reader = new ExcelStreamReader(filePath, sheetIndex)) {
+            String[] headers = reader.getHeaders();
+            while (reader.hasNext()) {
+                Map<String, Object> row = reader.next();
+                for (String header : headers)
+                    excelData.computeIfAbsent(header, key -> new ArrayList<>()).add(row.get(header).toString());
+            }
+            //there are sheets that have no rows , so we enter a "" to null values
+            if (reader.getRowNumber() == 0)
+                for (String header : headers)
+                    excelData.put(header, new ArrayList<>(List.of("")));
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read excel file %s<br>Error: %s", filePath, e.getMessage()));
+        }
+        return excelData;
+    }
+
+    /**
+     * Streaming variant of getRowByColumnValue. Stops reading the file at the first matching row
+     * @param filePath path to excel
+     * @param sheetIndex sheet index
+     * @param columnName the desired column name to search under
+     * @param columnValue the desired value
+     * @return the first excel row that has the expected value under the column name, or null if there is none
+     * @since 17.10.2026
+     */
+    public static Map<String, Object> getRowByColumnValueStreaming(String filePath, int sheetIndex, String columnName, String columnValue) {
+
+        try (Stream<Map<String, Object>> rows = streamExcel(filePath, sheetIndex)) {
+            return rows.filter(x -> x.get(columnName).toString().equalsIgnoreCase(columnValue)).findFirst().orElse(null);
+        }
+        catch(Exception e)
+        {
+            throw new Error(String.format("Error when trying to return an excel row with column name '%s' and column value '%s'<br>Error: %s", columnName, columnValue, e.getMessage()));
+        }
+    }
+
+    /**
+     * Streaming variant of getAllRowsByColumnValue, which keeps only the matching rows in memory
+     * @param filePath path to excel
+     * @param sheetIndex sheet index
+     * @param columnName the desired column name to search under
+     * @param columnValue the desired value
+     * @return All excel rows that has the expected value under the column name
+     * @since 17.10.2026
+     */
+    public static List<Map<String, Object>> getAllRowsByColumnValueStreaming(String filePath, int sheetIndex, String columnName, String columnValue) {
+
+        try (Stream<Map<String, Object>> rows = streamExcel(filePath, sheetIndex)) {
+            return rows.filter(row -> row.containsKey(columnName) && row.get(columnName).equals(columnValue))
+                    .collect(Collectors.toList());
+        }
+        catch (Exception e) {
+            throw new Error(String.format("Error when trying to return an excel row with column name '%s' and column value '%s'<br>Error: %s", columnName, columnValue, e.getMessage()));
+        }
+    }
 }
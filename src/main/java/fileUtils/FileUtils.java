@@ -478,8 +478,8 @@ public class FileUtils
      * @since 21.02.2023
      */
     public static int  getContRowsInFile(String filePath) throws IOException {
-        Path path=Paths.get(filePath);
-        return (int)Files.lines(path).count();
+        //the line index is built once and saved in the temp folder, see LineIndex
+        return (int)LineIndex.forFile(filePath).getLineCount();
 
     }
 
@@ -0,0 +1,480 @@
+package fileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Index of the line start offsets of a text / csv file, for O(1) line count, random line and line number access
+ * without reading the file. Optional key indexes on csv columns find the lines that have a value without scanning the file.<br>
+ * The indexes are built on the first use and saved in sidecar files in the line-index folder of the temp folder, never in the
+ * data folder, so the files of the data folder are not changed (&lt;path id&gt;_&lt;file name&gt;.lidx and
+ * &lt;path id&gt;_&lt;file name&gt;.c&lt;column index&gt;.kidx, the path id is built from the absolute path of the data file).
+ * The sidecar files are memory mapped on the next runs. An index is built again, and its sidecar file replaced,
+ * when the data file size or modification time changed.<br>
+ * Lines end with \n, \r\n or \r, like BufferedReader.readLine. Csv values with line breaks inside quotes are not supported by the key indexes,
+ * every line is a row.
+ * <pre>
+ * {@code
+ *     LineIndex index = LineIndex.forFile(filePath);
+ *     String line = index.getRandomLine(1);
+ *     List<String> bookings = index.findLines("BookingNumber", bookingNumber, ',', true);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class LineIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(LineIndex.class);
+    private static final ConcurrentHashMap<String, LineIndex> indexes = new ConcurrentHashMap<>();
+
+    private static final int LINE_INDEX_MAGIC = 0x4C494458;
+    private static final int KEY_INDEX_MAGIC = 0x4B494458;
+    private static final int VERSION = 1;
+    //magic, version, source size, source modified time, entry count, key separator, key column
+    private static final int HEADER_SIZE = 40;
+    private static final int READ_BUFFER_SIZE = 1024 * 1024;
+
+    private final Path path;
+    private final long sourceSize;
+    private final long sourceModified;
+    //line start offsets, with the end of the file as the last entry
+    private final LongBuffer offsets;
+    private final ConcurrentHashMap<String, LongBuffer> keyIndexes = new ConcurrentHashMap<>();
+
+    private LineIndex(Path path, long sourceSize, long sourceModified, LongBuffer offsets) {
+        this.path = path;
+        this.sourceSize = sourceSize;
+        this.sourceModified = sourceModified;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Return the line index of a file: from the memory of this JVM, from the sidecar file, or built by a scan of the file
+     * if the file changed since the index was built
+     * @param filePath path of the data file
+     * @return the line index
+     */
+    public static LineIndex forFile(String filePath) {
+
+        Path path = Paths.get(filePath).toAbsolutePath().normalize();
+        File file = path.toFile();
+        if (!file.exists())
+            throw new Error(String.format("File '%s' cannot be found", filePath));
+
+        return indexes.compute(path.toString(), (key, index) -> {
+            long size = file.length();
+            long modified = file.lastModified();
+            if (index != null && index.sourceSize == size && index.sourceModified == modified)
+                return index;
+            return loadOrBuild(path, size, modified);
+        });
+    }
+
+    /**
+     * @return the number of lines in the file
+     */
+    public long getLineCount() {
+        return offsets.limit() - 1;
+    }
+
+    /**
+     * Return a line by its number, read with one positional read of the file
+     * @param lineNumber line number, the first line is 0
+     * @return the line without its line break, decoded as UTF-8
+     */
+    public String getLine(long lineNumber) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readLine(channel, lineNumber);
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read file %s<br>Error: %s<br><br>", path, e.getMessage()));
+        }
+    }
+
+    /**
+     * Return a random line
+     * @param fromLine the first line number that can be returned
+     * @return the line
+     */
+    public String getRandomLine(long fromLine) {
+        return getLine(getRandomLineNumber(fromLine));
+    }
+
+    /**
+     * Return a random line number
+     * @param fromLine the first line number that can be returned
+     * @return the line number, between fromLine and the last line
+     */
+    public long getRandomLineNumber(long fromLine) {
+        if (fromLine < 0 || fromLine >= getLineCount())
+            throw new IllegalArgumentException(String.format("Can't random a line of %s from line %d, the file has %d lines", path, fromLine, getLineCount()));
+        return ThreadLocalRandom.current().nextLong(fromLine, getLineCount());
+    }
+
+    /**
+     * Return the lines that have a value under a column, using the key index of the column.
+     * The column names are read from the first line, which is not searched
+     * @param columnName column name
+     * @param value value to search
+     * @param separator csv separator
+     * @param ignoreCase true to compare the values ignoring case
+     * @return the matching lines, in file order
+     */
+    public List<String> findLines(String columnName, String value, char separator, boolean ignoreCase) {
+
+        if (getLineCount() == 0)
+            throw new IllegalArgumentException("Column " + columnName + " does not exist in the empty file " + path);
+        int columnIndex = Arrays.asList(splitLine(getLine(0), separator)).indexOf(columnName);
+        if (columnIndex < 0)
+            throw new IllegalArgumentException("Column " + columnName + " does not exist in " + path);
+
+        List<String> lines = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (long lineNumber : findLineNumbers(channel, columnIndex, value, separator, ignoreCase))
+                lines.add(readLine(channel, lineNumber));
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read file %s<br>Error: %s<br><br>", path, e.getMessage()));
+        }
+        return lines;
+    }
+
+    /**
+     * Return the numbers of the lines that have a value under a column, using the key index of the column.
+     * The first line is the header and is not searched
+     * @param columnIndex column index
+     * @param value value to search
+     * @param separator csv separator
+     * @param ignoreCase true to compare the values ignoring case
+     * @return the matching line numbers, in file order
+     */
+    public List<Long> findLineNumbers(int columnIndex, String value, char separator, boolean ignoreCase) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return findLineNumbers(channel, columnIndex, value, separator, ignoreCase);
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read file %s<br>Error: %s<br><br>", path, e.getMessage()));
+        }
+    }
+
+    /**
+     * Remove the indexes of all the files from the memory. The sidecar files are kept
+     */
+    public static void clear() {
+        indexes.clear();
+    }
+
+    private List<Long> findLineNumbers(FileChannel channel, int columnIndex, String value, char separator, boolean ignoreCase) throws IOException {
+
+        LongBuffer slots = keyIndexes.computeIfAbsent(separator + "#" + columnIndex, key -> loadOrBuildKeyIndex(columnIndex, separator));
+        String foldedValue = foldCase(value);
+        int hash = foldedValue.hashCode();
+        int mask = slots.limit() - 1;
+
+        List<Long> lineNumbers = new ArrayList<>();
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            long entry = slots.get(slot);
+            if (entry == 0)
+                break;
+            if ((int) (entry >>> 32) != hash)
+                continue;
+            long lineNumber = (entry & 0xFFFFFFFFL) - 1;
+            String[] values = splitLine(readLine(channel, lineNumber), separator);
+            if (columnIndex < values.length && (ignoreCase ? values[columnIndex].equalsIgnoreCase(value) : values[columnIndex].equals(value)))
+                lineNumbers.add(lineNumber);
+        }
+        lineNumbers.sort(null);
+        return lineNumbers;
+    }
+
+    /**
+     * Read a line with one positional read of the file
+     */
+    private String readLine(FileChannel channel, long lineNumber) throws IOException {
+
+        if (lineNumber < 0 || lineNumber >= getLineCount())
+            throw new IndexOutOfBoundsException(String.format("Line %d is out of the lines range of %s: %d", lineNumber, path, getLineCount()));
+
+        long start = offsets.get((int) lineNumber);
+        long end = offsets.get((int) lineNumber + 1);
+        byte[] bytes = new byte[(int) (end - start)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining() && channel.read(buffer, start + buffer.position()) >= 0) {
+            //read until the buffer is full
+        }
+
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\n')
+            length--;
+        if (length > 0 && bytes[length - 1] == '\r')
+            length--;
+        int from = lineNumber == 0 && hasBom(bytes, length) ? 3 : 0;
+        return new String(bytes, from, length - from, StandardCharsets.UTF_8);
+    }
+
+    private static LineIndex loadOrBuild(Path path, long size, long modified) {
+
+        Path sidecar = getSidecarPath(path, ".lidx");
+        LongBuffer offsets = loadSidecar(sidecar, LINE_INDEX_MAGIC, size, modified, -1, -1);
+        if (offsets != null)
+            return new LineIndex(path, size, modified, offsets);
+
+        long startNanos = System.nanoTime();
+        try {
+            offsets = LongBuffer.wrap(scanLineOffsets(path));
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read file %s<br>Error: %s<br><br>", path, e.getMessage()));
+        }
+        logger.info(String.format("Built line index of %s: %d lines in %.2f sec", path, offsets.limit() - 1, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+
+        saveSidecar(sidecar, LINE_INDEX_MAGIC, size, modified, -1, -1, offsets);
+        return new LineIndex(path, size, modified, offsets);
+    }
+
+    private LongBuffer loadOrBuildKeyIndex(int columnIndex, char separator) {
+
+        Path sidecar = getSidecarPath(path, ".c" + columnIndex + (separator == ',' ? "" : "s" + (int) separator) + ".kidx");
+        LongBuffer slots = loadSidecar(sidecar, KEY_INDEX_MAGIC, sourceSize, sourceModified, separator, columnIndex);
+        if (slots != null)
+            return slots;
+
+        long startNanos = System.nanoTime();
+        long lineCount = getLineCount();
+        if (lineCount >= 1 << 29)
+            throw new Error(String.format("File %s has too many lines for a key index: %d", path, lineCount));
+
+        int capacity = Integer.highestOneBit((int) Math.max(16, Math.min(1 << 30, lineCount * 2)) - 1) << 1;
+        long[] table = new long[capacity];
+        int mask = capacity - 1;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            //the first line is the header
+            reader.readLine();
+            String line;
+            long lineNumber = 1;
+            while ((line = reader.readLine()) != null) {
+                String[] values = splitLine(line, separator);
+                if (columnIndex < values.length) {
+                    int hash = foldCase(values[columnIndex]).hashCode();
+                    int slot = mix(hash) & mask;
+                    while (table[slot] != 0)
+                        slot = (slot + 1) & mask;
+                    table[slot] = ((long) hash << 32) | (lineNumber + 1);
+                }
+                lineNumber++;
+            }
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read file %s<br>Error: %s<br><br>", path, e.getMessage()));
+        }
+        logger.info(String.format("Built key index of %s column %d in %.2f sec", path, columnIndex, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+
+        slots = LongBuffer.wrap(table);
+        saveSidecar(sidecar, KEY_INDEX_MAGIC, sourceSize, sourceModified, separator, columnIndex, slots);
+        return slots;
+    }
+
+    /**
+     * Scan the file and return the start offset of every line, and the file size as the last entry
+     */
+    private static long[] scanLineOffsets(Path path) throws IOException {
+
+        long[] result = new long[1024];
+        int count = 0;
+        result[count++] = 0;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+            long position = 0;
+            boolean previousCarriageReturn = false;
+            while (channel.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    //a \r that is not followed by \n ends the line before the current byte
+                    if (previousCarriageReturn && b != '\n') {
+                        if (count == result.length)
+                            result = Arrays.copyOf(result, count + (count >> 1));
+                        result[count++] = position;
+                    }
+                    previousCarriageReturn = b == '\r';
+                    position++;
+                    if (b == '\n') {
+                        if (count == result.length)
+                            result = Arrays.copyOf(result, count + (count >> 1));
+                        result[count++] = position;
+                    }
+                }
+                buffer.clear();
+            }
+            if (previousCarriageReturn) {
+                if (count == result.length)
+                    result = Arrays.copyOf(result, count + 1);
+                result[count++] = position;
+            }
+            //the last line without a line break
+            if (result[count - 1] != position) {
+                if (count == result.length)
+                    result = Arrays.copyOf(result, count + 1);
+                result[count++] = position;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Memory map a sidecar file, if it exists and was built from the current content of the data file
+     * @return the entries of the sidecar, or null if it must be built
+     */
+    private static LongBuffer loadSidecar(Path sidecar, int magic, long size, long modified, int separator, int columnIndex) {
+
+        if (!Files.exists(sidecar))
+            return null;
+
+        try (FileChannel channel = FileChannel.open(sidecar, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE)
+                return null;
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            header.flip();
+            if (header.getInt() != magic || header.getInt() != VERSION || header.getLong() != size || header.getLong() != modified)
+                return null;
+            long count = header.getLong();
+            if (header.getInt() != separator || header.getInt() != columnIndex || channel.size() != HEADER_SIZE + count * Long.BYTES)
+                return null;
+
+            return channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, count * Long.BYTES).asLongBuffer();
+        }
+        catch (IOException e) {
+            logger.warn(String.format("Failed to read the index file %s, building it again. Error: %s", sidecar, e.getMessage()));
+            return null;
+        }
+    }
+
+    /**
+     * Write a sidecar file. The index is still used from the memory if it could not be written
+     */
+    private static void saveSidecar(Path sidecar, int magic, long size, long modified, int separator, int columnIndex, LongBuffer entries) {
+
+        Path tempFile = null;
+        try {
+            Files.createDirectories(sidecar.getParent());
+            tempFile = Files.createTempFile(sidecar.getParent(), sidecar.getFileName().toString(), ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+                buffer.putInt(magic).putInt(VERSION).putLong(size).putLong(modified).putLong(entries.limit())
+                        .putInt(separator).putInt(columnIndex);
+                for (int i = 0; i < entries.limit(); i++) {
+                    if (!buffer.hasRemaining()) {
+                        outputStream.write(buffer.array(), 0, buffer.position());
+                        buffer.clear();
+                    }
+                    buffer.putLong(entries.get(i));
+                }
+                outputStream.write(buffer.array(), 0, buffer.position());
+            }
+            try {
+                Files.move(tempFile, sidecar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, sidecar, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e) {
+            logger.warn(String.format("Failed to write the index file %s, the index is kept in memory only. Error: %s", sidecar, e.getMessage()));
+        }
+        finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                }
+                catch (IOException e) {
+                    logger.error("couldn't delete the temp file. see error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The sidecar file is in the line-index folder of the temp folder, named by an id of the data file path
+     * so files with the same name in different folders have different sidecar files
+     */
+    private static Path getSidecarPath(Path path, String suffix) {
+        String pathId = UUID.nameUUIDFromBytes(path.toString().getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+        return Paths.get(System.getProperty("java.io.tmpdir"), "line-index", pathId + "_" + path.getFileName() + suffix);
+    }
+
+    private static boolean hasBom(byte[] bytes, int length) {
+        return length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF;
+    }
+
+    /**
+     * Split a csv line into its values. Quoted values may contain the separator, and "" inside a quoted value is a quote
+     */
+    static String[] splitLine(String line, char separator) {
+
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"')
+                    value.append(c);
+                else if (i + 1 < line.length() && line.charAt(i + 1) == '"')
+                    value.append(line.charAt(++i));
+                else
+                    quoted = false;
+            }
+            else if (c == '"' && value.length() == 0)
+                quoted = true;
+            else if (c == separator) {
+                values.add(value.toString());
+                value.setLength(0);
+            }
+            else
+                value.append(c);
+        }
+        values.add(value.toString());
+        return values.toArray(new String[0]);
+    }
+
+    /**
+     * Fold the case of a value the way String.equalsIgnoreCase compares characters, so values that are equal
+     * ignoring case have the same hash
+     */
+    private static String foldCase(String value) {
+        char[] chars = value.toCharArray();
+        for (int i = 0; i < chars.length; i++)
+            chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+        return new String(chars);
+    }
+
+    private static int mix(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x45d9f3b;
+    }
+}
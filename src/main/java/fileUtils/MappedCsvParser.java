@@ -0,0 +1,402 @@
+package fileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * High throughput CSV parser for large files.<br>
+ * The file is memory mapped and split into chunks of whole records. The split points are found with a quick scan of the bytes
+ * that follows the quotes, so a line break inside a quoted value never splits a record. The chunks are then parsed in parallel,
+ * and the rows are returned in file order, either one by one from the iterator / stream (only a few chunks are held in memory)
+ * or all at once as a compact column based CsvTable.<br>
+ * The file is read as UTF-8 and a UTF-8 BOM is skipped, like CsvUtils.getRecordFromCSV does.
+ * Values are parsed as RFC 4180: quoted values may contain separators and line breaks, and "" inside a quoted value is a quote.
+ * Unlike opencsv, backslash is not an escape character. Line breaks can be \n or \r\n. An empty line is a row with one empty value.
+ * <pre>
+ * {@code
+ *     try (MappedCsvParser parser = new MappedCsvParser(filePath)) {
+ *         for (String[] row : parser) {
+ *             ...
+ *         }
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class MappedCsvParser implements Iterable<String[]>, AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedCsvParser.class);
+
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int MAX_SCAN_WINDOW = 1 << 30;
+    private static final byte QUOTE = '"';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    //max distinct values of a column that are de-duplicated when reading a CsvTable
+    private static final int MAX_INTERNED_VALUES = 65536;
+
+    //parser states
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    private final Path path;
+    private final byte separator;
+    private final int parallelism;
+    private final FileChannel channel;
+    private final List<long[]> chunks;
+
+    /**
+     * Open a comma separated file, parsed by all the available processors
+     * @param filePath path of the csv file
+     */
+    public MappedCsvParser(String filePath) {
+        this(filePath, ',', Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Open a csv file
+     * @param filePath path of the csv file
+     * @param separator the value separator, i.e. ',' or '\t'. Must be an ASCII character
+     * @param parallelism max number of chunks parsed at the same time
+     */
+    public MappedCsvParser(String filePath, char separator, int parallelism) {
+        this(filePath, separator, parallelism, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Open a csv file with a chunk size other than the default, i.e. small chunks to test records that cross the chunk ends
+     * @param chunkSize min size in bytes of a chunk, a chunk ends at the first record end after it
+     */
+    MappedCsvParser(String filePath, char separator, int parallelism, int chunkSize) {
+
+        if (separator > 127 || separator == '"' || separator == '\n' || separator == '\r')
+            throw new IllegalArgumentException("Invalid csv separator: " + separator);
+
+        this.path = Paths.get(filePath);
+        this.separator = (byte) separator;
+        this.parallelism = Math.max(1, parallelism);
+
+        long startNanos = System.nanoTime();
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to open csv file %s<br>Error: %s<br><br>", filePath, e.getMessage()));
+        }
+
+        try {
+            chunks = splitChunks(Math.max(1, chunkSize));
+        }
+        catch (IOException | RuntimeException e) {
+            closeChannel();
+            throw new Error(String.format("Failed to read csv file %s<br>Error: %s<br><br>", filePath, e.getMessage()));
+        }
+        logger.debug(String.format("Split csv file %s into %d chunks in %.3f sec", filePath, chunks.size(), (System.nanoTime() - startNanos) / 1_000_000_000.0));
+    }
+
+    /**
+     * Return an iterator of all the rows of the file, including the header row.
+     * The chunks ahead of the iterator are parsed in parallel
+     * @return iterator of the rows
+     */
+    @Override
+    public Iterator<String[]> iterator() {
+        return new RowIterator();
+    }
+
+    /**
+     * Return all the rows of the file as a stream, including the header row. Closing the stream closes the parser
+     * @return stream of the rows
+     */
+    public Stream<String[]> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Read the whole file into a column based table. The first row is the header.
+     * Repeated values of a column share the same String object, so tables with few distinct values per column take little memory
+     * @return the table
+     */
+    public CsvTable readTable() {
+
+        long startNanos = System.nanoTime();
+        Iterator<String[]> rows = iterator();
+        if (!rows.hasNext())
+            return new CsvTable(new String[0], new String[0][], 0);
+
+        String[] headers = rows.next();
+        String[][] columns = new String[headers.length][1024];
+        List<Map<String, String>> internedValues = new ArrayList<>(headers.length);
+        for (int c = 0; c < headers.length; c++)
+            internedValues.add(new HashMap<>());
+
+        int rowCount = 0;
+        while (rows.hasNext()) {
+            String[] row = rows.next();
+            if (rowCount == columns[0].length) {
+                int newLength = rowCount + (rowCount >> 1);
+                for (int c = 0; c < columns.length; c++)
+                    columns[c] = Arrays.copyOf(columns[c], newLength);
+            }
+            for (int c = 0; c < headers.length && c < row.length; c++) {
+                Map<String, String> interned = internedValues.get(c);
+                String value = row[c];
+                if (interned.size() < MAX_INTERNED_VALUES) {
+                    String existing = interned.putIfAbsent(value, value);
+                    if (existing != null)
+                        value = existing;
+                }
+                columns[c][rowCount] = value;
+            }
+            rowCount++;
+        }
+
+        for (int c = 0; c < columns.length; c++)
+            columns[c] = Arrays.copyOf(columns[c], rowCount);
+
+        logger.info(String.format("Read csv file %s: %d rows, %d columns in %.2f sec", path, rowCount, headers.length, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+        return new CsvTable(headers, columns, rowCount);
+    }
+
+    /**
+     * @return the number of chunks the file is split into
+     */
+    public int getChunkCount() {
+        return chunks.size();
+    }
+
+    @Override
+    public void close() {
+        closeChannel();
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        }
+        catch (IOException e) {
+            logger.error("couldn't close the csv file. see error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Scan the file and split it into chunks of about chunkSize bytes that end at the end of a record
+     * @return list of [start, end) offsets
+     */
+    private List<long[]> splitChunks(int chunkSize) throws IOException {
+
+        long size = channel.size();
+        long dataStart = hasBom(size) ? 3 : 0;
+        List<long[]> result = new ArrayList<>();
+
+        long chunkStart = dataStart;
+        long nextSplit = chunkStart + chunkSize;
+        int state = FIELD_START;
+
+        for (long windowStart = dataStart; windowStart < size; windowStart += MAX_SCAN_WINDOW) {
+            int windowLength = (int) Math.min(MAX_SCAN_WINDOW, size - windowStart);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+            for (int i = 0; i < windowLength; i++) {
+                byte b = window.get(i);
+                state = nextState(state, b);
+                if (b == LINE_FEED && state == FIELD_START && windowStart + i + 1 >= nextSplit) {
+                    long end = windowStart + i + 1;
+                    result.add(new long[]{chunkStart, end});
+                    chunkStart = end;
+                    nextSplit = end + chunkSize;
+                }
+            }
+        }
+        if (chunkStart < size)
+            result.add(new long[]{chunkStart, size});
+        return result;
+    }
+
+    private boolean hasBom(long size) throws IOException {
+        if (size < 3)
+            return false;
+        ByteBuffer bom = ByteBuffer.allocate(3);
+        channel.read(bom, 0);
+        return bom.get(0) == (byte) 0xEF && bom.get(1) == (byte) 0xBB && bom.get(2) == (byte) 0xBF;
+    }
+
+    /**
+     * The state after a byte, only following the quotes and the record ends. Used to find the split points
+     */
+    private int nextState(int state, byte b) {
+        switch (state) {
+            case QUOTED:
+                return b == QUOTE ? QUOTE_IN_QUOTED : QUOTED;
+            case QUOTE_IN_QUOTED:
+                if (b == QUOTE)
+                    return QUOTED;
+                return b == separator || b == LINE_FEED ? FIELD_START : UNQUOTED;
+            case FIELD_START:
+                if (b == QUOTE)
+                    return QUOTED;
+                return b == separator || b == LINE_FEED ? FIELD_START : UNQUOTED;
+            default:
+                return b == separator || b == LINE_FEED ? FIELD_START : UNQUOTED;
+        }
+    }
+
+    /**
+     * Parse the records of a chunk
+     * @param chunk [start, end) offsets of the chunk
+     * @return the rows of the chunk
+     */
+    private List<String[]> parseChunk(long[] chunk) {
+
+        long length = chunk[1] - chunk[0];
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalStateException(String.format("A csv record at offset %d is larger than 2GB", chunk[0]));
+
+        MappedByteBuffer buffer;
+        try {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, chunk[0], length);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<String[]> rows = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        byte[] value = new byte[256];
+        int valueLength = 0;
+        int state = FIELD_START;
+
+        for (int i = 0; i < (int) length; i++) {
+            byte b = buffer.get(i);
+
+            if (state == QUOTED) {
+                if (b == QUOTE)
+                    state = QUOTE_IN_QUOTED;
+                else {
+                    if (valueLength == value.length)
+                        value = Arrays.copyOf(value, valueLength * 2);
+                    value[valueLength++] = b;
+                }
+                continue;
+            }
+
+            if (b == QUOTE && (state == FIELD_START || state == QUOTE_IN_QUOTED)) {
+                //opening quote, or the second quote of an escaped quote
+                if (state == QUOTE_IN_QUOTED) {
+                    if (valueLength == value.length)
+                        value = Arrays.copyOf(value, valueLength * 2);
+                    value[valueLength++] = QUOTE;
+                }
+                state = QUOTED;
+            }
+            else if (b == separator) {
+                fields.add(new String(value, 0, valueLength, StandardCharsets.UTF_8));
+                valueLength = 0;
+                state = FIELD_START;
+            }
+            else if (b == LINE_FEED) {
+                if (state == UNQUOTED && valueLength > 0 && value[valueLength - 1] == CARRIAGE_RETURN)
+                    valueLength--;
+                fields.add(new String(value, 0, valueLength, StandardCharsets.UTF_8));
+                rows.add(fields.toArray(new String[0]));
+                fields.clear();
+                valueLength = 0;
+                state = FIELD_START;
+            }
+            else {
+                if (valueLength == value.length)
+                    value = Arrays.copyOf(value, valueLength * 2);
+                value[valueLength++] = b;
+                state = UNQUOTED;
+            }
+        }
+
+        //last record of the file without a line break
+        if (valueLength > 0 || !fields.isEmpty() || state != FIELD_START) {
+            if (state == UNQUOTED && valueLength > 0 && value[valueLength - 1] == CARRIAGE_RETURN)
+                valueLength--;
+            fields.add(new String(value, 0, valueLength, StandardCharsets.UTF_8));
+            rows.add(fields.toArray(new String[0]));
+        }
+        return rows;
+    }
+
+    /**
+     * Iterator that keeps up to parallelism chunks parsing ahead of the returned rows
+     */
+    private class RowIterator implements Iterator<String[]> {
+
+        private final ArrayDeque<CompletableFuture<List<String[]>>> pending = new ArrayDeque<>();
+        private Iterator<String[]> current = Collections.emptyIterator();
+        private int nextChunk = 0;
+
+        private RowIterator() {
+            submitChunks();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pending.isEmpty())
+                    return false;
+                current = join(pending.poll()).iterator();
+                submitChunks();
+            }
+            return true;
+        }
+
+        @Override
+        public String[] next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        private void submitChunks() {
+            while (pending.size() < parallelism && nextChunk < chunks.size()) {
+                long[] chunk = chunks.get(nextChunk++);
+                pending.add(CompletableFuture.supplyAsync(() -> parseChunk(chunk)));
+            }
+        }
+
+        private List<String[]> join(CompletableFuture<List<String[]>> future) {
+            try {
+                return future.join();
+            }
+            catch (CompletionException e) {
+                pending.forEach(next -> next.cancel(true));
+                pending.clear();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                throw new Error(String.format("Failed to parse csv file %s<br>Error: %s<br><br>", path, cause.getMessage()));
+            }
+        }
+    }
+}
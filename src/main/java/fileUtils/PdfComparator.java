@@ -0,0 +1,502 @@
+package fileUtils;
+
+import Enumerations.MessageLevel;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.apache.pdfbox.text.PDFTextStripper;
+import tableUtils.Table;
+import tableUtils.TableRow;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static ReportUtils.Report.reportAndLog;
+
+/**
+ * Compares an expected PDF with an actual PDF page by page.<br>
+ * The pages are compared in parallel on a pool of up to parallelism threads, every thread with its own copy of both documents.
+ * First the page texts are compared, and only the pages whose texts differ are diffed:
+ * their text lines, and optionally their table rows as extracted by PdfTableExtractor, are matched by a longest common subsequence
+ * so the result lists only the removed and added lines. The subsequence is found in linear memory (Hirschberg's algorithm),
+ * so pages diffed in parallel do not hold a table of line pairs each.<br>
+ * Optionally every page is also rendered and compared pixel by pixel, to find differences that are not in the text
+ * (images, lines, colors). A pixel differs if one of its color channels differs more than the pixel tolerance,
+ * and a page differs if the ratio of its differing pixels is above the max ratio.
+ * <pre>
+ * {@code
+ *     PdfComparator comparator = new PdfComparator();
+ *     comparator.setRasterDpi(72);
+ *     PdfComparisonResult result = comparator.compare(expectedPdfPath, actualPdfPath);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class PdfComparator {
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+    //when the differing parts of the pages have more line pairs than this, the diff would take too long,
+    //and all their lines are reported as removed and added
+    private static final long MAX_DIFF_CELLS = 25_000_000L;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private boolean compareTables = true;
+    /** Resolution of the raster comparison, 0 to not render the pages */
+    private float rasterDpi = 0;
+    /** Max difference of a color channel (0-255) of a pixel that is still equal */
+    private int pixelTolerance = 0;
+    /** Max ratio of differing pixels of a page that is still equal */
+    private double maxDifferentPixelsRatio = 0;
+
+    /**
+     * This method sets the max number of pages compared at the same time
+     * @param parallelism number of threads
+     * @since 17.10.2026
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * This method sets if the tables of the differing pages are extracted and compared row by row
+     * @param compareTables true to compare the tables, the default
+     * @since 17.10.2026
+     */
+    public void setCompareTables(boolean compareTables) {
+        this.compareTables = compareTables;
+    }
+
+    /**
+     * This method sets the resolution the pages are rendered in for the raster comparison
+     * @param rasterDpi dots per inch, i.e. 72. 0 to not compare the rendered pages, the default
+     * @since 17.10.2026
+     */
+    public void setRasterDpi(float rasterDpi) {
+        this.rasterDpi = rasterDpi;
+    }
+
+    /**
+     * This method sets the tolerance of the raster comparison
+     * @param pixelTolerance max difference of a color channel (0-255) of a pixel that is still equal
+     * @param maxDifferentPixelsRatio max ratio (0-1) of differing pixels of a page that is still equal
+     * @since 17.10.2026
+     */
+    public void setRasterTolerance(int pixelTolerance, double maxDifferentPixelsRatio) {
+        this.pixelTolerance = pixelTolerance;
+        this.maxDifferentPixelsRatio = maxDifferentPixelsRatio;
+    }
+
+    /**
+     * Compare the pages of the expected and the actual PDF
+     * @param expectedFilePath path of the expected pdf
+     * @param actualFilePath path of the actual pdf
+     * @return the differing pages
+     * @since 17.10.2026
+     */
+    public PdfComparisonResult compare(String expectedFilePath, String actualFilePath) {
+
+        reportAndLog(String.format("Comparing pdf %s with %s", actualFilePath, expectedFilePath), MessageLevel.INFO);
+        long startNanos = System.nanoTime();
+        PdfComparisonResult result = new PdfComparisonResult();
+
+        PDDocument firstExpected = null;
+        PDDocument firstActual = null;
+        ExecutorService executor = null;
+        try {
+            byte[] expectedContent = Files.readAllBytes(Paths.get(expectedFilePath));
+            byte[] actualContent = Files.readAllBytes(Paths.get(actualFilePath));
+            firstExpected = PdfTableExtractor.loadDocument(expectedContent);
+            firstActual = PdfTableExtractor.loadDocument(actualContent);
+
+            int expectedPages = firstExpected.getNumberOfPages();
+            int actualPages = firstActual.getNumberOfPages();
+            result.setPageCounts(expectedPages, actualPages);
+            for (int pageIdx = actualPages; pageIdx < expectedPages; pageIdx++)
+                result.addDifference(new PdfComparisonResult.PageDifference(pageIdx, PdfComparisonResult.DifferenceType.ONLY_IN_EXPECTED));
+            for (int pageIdx = expectedPages; pageIdx < actualPages; pageIdx++)
+                result.addDifference(new PdfComparisonResult.PageDifference(pageIdx, PdfComparisonResult.DifferenceType.ONLY_IN_ACTUAL));
+
+            int commonPages = Math.min(expectedPages, actualPages);
+            int workers = Math.max(1, Math.min(parallelism, commonPages));
+            executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "pdf-comparator-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            //every worker takes the next page until all the pages are compared
+            PageComparison[] pages = new PageComparison[commonPages];
+            AtomicInteger nextPage = new AtomicInteger();
+            List<Future<Void>> workerFutures = new ArrayList<>();
+            for (int worker = 0; worker < workers && commonPages > 0; worker++) {
+                boolean firstWorker = worker == 0;
+                PDDocument workerExpected = firstWorker ? firstExpected : null;
+                PDDocument workerActual = firstWorker ? firstActual : null;
+                workerFutures.add(executor.submit(() -> {
+                    PDDocument expected = firstWorker ? workerExpected : PdfTableExtractor.loadDocument(expectedContent);
+                    PDDocument actual = null;
+                    try {
+                        actual = firstWorker ? workerActual : PdfTableExtractor.loadDocument(actualContent);
+                        PageWorker pageWorker = new PageWorker(expected, actual);
+                        for (int i = nextPage.getAndIncrement(); i < pages.length; i = nextPage.getAndIncrement())
+                            pages[i] = pageWorker.compare(i);
+                    }
+                    finally {
+                        if (!firstWorker) {
+                            expected.close();
+                            if (actual != null)
+                                actual.close();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            PdfTableExtractor.waitFor(workerFutures);
+
+            //diff the lines of the pages whose texts differ
+            int equalTextPages = 0;
+            List<Future<PdfComparisonResult.PageDifference>> diffFutures = new ArrayList<>();
+            for (PageComparison page : pages) {
+                if (page.textEqual)
+                    equalTextPages++;
+                if (!page.textEqual || page.rasterDifferent)
+                    diffFutures.add(executor.submit(() -> diffPage(page)));
+            }
+            result.setEqualTextPages(equalTextPages);
+
+            Map<Integer, PdfComparisonResult.PageDifference> textDifferences = new HashMap<>();
+            for (PdfComparisonResult.PageDifference difference : PdfTableExtractor.waitFor(diffFutures)) {
+                result.addDifference(difference);
+                if (difference.getType() == PdfComparisonResult.DifferenceType.TEXT)
+                    textDifferences.put(difference.getPageIdx(), difference);
+            }
+
+            if (compareTables && !textDifferences.isEmpty())
+                diffTables(expectedFilePath, actualFilePath, textDifferences);
+        }
+        catch (IOException e) {
+            reportAndLog("Pdf comparison failed with error " + e.getMessage(), MessageLevel.ERROR);
+            throw new Error(String.format("Failed to compare pdf %s with %s.<br>Error: %s<br><br>", actualFilePath, expectedFilePath, e.getMessage()));
+        }
+        finally {
+            if (executor != null)
+                executor.shutdownNow();
+            closeQuietly(firstExpected);
+            closeQuietly(firstActual);
+        }
+
+        result.sortDifferences();
+        reportAndLog(String.format("Pdf comparison of %s with %s in %.2f sec: %s", actualFilePath, expectedFilePath,
+                (System.nanoTime() - startNanos) / 1_000_000_000.0, result), result.isEqual() ? MessageLevel.INFO : MessageLevel.WARN);
+        return result;
+    }
+
+    /**
+     * Build the difference of a page: the differing text lines, and the raster difference if the pages were rendered
+     */
+    private PdfComparisonResult.PageDifference diffPage(PageComparison page) {
+
+        PdfComparisonResult.PageDifference difference = new PdfComparisonResult.PageDifference(page.pageIdx,
+                page.textEqual ? PdfComparisonResult.DifferenceType.RASTER : PdfComparisonResult.DifferenceType.TEXT);
+        if (page.totalPixels >= 0)
+            difference.setPixels(page.differentPixels, page.totalPixels);
+        if (!page.textEqual)
+            difference.getLineDifferences().addAll(diffLines(Arrays.asList(page.expectedText.split("\\r?\\n")), Arrays.asList(page.actualText.split("\\r?\\n"))));
+        return difference;
+    }
+
+    /**
+     * Extract the tables of the differing pages from both PDFs and diff their rows
+     */
+    private void diffTables(String expectedFilePath, String actualFilePath, Map<Integer, PdfComparisonResult.PageDifference> textDifferences) {
+
+        PdfTableExtractor expectedExtractor = new PdfTableExtractor().setParallelism(parallelism);
+        PdfTableExtractor actualExtractor = new PdfTableExtractor().setParallelism(parallelism);
+        for (int pageIdx : textDifferences.keySet()) {
+            expectedExtractor.addPage(pageIdx);
+            actualExtractor.addPage(pageIdx);
+        }
+        Map<Integer, List<String>> expectedRows = getTableRows(expectedExtractor.extract(expectedFilePath));
+        Map<Integer, List<String>> actualRows = getTableRows(actualExtractor.extract(actualFilePath));
+
+        for (Map.Entry<Integer, PdfComparisonResult.PageDifference> entry : textDifferences.entrySet()) {
+            List<String> expected = expectedRows.getOrDefault(entry.getKey(), new ArrayList<>());
+            List<String> actual = actualRows.getOrDefault(entry.getKey(), new ArrayList<>());
+            entry.getValue().getTableRowDifferences().addAll(diffLines(expected, actual));
+        }
+    }
+
+    private static Map<Integer, List<String>> getTableRows(List<Table> tables) {
+        Map<Integer, List<String>> rows = new HashMap<>();
+        for (Table table : tables) {
+            List<String> tableRows = new ArrayList<>();
+            for (TableRow row : table.getRows())
+                tableRows.add(row.toString());
+            rows.put(table.getPageIdx(), tableRows);
+        }
+        return rows;
+    }
+
+    /**
+     * Return the lines that are only in the expected or only in the actual lines, by their longest common subsequence
+     * @param expected expected lines
+     * @param actual actual lines
+     * @return the removed and added lines, in line order
+     */
+    static List<PdfComparisonResult.LineDifference> diffLines(List<String> expected, List<String> actual) {
+
+        List<PdfComparisonResult.LineDifference> differences = new ArrayList<>();
+
+        //skip the common prefix and suffix, most differing pages differ in a few lines
+        int start = 0;
+        while (start < expected.size() && start < actual.size() && expected.get(start).equals(actual.get(start)))
+            start++;
+        int expectedEnd = expected.size();
+        int actualEnd = actual.size();
+        while (expectedEnd > start && actualEnd > start && expected.get(expectedEnd - 1).equals(actual.get(actualEnd - 1))) {
+            expectedEnd--;
+            actualEnd--;
+        }
+
+        int n = expectedEnd - start;
+        int m = actualEnd - start;
+        if ((long) n * m > MAX_DIFF_CELLS) {
+            for (int i = start; i < expectedEnd; i++)
+                differences.add(new PdfComparisonResult.LineDifference(PdfComparisonResult.ChangeType.REMOVED, i, expected.get(i)));
+            for (int j = start; j < actualEnd; j++)
+                differences.add(new PdfComparisonResult.LineDifference(PdfComparisonResult.ChangeType.ADDED, j, actual.get(j)));
+            return differences;
+        }
+
+        //lines as ids, so the diff compares ints instead of strings
+        Map<String, Integer> lineIds = new HashMap<>();
+        int[] expectedIds = new int[n];
+        int[] actualIds = new int[m];
+        for (int i = 0; i < n; i++)
+            expectedIds[i] = lineIds.computeIfAbsent(expected.get(start + i), line -> lineIds.size());
+        for (int j = 0; j < m; j++)
+            actualIds[j] = lineIds.computeIfAbsent(actual.get(start + j), line -> lineIds.size());
+
+        new LineDiff(expectedIds, actualIds, expected, actual, start, differences).diff(0, n, 0, m);
+        return differences;
+    }
+
+    /**
+     * Longest common subsequence diff of line ids in linear memory (Hirschberg's algorithm): the expected lines are split in half,
+     * the actual lines are split where the subsequence lengths of both halves add up to the longest, and each part is diffed again.
+     * Takes two rows of lengths instead of a table of all the line pairs
+     */
+    private static class LineDiff {
+        private final int[] expected;
+        private final int[] actual;
+        private final List<String> expectedLines;
+        private final List<String> actualLines;
+        private final int offset;
+        private final List<PdfComparisonResult.LineDifference> differences;
+
+        private LineDiff(int[] expected, int[] actual, List<String> expectedLines, List<String> actualLines, int offset,
+                         List<PdfComparisonResult.LineDifference> differences) {
+            this.expected = expected;
+            this.actual = actual;
+            this.expectedLines = expectedLines;
+            this.actualLines = actualLines;
+            this.offset = offset;
+            this.differences = differences;
+        }
+
+        /**
+         * Add the differences of expected[expectedFrom, expectedTo) and actual[actualFrom, actualTo), in line order
+         */
+        private void diff(int expectedFrom, int expectedTo, int actualFrom, int actualTo) {
+
+            if (expectedTo - expectedFrom <= 1) {
+                int match = actualTo;
+                if (expectedFrom < expectedTo) {
+                    for (int j = actualFrom; j < actualTo && match == actualTo; j++)
+                        if (actual[j] == expected[expectedFrom])
+                            match = j;
+                    if (match == actualTo)
+                        removed(expectedFrom);
+                }
+                for (int j = actualFrom; j < actualTo; j++)
+                    if (j != match)
+                        added(j);
+                return;
+            }
+            if (actualFrom == actualTo) {
+                for (int i = expectedFrom; i < expectedTo; i++)
+                    removed(i);
+                return;
+            }
+
+            int expectedMiddle = (expectedFrom + expectedTo) >>> 1;
+            int[] upper = forwardLengths(expectedFrom, expectedMiddle, actualFrom, actualTo);
+            int[] lower = backwardLengths(expectedMiddle, expectedTo, actualFrom, actualTo);
+            int split = 0;
+            for (int k = 1; k < upper.length; k++)
+                if (upper[k] + lower[k] > upper[split] + lower[split])
+                    split = k;
+
+            diff(expectedFrom, expectedMiddle, actualFrom, actualFrom + split);
+            diff(expectedMiddle, expectedTo, actualFrom + split, actualTo);
+        }
+
+        /**
+         * @return lengths[k] = length of the longest common subsequence of expected[from, to) and actual[actualFrom, actualFrom + k)
+         */
+        private int[] forwardLengths(int from, int to, int actualFrom, int actualTo) {
+            int[] lengths = new int[actualTo - actualFrom + 1];
+            for (int i = from; i < to; i++) {
+                int diagonal = 0;
+                for (int k = 1; k < lengths.length; k++) {
+                    int above = lengths[k];
+                    lengths[k] = expected[i] == actual[actualFrom + k - 1] ? diagonal + 1 : Math.max(above, lengths[k - 1]);
+                    diagonal = above;
+                }
+            }
+            return lengths;
+        }
+
+        /**
+         * @return lengths[k] = length of the longest common subsequence of expected[from, to) and actual[actualFrom + k, actualTo)
+         */
+        private int[] backwardLengths(int from, int to, int actualFrom, int actualTo) {
+            int[] lengths = new int[actualTo - actualFrom + 1];
+            for (int i = to - 1; i >= from; i--) {
+                int diagonal = 0;
+                for (int k = lengths.length - 2; k >= 0; k--) {
+                    int below = lengths[k];
+                    lengths[k] = expected[i] == actual[actualFrom + k] ? diagonal + 1 : Math.max(below, lengths[k + 1]);
+                    diagonal = below;
+                }
+            }
+            return lengths;
+        }
+
+        private void removed(int i) {
+            differences.add(new PdfComparisonResult.LineDifference(PdfComparisonResult.ChangeType.REMOVED, offset + i, expectedLines.get(offset + i)));
+        }
+
+        private void added(int j) {
+            differences.add(new PdfComparisonResult.LineDifference(PdfComparisonResult.ChangeType.ADDED, offset + j, actualLines.get(offset + j)));
+        }
+    }
+
+    private static void closeQuietly(PDDocument document) {
+        if (document == null)
+            return;
+        try {
+            document.close();
+        }
+        catch (IOException e) {
+            reportAndLog("Failed to close the pdf document. Error: " + e.getMessage(), MessageLevel.ERROR);
+        }
+    }
+
+    /**
+     * The comparison of a page: whether the texts are equal, the texts if they differ, and the raster difference
+     */
+    private static class PageComparison {
+        private final int pageIdx;
+        private final boolean textEqual;
+        private final String expectedText;
+        private final String actualText;
+        private long differentPixels = -1;
+        private long totalPixels = -1;
+        private boolean rasterDifferent = false;
+
+        private PageComparison(int pageIdx, boolean textEqual, String expectedText, String actualText) {
+            this.pageIdx = pageIdx;
+            this.textEqual = textEqual;
+            this.expectedText = expectedText;
+            this.actualText = actualText;
+        }
+    }
+
+    /**
+     * Compares the pages of a worker's own copy of the documents. Not thread safe
+     */
+    private class PageWorker {
+        private final PDDocument expected;
+        private final PDDocument actual;
+        private final PDFTextStripper stripper;
+        private final PDFRenderer expectedRenderer;
+        private final PDFRenderer actualRenderer;
+
+        private PageWorker(PDDocument expected, PDDocument actual) throws IOException {
+            this.expected = expected;
+            this.actual = actual;
+            stripper = new PDFTextStripper();
+            expectedRenderer = rasterDpi > 0 ? new PDFRenderer(expected) : null;
+            actualRenderer = rasterDpi > 0 ? new PDFRenderer(actual) : null;
+        }
+
+        private PageComparison compare(int pageIdx) throws IOException {
+
+            String expectedText = getPageText(expected, pageIdx);
+            String actualText = getPageText(actual, pageIdx);
+            boolean textEqual = expectedText.equals(actualText);
+            //keep the texts only for the line diff of the differing pages
+            PageComparison page = textEqual ? new PageComparison(pageIdx, true, null, null)
+                    : new PageComparison(pageIdx, false, expectedText, actualText);
+
+            if (expectedRenderer != null) {
+                BufferedImage expectedImage = expectedRenderer.renderImageWithDPI(pageIdx, rasterDpi, ImageType.RGB);
+                BufferedImage actualImage = actualRenderer.renderImageWithDPI(pageIdx, rasterDpi, ImageType.RGB);
+                comparePixels(page, expectedImage, actualImage);
+            }
+            return page;
+        }
+
+        private String getPageText(PDDocument document, int pageIdx) throws IOException {
+            stripper.setStartPage(pageIdx + 1);
+            stripper.setEndPage(pageIdx + 1);
+            return stripper.getText(document);
+        }
+
+        private void comparePixels(PageComparison page, BufferedImage expectedImage, BufferedImage actualImage) {
+
+            int width = expectedImage.getWidth();
+            int height = expectedImage.getHeight();
+            if (width != actualImage.getWidth() || height != actualImage.getHeight()) {
+                //different page sizes, every pixel differs
+                page.totalPixels = Math.max((long) width * height, (long) actualImage.getWidth() * actualImage.getHeight());
+                page.differentPixels = page.totalPixels;
+                page.rasterDifferent = true;
+                return;
+            }
+
+            long differentPixels = 0;
+            int[] expectedRow = new int[width];
+            int[] actualRow = new int[width];
+            for (int y = 0; y < height; y++) {
+                expectedImage.getRGB(0, y, width, 1, expectedRow, 0, width);
+                actualImage.getRGB(0, y, width, 1, actualRow, 0, width);
+                for (int x = 0; x < width; x++) {
+                    int expectedPixel = expectedRow[x];
+                    int actualPixel = actualRow[x];
+                    if (expectedPixel != actualPixel
+                            && (Math.abs((expectedPixel >> 16 & 0xFF) - (actualPixel >> 16 & 0xFF)) > pixelTolerance
+                            || Math.abs((expectedPixel >> 8 & 0xFF) - (actualPixel >> 8 & 0xFF)) > pixelTolerance
+                            || Math.abs((expectedPixel & 0xFF) - (actualPixel & 0xFF)) > pixelTolerance))
+                        differentPixels++;
+                }
+            }
+            page.totalPixels = (long) width * height;
+            page.differentPixels = differentPixels;
+            page.rasterDifferent = differentPixels > page.totalPixels * maxDifferentPixelsRatio;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package fileUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Result of a PdfComparator comparison: the pages that differ between the expected and the actual PDF, and what differs in them
+ *
+ * @since 17.10.2026
+ */
+public class PdfComparisonResult {
+
+    /**
+     * The kind of difference of a page
+     */
+    public enum DifferenceType {
+        ONLY_IN_EXPECTED,
+        ONLY_IN_ACTUAL,
+        //the page text differs
+        TEXT,
+        //the page text is the same, but the rendered pages differ more than the tolerance
+        RASTER
+    }
+
+    /**
+     * The kind of difference of a line
+     */
+    public enum ChangeType {
+        //the line is only in the expected page
+        REMOVED,
+        //the line is only in the actual page
+        ADDED
+    }
+
+    private final List<PageDifference> differences = new ArrayList<>();
+    private int expectedPages;
+    private int actualPages;
+    private int equalTextPages;
+
+    synchronized void addDifference(PageDifference difference) {
+        differences.add(difference);
+    }
+
+    void setPageCounts(int expectedPages, int actualPages) {
+        this.expectedPages = expectedPages;
+        this.actualPages = actualPages;
+    }
+
+    void setEqualTextPages(int equalTextPages) {
+        this.equalTextPages = equalTextPages;
+    }
+
+    void sortDifferences() {
+        differences.sort(Comparator.comparingInt(PageDifference::getPageIdx));
+    }
+
+    /**
+     * @return true if the PDFs have the same pages
+     */
+    public boolean isEqual() {
+        return differences.isEmpty();
+    }
+
+    /**
+     * @return the differing pages, in page order
+     */
+    public List<PageDifference> getDifferences() {
+        return Collections.unmodifiableList(differences);
+    }
+
+    public int getExpectedPages() {
+        return expectedPages;
+    }
+
+    public int getActualPages() {
+        return actualPages;
+    }
+
+    /**
+     * @return the number of pages whose texts are the same in both PDFs
+     */
+    public int getEqualTextPages() {
+        return equalTextPages;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Expected pages: %d, actual pages: %d, pages with equal text: %d, differing pages: %d",
+                expectedPages, actualPages, equalTextPages, differences.size());
+    }
+
+    /**
+     * A page that differs between the expected and the actual PDF
+     */
+    public static class PageDifference {
+        private final int pageIdx;
+        private final DifferenceType type;
+        private final List<LineDifference> lineDifferences = new ArrayList<>();
+        private final List<LineDifference> tableRowDifferences = new ArrayList<>();
+        private long differentPixels = -1;
+        private long totalPixels = -1;
+
+        PageDifference(int pageIdx, DifferenceType type) {
+            this.pageIdx = pageIdx;
+            this.type = type;
+        }
+
+        void setPixels(long differentPixels, long totalPixels) {
+            this.differentPixels = differentPixels;
+            this.totalPixels = totalPixels;
+        }
+
+        /**
+         * @return the page index, the first page is 0
+         */
+        public int getPageIdx() {
+            return pageIdx;
+        }
+
+        public DifferenceType getType() {
+            return type;
+        }
+
+        /**
+         * @return the differing text lines of the page
+         */
+        public List<LineDifference> getLineDifferences() {
+            return lineDifferences;
+        }
+
+        /**
+         * @return the differing table rows of the page, as extracted by PdfTableExtractor. Empty if tables were not compared
+         */
+        public List<LineDifference> getTableRowDifferences() {
+            return tableRowDifferences;
+        }
+
+        /**
+         * @return the number of pixels that differ more than the tolerance, -1 if the pages were not rendered
+         */
+        public long getDifferentPixels() {
+            return differentPixels;
+        }
+
+        /**
+         * @return the number of pixels of the rendered page, -1 if the pages were not rendered
+         */
+        public long getTotalPixels() {
+            return totalPixels;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("Page %d: %s", pageIdx, type));
+            if (totalPixels >= 0)
+                text.append(String.format(", different pixels: %d of %d", differentPixels, totalPixels));
+            for (LineDifference lineDifference : lineDifferences)
+                text.append("\n  ").append(lineDifference);
+            for (LineDifference rowDifference : tableRowDifferences)
+                text.append("\n  table ").append(rowDifference);
+            return text.toString();
+        }
+    }
+
+    /**
+     * A line (or table row) that is only in the expected or only in the actual page
+     */
+    public static class LineDifference {
+        private final ChangeType type;
+        private final int lineNumber;
+        private final String text;
+
+        LineDifference(ChangeType type, int lineNumber, String text) {
+            this.type = type;
+            this.lineNumber = lineNumber;
+            this.text = text;
+        }
+
+        public ChangeType getType() {
+            return type;
+        }
+
+        /**
+         * @return the line index in the expected page for a removed line, or in the actual page for an added line
+         */
+        public int getLineNumber() {
+            return lineNumber;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %d: %s", type == ChangeType.REMOVED ? "-" : "+", lineNumber, text);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package fileUtils;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the text of a PDF file page by page, instead of the text of the whole document at once.<br>
+ * Every page is stripped only when it is read, so searching a value that is on the first page stops after the first page.
+ * The document does not cache the page resources (fonts, images), so memory does not grow with the number of pages read.
+ * The text of every page is the same as PdfUtils.generateTextFromPDF returns for the page.<br>
+ * A match must be on one page, text that continues on the next page is not found.
+ * <pre>
+ * {@code
+ *     try (PdfPageTextReader reader = new PdfPageTextReader(filePath)) {
+ *         TextMatch match = reader.find(Pattern.compile("Booking number: (\\d+)"));
+ *     }
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class PdfPageTextReader implements Iterator<PdfPageTextReader.PageText>, AutoCloseable {
+
+    private final PDDocument document;
+    private final PageTextStripper stripper;
+    private final int lastPage;
+    private int nextPage;
+
+    /**
+     * Open all the pages of a PDF file, without text positions
+     * @param filePath path to the pdf
+     * @throws IOException if the file could not be loaded
+     */
+    public PdfPageTextReader(String filePath) throws IOException {
+        this(filePath, 0, -1, false);
+    }
+
+    /**
+     * Open a range of pages of a PDF file
+     * @param filePath path to the pdf
+     * @param fromPage first page to read, the first page is 0
+     * @param toPage last page to read, inclusive. -1 for the last page of the document
+     * @param withPositions true to also return the positions of the text of every page
+     * @throws IOException if the file could not be loaded
+     */
+    public PdfPageTextReader(String filePath, int fromPage, int toPage, boolean withPositions) throws IOException {
+
+        document = PDDocument.load(new File(filePath), MemoryUsageSetting.setupMixed(16 * 1024 * 1024));
+        try {
+            //do not keep the fonts and images of the pages that were read
+            document.setResourceCache(null);
+            stripper = new PageTextStripper(withPositions);
+        }
+        catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+        int pageCount = document.getNumberOfPages();
+        lastPage = toPage < 0 ? pageCount - 1 : Math.min(toPage, pageCount - 1);
+        nextPage = Math.max(0, fromPage);
+    }
+
+    /**
+     * @return the number of pages of the document
+     */
+    public int getNumberOfPages() {
+        return document.getNumberOfPages();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextPage <= lastPage;
+    }
+
+    /**
+     * Strip the text of the next page
+     * @return the page text
+     */
+    @Override
+    public PageText next() {
+
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        int pageIdx = nextPage++;
+        stripper.setStartPage(pageIdx + 1);
+        stripper.setEndPage(pageIdx + 1);
+        try {
+            String text = stripper.getText(document);
+            return new PageText(pageIdx, text, stripper.takePositions());
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to read page %d of the pdf file<br>Error: %s<br><br>", pageIdx, e.getMessage()));
+        }
+    }
+
+    /**
+     * Return the remaining pages as a stream. Closing the stream closes the reader
+     * @return stream of the pages
+     */
+    public Stream<PageText> stream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Read the pages until a page that contains the text
+     * @param text the text to search
+     * @return the first match, or null if no remaining page contains the text
+     */
+    public TextMatch find(String text) {
+        return find(Pattern.compile(Pattern.quote(text)));
+    }
+
+    /**
+     * Read the pages until a page that matches the pattern
+     * @param pattern the pattern to search
+     * @return the first match, or null if no remaining page matches
+     */
+    public TextMatch find(Pattern pattern) {
+        while (hasNext()) {
+            PageText page = next();
+            Matcher matcher = pattern.matcher(page.getText());
+            if (matcher.find())
+                return new TextMatch(page, matcher.start(), matcher.end(), matcher.group(), getGroups(matcher));
+        }
+        return null;
+    }
+
+    /**
+     * Read all the remaining pages and return all the matches of the pattern
+     * @param pattern the pattern to search
+     * @return the matches, in page order
+     */
+    public List<TextMatch> findAll(Pattern pattern) {
+        List<TextMatch> matches = new ArrayList<>();
+        while (hasNext()) {
+            PageText page = next();
+            Matcher matcher = pattern.matcher(page.getText());
+            while (matcher.find())
+                matches.add(new TextMatch(page, matcher.start(), matcher.end(), matcher.group(), getGroups(matcher)));
+        }
+        return matches;
+    }
+
+    @Override
+    public void close() {
+        try {
+            document.close();
+        }
+        catch (IOException e) {
+            throw new Error(String.format("Failed to close the pdf file.<br>Error: %s<br><br>", e.getMessage()));
+        }
+    }
+
+    private static List<String> getGroups(Matcher matcher) {
+        List<String> groups = new ArrayList<>(matcher.groupCount());
+        for (int i = 1; i <= matcher.groupCount(); i++)
+            groups.add(matcher.group(i));
+        return groups;
+    }
+
+    /**
+     * Text stripper that also collects the text positions of the stripped page, when asked to
+     */
+    private static class PageTextStripper extends PDFTextStripper {
+
+        private final boolean withPositions;
+        private List<TextPosition> positions = new ArrayList<>();
+
+        private PageTextStripper(boolean withPositions) throws IOException {
+            super();
+            this.withPositions = withPositions;
+        }
+
+        @Override
+        protected void writeString(String text, List<TextPosition> textPositions) throws IOException {
+            if (withPositions)
+                positions.addAll(textPositions);
+            super.writeString(text, textPositions);
+        }
+
+        private List<TextPosition> takePositions() {
+            if (!withPositions)
+                return Collections.emptyList();
+            List<TextPosition> pagePositions = positions;
+            positions = new ArrayList<>();
+            return pagePositions;
+        }
+    }
+
+    /**
+     * The text of a page
+     */
+    public static class PageText {
+        private final int pageIdx;
+        private final String text;
+        private final List<TextPosition> positions;
+
+        private PageText(int pageIdx, String text, List<TextPosition> positions) {
+            this.pageIdx = pageIdx;
+            this.text = text;
+            this.positions = positions;
+        }
+
+        /**
+         * @return the page index, the first page is 0
+         */
+        public int getPageIdx() {
+            return pageIdx;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        /**
+         * @return the positions of the page text, in text order. Empty if the reader was opened without positions
+         */
+        public List<TextPosition> getPositions() {
+            return Collections.unmodifiableList(positions);
+        }
+    }
+
+    /**
+     * A match of a text search in a page
+     */
+    public static class TextMatch {
+        private final PageText page;
+        private final int start;
+        private final int end;
+        private final String matchedText;
+        private final List<String> groups;
+
+        private TextMatch(PageText page, int start, int end, String matchedText, List<String> groups) {
+            this.page = page;
+            this.start = start;
+            this.end = end;
+            this.matchedText = matchedText;
+            this.groups = groups;
+        }
+
+        public int getPageIdx() {
+            return page.getPageIdx();
+        }
+
+        public PageText getPage() {
+            return page;
+        }
+
+        /**
+         * @return start index of the match in the page text
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return end index of the match in the page text, exclusive
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        public String getMatchedText() {
+            return matchedText;
+        }
+
+        /**
+         * @return the values of the capturing groups of the pattern, group 1 first
+         */
+        public List<String> getGroups() {
+            return Collections.unmodifiableList(groups);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' in page %d at %d", matchedText, getPageIdx(), start);
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package fileUtils;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Range;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tableUtils.Table;
+import tableUtils.TableCell;
+import tableUtils.TableRow;
+import tableUtils.TrapRangeBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Extract the tables of a PDF file, page by page.<br>
+ * Every extractor has its own configuration (the pages to extract, and the pages and lines to skip), so parallel tests
+ * can extract PDFs at the same time. The pages are processed concurrently on a pool of up to parallelism threads.
+ * PDDocument is not thread safe, so every thread loads its own copy of the document from the file content, and extracts
+ * its pages with its own PDFTextStripper. The column ranges are then calculated from all the pages in page order
+ * and the tables are returned in page order, so the result is the same as a serial extraction.
+ * <pre>
+ * {@code
+ *     List<Table> tables = new PdfTableExtractor()
+ *             .exceptLine(0)              //skip the first line of every page
+ *             .exceptPage(0)              //skip the cover page
+ *             .extract(filePath);
+ * }
+ * </pre>
+ *
+ * @since 17.10.2026
+ */
+public class PdfTableExtractor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PdfTableExtractor.class);
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    private static final Comparator<TextPosition> BY_X = Comparator.comparingDouble(TextPosition::getX);
+    private static final Comparator<TextPosition> BY_Y = Comparator.comparingDouble(TextPosition::getY);
+
+    //pages to extract, all the pages if empty
+    private final Set<Integer> extractedPages = new HashSet<>();
+    private final Set<Integer> exceptedPages = new HashSet<>();
+    //contains avoided line idx-s for each page, page -1 for all the pages
+    private final Multimap<Integer, Integer> pageNExceptedLinesMap = HashMultimap.create();
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Extract only this page. Can be called for several pages, all the pages are extracted if it is not called
+     * @param pageIdx page index, the first page is 0
+     * @return this extractor
+     */
+    public synchronized PdfTableExtractor addPage(int pageIdx) {
+        extractedPages.add(pageIdx);
+        return this;
+    }
+
+    /**
+     * Skip a page
+     * @param pageIdx page index, the first page is 0
+     * @return this extractor
+     */
+    public synchronized PdfTableExtractor exceptPage(int pageIdx) {
+        exceptedPages.add(pageIdx);
+        return this;
+    }
+
+    /**
+     * Skip a line of a page
+     * @param pageIdx page index, the first page is 0
+     * @param lineIdx line index, the first line is 0. Negative indexes count from the end of the page, -1 is the last line
+     * @return this extractor
+     */
+    public synchronized PdfTableExtractor exceptLine(int pageIdx, int lineIdx) {
+        pageNExceptedLinesMap.put(pageIdx, lineIdx);
+        return this;
+    }
+
+    /**
+     * Skip a line of every page
+     * @param lineIdx line index, the first line is 0. Negative indexes count from the end of the page, -1 is the last line
+     * @return this extractor
+     */
+    public synchronized PdfTableExtractor exceptLine(int lineIdx) {
+        return exceptLine(-1, lineIdx);
+    }
+
+    /**
+     * Set the max number of pages extracted at the same time
+     * @param parallelism number of threads, 1 to extract the pages serially
+     * @return this extractor
+     */
+    public synchronized PdfTableExtractor setParallelism(int parallelism) {
+        this.parallelism = Math.max(1, parallelism);
+        return this;
+    }
+
+    /**
+     * Extract the tables of a PDF file
+     * @param filePath PDF file path
+     * @return a table for every extracted page that has text, in page order
+     */
+    public List<Table> extract(String filePath) {
+
+        long startNanos = System.nanoTime();
+        byte[] content;
+        try {
+            content = Files.readAllBytes(Paths.get(filePath));
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Parse pdf file fail", ex);
+        }
+
+        PDDocument firstDocument = null;
+        ExecutorService executor = null;
+        try {
+            firstDocument = loadDocument(content);
+            List<Integer> pageIds = new ArrayList<>();
+            synchronized (this) {
+                for (int pageId = 0; pageId < firstDocument.getNumberOfPages(); pageId++) {
+                    if (!exceptedPages.contains(pageId) && (extractedPages.isEmpty() || extractedPages.contains(pageId)))
+                        pageIds.add(pageId);
+                }
+            }
+            if (pageIds.isEmpty())
+                return new ArrayList<>();
+
+            int workers;
+            synchronized (this) {
+                workers = Math.min(parallelism, pageIds.size());
+            }
+            executor = Executors.newFixedThreadPool(workers, runnable -> {
+                Thread thread = new Thread(runnable, "pdf-extractor-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+
+            //every worker takes the next page until all the pages are extracted
+            PageContent[] pages = new PageContent[pageIds.size()];
+            AtomicInteger nextPage = new AtomicInteger();
+            List<Future<Void>> workerFutures = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                PDDocument workerDocument = worker == 0 ? firstDocument : null;
+                workerFutures.add(executor.submit(() -> {
+                    PDDocument document = workerDocument != null ? workerDocument : loadDocument(content);
+                    try {
+                        TextPositionExtractor extractor = new TextPositionExtractor(document);
+                        for (int i = nextPage.getAndIncrement(); i < pages.length; i = nextPage.getAndIncrement())
+                            pages[i] = extractPage(pageIds.get(i), extractor);
+                    }
+                    finally {
+                        if (workerDocument == null)
+                            document.close();
+                    }
+                    return null;
+                }));
+            }
+            waitFor(workerFutures);
+
+            //Calculate columnRanges from the pages in page order
+            List<TextPosition> allTexts = new ArrayList<>();
+            for (PageContent page : pages)
+                allTexts.addAll(page.texts);
+            List<Range<Integer>> columnRanges = getColumnRanges(allTexts);
+
+            List<Future<Table>> tableFutures = new ArrayList<>();
+            for (PageContent page : pages) {
+                if (!page.texts.isEmpty())
+                    tableFutures.add(executor.submit(() -> buildTable(page.pageId, page.texts, page.lineRanges, columnRanges)));
+            }
+            List<Table> retVal = waitFor(tableFutures);
+            for (Table table : retVal) {
+                //debug
+                logger.debug("Found " + table.getRows().size() + " row(s) and " + columnRanges.size()
+                        + " column(s) of a table in page " + table.getPageIdx());
+            }
+
+            logger.info(String.format("Extracted %d table(s) from %d page(s) of %s with %d thread(s) in %.2f sec",
+                    retVal.size(), pages.length, filePath, workers, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+            return retVal;
+        }
+        catch (IOException ex) {
+            throw new RuntimeException("Parse pdf file fail", ex);
+        }
+        finally {
+            if (executor != null)
+                executor.shutdownNow();
+            if (firstDocument != null) {
+                try {
+                    firstDocument.close();
+                } catch (IOException ex) {
+                    logger.error("couldn't close the pdf document. see error: " + ex.getMessage());
+                }
+            }
+        }
+    }
+
+    static PDDocument loadDocument(byte[] content) throws IOException {
+        return PDDocument.load(content, "", null, null, MemoryUsageSetting.setupMainMemoryOnly());
+    }
+
+    /**
+     * Wait for all the tasks and return their results in task order
+     */
+    static <T> List<T> waitFor(List<Future<T>> futures) throws IOException {
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures)
+                results.add(future.get());
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Parse pdf file interrupted", ex);
+        }
+        catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException)
+                throw (IOException) ex.getCause();
+            if (ex.getCause() instanceof RuntimeException)
+                throw (RuntimeException) ex.getCause();
+            throw new RuntimeException("Parse pdf file fail", ex.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Extract the text positions and line ranges of a page
+     */
+    private PageContent extractPage(int pageId, TextPositionExtractor extractor) throws IOException {
+        List<TextPosition> texts = extractor.extract(pageId);//sorted by .getY() ASC
+        //extract line ranges
+        List<Range<Integer>> lineRanges = getLineRanges(pageId, texts);
+        //extract column ranges
+        List<TextPosition> textsByLineRanges = getTextsByLineRanges(lineRanges, texts);
+        return new PageContent(pageId, lineRanges, textsByLineRanges);
+    }
+
+    /**
+     * build the tables of pdf file
+     *
+     * @param pageIdx - number page to build the table
+     * @param tableContent - the table content
+     * @param rowTrapRanges - row ranges
+     * @param columnTrapRanges - column ranges
+     * @return - table
+     */
+    static Table buildTable(int pageIdx, List<TextPosition> tableContent,
+                            List<Range<Integer>> rowTrapRanges, List<Range<Integer>> columnTrapRanges) {
+        Table retVal = new Table(pageIdx, columnTrapRanges.size());
+        int idx = 0;
+        int rowIdx = 0;
+        List<TextPosition> rowContent = new ArrayList<>();
+        while (idx < tableContent.size()) {
+            TextPosition textPosition = tableContent.get(idx);
+            Range<Integer> rowTrapRange = rowTrapRanges.get(rowIdx);
+            Range<Integer> textRange = Range.closed((int) textPosition.getY(),
+                    (int) (textPosition.getY() + textPosition.getHeight()));
+            if (rowTrapRange.encloses(textRange)) {
+                rowContent.add(textPosition);
+                idx++;
+            } else {
+                TableRow row = buildRow(rowIdx, rowContent, columnTrapRanges);
+                retVal.getRows().add(row);
+                //next row: clear rowContent
+                rowContent.clear();
+                rowIdx++;
+            }
+        }
+        //last row
+        if (!rowContent.isEmpty() && rowIdx < rowTrapRanges.size()) {
+            TableRow row = buildRow(rowIdx, rowContent, columnTrapRanges);
+            retVal.getRows().add(row);
+        }
+        //return
+        return retVal;
+    }
+
+    /**
+     *build row of the table
+     * @param rowIdx - row number
+     * @param rowContent - row Content
+     * @param columnTrapRanges - column range
+     * @return - a table row
+     */
+    private static TableRow buildRow(int rowIdx, List<TextPosition> rowContent, List<Range<Integer>> columnTrapRanges) {
+        TableRow retVal = new TableRow(rowIdx);
+        //Sort rowContent
+        rowContent.sort(BY_X);
+        int idx = 0;
+        int columnIdx = 0;
+        List<TextPosition> cellContent = new ArrayList<>();
+        while (idx < rowContent.size()) {
+            TextPosition textPosition = rowContent.get(idx);
+            Range<Integer> columnTrapRange = columnTrapRanges.get(columnIdx);
+            Range<Integer> textRange = Range.closed((int) textPosition.getX(),
+                    (int) (textPosition.getX() + textPosition.getWidth()));
+            if (columnTrapRange.encloses(textRange)) {
+                cellContent.add(textPosition);
+                idx++;
+            } else {
+                TableCell cell = buildCell(columnIdx, cellContent);
+                retVal.getCells().add(cell);
+                //next column: clear cell content
+                cellContent.clear();
+                columnIdx++;
+            }
+        }
+        if (!cellContent.isEmpty() && columnIdx < columnTrapRanges.size()) {
+            TableCell cell = buildCell(columnIdx, cellContent);
+            retVal.getCells().add(cell);
+        }
+        //return
+        return retVal;
+    }
+
+    /**
+     * Build cell of row
+     * @param columnIdx - column number
+     * @param cellContent - cell content to build
+     * @return - instance of TableCell
+     */
+    private static TableCell buildCell(int columnIdx, List<TextPosition> cellContent) {
+        cellContent.sort(BY_X);
+        StringBuilder cellContentBuilder = new StringBuilder();
+        for (TextPosition textPosition : cellContent) {
+            cellContentBuilder.append(textPosition.getUnicode());
+        }
+        return new TableCell(columnIdx, cellContentBuilder.toString());
+    }
+
+    /**
+     * Excepted lines
+     * @param pageIdx - number of page
+     * @param lineIdx -number of line
+     * @return - true/false
+     */
+    private synchronized boolean isExceptedLine(int pageIdx, int lineIdx) {
+        return pageNExceptedLinesMap.containsEntry(pageIdx, lineIdx)
+                || pageNExceptedLinesMap.containsEntry(-1, lineIdx);
+    }
+
+    /**
+     * get the text by line Ranges
+     * @param lineRanges - ranges of line
+     * @param textPositions - text position
+     * @return - list of text position
+     */
+    static List<TextPosition> getTextsByLineRanges(List<Range<Integer>> lineRanges, List<TextPosition> textPositions) {
+        List<TextPosition> retVal = new ArrayList<>();
+        int idx = 0;
+        int lineIdx = 0;
+        while (idx < textPositions.size() && lineIdx < lineRanges.size()) {
+            TextPosition textPosition = textPositions.get(idx);
+            Range<Integer> textRange = Range.closed((int) textPosition.getY(),
+                    (int) (textPosition.getY() + textPosition.getHeight()));
+            Range<Integer> lineRange = lineRanges.get(lineIdx);
+            if (lineRange.encloses(textRange)) {
+                retVal.add(textPosition);
+                idx++;
+            } else if (lineRange.upperEndpoint() < textRange.lowerEndpoint()) {
+                lineIdx++;
+            } else {
+                idx++;
+            }
+        }
+        //return
+        return retVal;
+    }
+
+    /**
+     * Column Ranges
+     * @param texts - a collection of text position
+     * @return - column Ranges
+     */
+    static List<Range<Integer>> getColumnRanges(Collection<TextPosition> texts) {
+        TrapRangeBuilder rangesBuilder = new TrapRangeBuilder();
+        for (TextPosition text : texts) {
+            Range<Integer> range = Range.closed((int) text.getX(), (int) (text.getX() + text.getWidth()));
+            rangesBuilder.addRange(range);
+        }
+        return rangesBuilder.build();
+    }
+
+    /**
+     * line Ranges
+     * @param pageId - number of page
+     * @param pageContent - content of page
+     * @return - line ranges
+     */
+    private List<Range<Integer>> getLineRanges(int pageId, List<TextPosition> pageContent) {
+        TrapRangeBuilder lineTrapRangeBuilder = new TrapRangeBuilder();
+        for (TextPosition textPosition : pageContent) {
+            Range<Integer> lineRange = Range.closed((int) textPosition.getY(),
+                    (int) (textPosition.getY() + textPosition.getHeight()));
+            //add to builder
+            lineTrapRangeBuilder.addRange(lineRange);
+        }
+        List<Range<Integer>> lineTrapRanges = lineTrapRangeBuilder.build();
+        return removeExceptedLines(pageId, lineTrapRanges);
+    }
+
+    /**
+     * remove the excepted Lines
+     * @param pageIdx - number of page
+     * @param lineTrapRanges - line Ranges
+     * @return - removed excepted lines
+     */
+    private List<Range<Integer>> removeExceptedLines(int pageIdx, List<Range<Integer>> lineTrapRanges) {
+        List<Range<Integer>> retVal = new ArrayList<>();
+        for (int lineIdx = 0; lineIdx < lineTrapRanges.size(); lineIdx++) {
+            boolean isExceptedLine = isExceptedLine(pageIdx, lineIdx)
+                    || isExceptedLine(pageIdx, lineIdx - lineTrapRanges.size());
+            if (!isExceptedLine) {
+                retVal.add(lineTrapRanges.get(lineIdx));
+            }
+        }
+        //return
+        return retVal;
+    }
+
+    /**
+     * The text positions and line ranges of a page
+     */
+    private static class PageContent {
+        private final int pageId;
+        private final List<Range<Integer>> lineRanges;
+        private final List<TextPosition> texts;
+
+        private PageContent(int pageId, List<Range<Integer>> lineRanges, List<TextPosition> texts) {
+            this.pageId = pageId;
+            this.lineRanges = lineRanges;
+            this.texts = texts;
+        }
+    }
+
+    /**
+     * Text stripper that collects the text positions of one page at a time. Not thread safe, every worker has its own
+     */
+    static class TextPositionExtractor extends PDFTextStripper {
+
+        private final List<TextPosition> textPositions = new ArrayList<>();
+
+        TextPositionExtractor(PDDocument document) throws IOException {
+            super();
+            super.setSortByPosition(true);
+            super.document = document;
+        }
+
+        private void stripPage(int pageId) throws IOException {
+            this.setStartPage(pageId + 1);
+            this.setEndPage(pageId + 1);
+            try (Writer writer = new OutputStreamWriter(new ByteArrayOutputStream())) {
+                writeText(document, writer);
+            }
+        }
+
+        @Override
+        protected void writeString(String string, List<TextPosition> textPositions) throws IOException {
+            this.textPositions.addAll(textPositions);
+        }
+
+        /**
+         * Extract the text positions of a page, ordered by textPosition.getY() ASC
+         *
+         * @param pageId page index, the first page is 0
+         * @return the text positions of the page
+         * @throws IOException if the page could not be read
+         */
+        List<TextPosition> extract(int pageId) throws IOException {
+            textPositions.clear();
+            this.stripPage(pageId);
+            List<TextPosition> retVal = new ArrayList<>(textPositions);
+            //sort
+            retVal.sort(BY_Y);
+            textPositions.clear();
+            return retVal;
+        }
+    }
+}
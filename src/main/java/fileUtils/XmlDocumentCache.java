@@ -0,0 +1,343 @@
+package fileUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.DocumentType;
+import org.xml.sax.SAXException;
+import propertyUtils.Property;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import static propertyUtils.PropertyUtils.getGlobalPropertyEntity;
+
+/**
+ * Singleton thread safe cache of parsed xml documents, so XmlUtils does not create a parser and parse the file on every call.<br>
+ * Documents are keyed by the file path, and are parsed again when the file modification time or size changed.
+ * The least recently used documents are evicted once the cache holds more than the max number of documents.<br>
+ * DOM documents are not thread safe, even for reading, so every access to a cached document is done under the lock of the document.
+ * Changes made by update() are applied to a copy of the document and written back to the file once. The copy replaces
+ * the cached document only after a successful write, so a failed update leaves the cached document as the file content.
+ * <br>
+ * The cache is configured with the keys of zim.global.properties:
+ * <ul>
+ *     <li>xml_document_cache_size - max number of cached documents</li>
+ *     <li>xml_stream_threshold_mb - files larger than this are streamed by the XmlUtils read methods instead of parsed</li>
+ * </ul>
+ *
+ * @since 17.10.2026
+ */
+public class XmlDocumentCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(XmlDocumentCache.class);
+    private static XmlDocumentCache instance = null;
+
+    //DocumentBuilder, Transformer and XPathExpression are not thread safe, every thread has its own
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = ThreadLocal.withInitial(() -> {
+        try {
+            return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        }
+        catch (ParserConfigurationException e) {
+            throw new Error(String.format("Failed to create an xml parser<br>Error: %s<br><br>", e.getMessage()));
+        }
+    });
+    private static final ThreadLocal<Transformer> transformer = ThreadLocal.withInitial(() -> {
+        try {
+            return TransformerFactory.newInstance().newTransformer();
+        }
+        catch (TransformerException e) {
+            throw new Error(String.format("Failed to create an xml writer<br>Error: %s<br><br>", e.getMessage()));
+        }
+    });
+    //access ordered, the least recently used expressions of the thread are removed beyond MAX_XPATH_EXPRESSIONS
+    private static final int MAX_XPATH_EXPRESSIONS = 256;
+    private static final ThreadLocal<Map<String, XPathExpression>> xpathExpressions = ThreadLocal.withInitial(() ->
+            new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                    return size() > MAX_XPATH_EXPRESSIONS;
+                }
+            });
+
+    //access ordered, the least recently used document first
+    private final LinkedHashMap<String, CachedDocument> documents = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile int maxDocuments;
+    private final long streamThresholdBytes;
+
+    private XmlDocumentCache() {
+        Property property = getGlobalPropertyEntity();
+        maxDocuments = property.getIntProperty("xml_document_cache_size", 32);
+        streamThresholdBytes = property.getIntProperty("xml_stream_threshold_mb", 50) * 1024L * 1024L;
+    }
+
+    /**
+     * Get the cache instance
+     * @return the document cache shared by all threads
+     * @since 17.10.2026
+     */
+    public static synchronized XmlDocumentCache getCache() {
+        if (instance == null)
+            instance = new XmlDocumentCache();
+        return instance;
+    }
+
+    /**
+     * Return the parsed document from the cache, or parse it if it is not cached or the file changed since it was parsed
+     * @param xmlPath path of xml file
+     * @return the cached document
+     * @since 17.10.2026
+     */
+    public CachedDocument getDocument(String xmlPath) {
+
+        File file = new File(xmlPath).getAbsoluteFile();
+        CachedDocument document;
+        synchronized (this) {
+            document = documents.get(file.getPath());
+            if (document == null) {
+                document = new CachedDocument(file);
+                documents.put(file.getPath(), document);
+                Iterator<CachedDocument> iterator = documents.values().iterator();
+                while (documents.size() > maxDocuments && iterator.hasNext()) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            }
+        }
+
+        //every path has one entry, so threads that miss at the same time wait for a single parse under the entry lock
+        if (document.load())
+            misses.incrementAndGet();
+        else
+            hits.incrementAndGet();
+        return document;
+    }
+
+    /**
+     * Check if read queries on the file should stream it with XmlStreamQueries instead of parsing it to a DOM
+     * @param xmlPath path of xml file
+     * @return true if the file is larger than xml_stream_threshold_mb and is not cached
+     * @since 17.10.2026
+     */
+    public boolean useStreaming(String xmlPath) {
+        File file = new File(xmlPath).getAbsoluteFile();
+        if (file.length() <= streamThresholdBytes)
+            return false;
+        synchronized (this) {
+            CachedDocument document = documents.get(file.getPath());
+            return document == null || !document.isCurrent(file.lastModified(), file.length());
+        }
+    }
+
+    /**
+     * Compile an XPath expression, or return the expression compiled before by the current thread.
+     * Every thread keeps its last 256 used expressions
+     * @param expression XPath expression
+     * @return the compiled expression. Must be used by the current thread only
+     * @since 17.10.2026
+     */
+    public static XPathExpression compileXPath(String expression) {
+        return xpathExpressions.get().computeIfAbsent(expression, key -> {
+            try {
+                return XPathFactory.newInstance().newXPath().compile(key);
+            }
+            catch (XPathExpressionException e) {
+                throw new Error(String.format("Invalid XPath expression %s<br>Error: %s<br><br>", key, e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Remove all the cached documents
+     * @since 17.10.2026
+     */
+    public synchronized void clear() {
+        documents.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public synchronized int getSize() {
+        return documents.size();
+    }
+
+    /**
+     * Set the max number of cached documents
+     * @param maxDocuments max number of documents
+     */
+    public synchronized void setMaxDocuments(int maxDocuments) {
+        this.maxDocuments = maxDocuments;
+        Iterator<CachedDocument> iterator = documents.values().iterator();
+        while (documents.size() > maxDocuments && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Xml document cache: documents: %d, hits: %d, misses: %d", getSize(), getHits(), getMisses());
+    }
+
+    private static Document parse(File file) {
+
+        long startNanos = System.nanoTime();
+        try {
+            DocumentBuilder builder = documentBuilder.get();
+            builder.reset();
+            Document document = builder.parse(file);
+            document.getDocumentElement().normalize();
+            logger.debug(String.format("Parsed xml file %s in %.3f sec", file, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+            return document;
+        }
+        catch (SAXException | IOException e) {
+            throw new Error(String.format("Failed to parse xml file %s<br>Error: %s<br><br>", file, e.getMessage()));
+        }
+    }
+
+    /**
+     * A parsed document. All the accesses to the document are done under its lock
+     */
+    public static class CachedDocument {
+        //updates of a file are serialized by a lock of its path, also if the file got a new entry after an eviction
+        private static final Object[] writeLocks = new Object[64];
+        static {
+            for (int i = 0; i < writeLocks.length; i++)
+                writeLocks[i] = new Object();
+        }
+
+        private final File file;
+        private Document document;
+        private long lastModified = -1;
+        private long fileSize = -1;
+
+        private CachedDocument(File file) {
+            this.file = file;
+        }
+
+        /**
+         * Parse the file if it was not parsed yet or changed since it was parsed
+         * @return true if the file was parsed
+         */
+        private synchronized boolean load() {
+            long currentModified = file.lastModified();
+            long currentSize = file.length();
+            if (document != null && isCurrent(currentModified, currentSize))
+                return false;
+            document = parse(file);
+            lastModified = currentModified;
+            fileSize = currentSize;
+            return true;
+        }
+
+        private synchronized boolean isCurrent(long lastModified, long fileSize) {
+            return this.lastModified == lastModified && this.fileSize == fileSize;
+        }
+
+        /**
+         * Read from the document under its lock. Nodes must not be used outside the function
+         * @param reader function that reads from the document
+         * @return the function result
+         */
+        public synchronized <T> T read(Function<Document, T> reader) {
+            return reader.apply(document);
+        }
+
+        /**
+         * Change a copy of the document under its lock, and write it back to the file once.
+         * The file is parsed again first if it was changed since it was parsed, so changes written by others are not lost.
+         * The copy becomes the cached document after it was written, so the cached document is not changed if the
+         * function or the write fails
+         * @param updater function that changes the document
+         */
+        public void update(Consumer<Document> updater) {
+            synchronized (writeLocks[Math.floorMod(file.getPath().hashCode(), writeLocks.length)]) {
+                synchronized (this) {
+                    load();
+                    Document updated = (Document) document.cloneNode(true);
+                    updater.accept(updated);
+                    write(updated);
+                    document = updated;
+                }
+            }
+        }
+
+        /**
+         * Write a document to a temp file in the same folder and move it over the file, so the file is always complete
+         */
+        private void write(Document document) {
+
+            long startNanos = System.nanoTime();
+            Path target = file.toPath();
+            Path tempFile = null;
+            try {
+                tempFile = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+                try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                    Transformer writer = transformer.get();
+                    writer.reset();
+                    //the DOCTYPE is not a part of the DOM tree the transformer writes, it is kept by the output properties
+                    DocumentType doctype = document.getDoctype();
+                    if (doctype != null && doctype.getSystemId() != null)
+                        writer.setOutputProperty(OutputKeys.DOCTYPE_SYSTEM, doctype.getSystemId());
+                    if (doctype != null && doctype.getPublicId() != null)
+                        writer.setOutputProperty(OutputKeys.DOCTYPE_PUBLIC, doctype.getPublicId());
+                    writer.transform(new DOMSource(document), new StreamResult(outputStream));
+                }
+                try {
+                    Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                //the cached document is the file content, no need to parse it again
+                lastModified = file.lastModified();
+                fileSize = file.length();
+                logger.debug(String.format("Wrote xml file %s in %.3f sec", file, (System.nanoTime() - startNanos) / 1_000_000_000.0));
+            }
+            catch (IOException | TransformerException e) {
+                throw new Error(String.format("Failed to write xml file %s<br>Error: %s<br><br>", file, e.getMessage()));
+            }
+            finally {
+                if (tempFile != null) {
+                    try {
+                        Files.deleteIfExists(tempFile);
+                    }
+                    catch (IOException e) {
+                        logger.error("couldn't delete the temp file. see error: " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+}
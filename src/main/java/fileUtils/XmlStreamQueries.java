@@ -0,0 +1,232 @@
+package fileUtils;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Answers XmlUtils queries by streaming the xml file with StAX, without building a DOM.<br>
+ * Memory does not depend on the file size, and lookups stop reading the file once the node is found.
+ * Nodes are matched by their qualified name and their text is the text of all their descendants,
+ * the same as getElementsByTagName and getTextContent of the DOM.
+ *
+ * @since 17.10.2026
+ */
+public class XmlStreamQueries {
+
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    private XmlStreamQueries() {
+    }
+
+    /**
+     * Return the number of appearances of a node
+     * @param xmlPath path of xml file
+     * @param nodeName String Node name
+     * @return number of node appearances
+     */
+    public static int getNodesNumber(String xmlPath, String nodeName) {
+
+        int count = 0;
+        try (InputStream inputStream = open(xmlPath)) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && nodeName.equals(getQualifiedName(reader)))
+                        count++;
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException e) {
+            throw new Error(String.format("Failed to read xml file %s<br>Error: %s<br><br>", xmlPath, e.getMessage()));
+        }
+        return count;
+    }
+
+    /**
+     * Return the text of a node, reading the file only until the node
+     * @param xmlPath path of xml file
+     * @param nodeName String Node name
+     * @param nodeNumber index of the node among the nodes with the name
+     * @return the node text, or null if there are not enough nodes
+     */
+    public static String getData(String xmlPath, String nodeName, int nodeNumber) {
+
+        try (InputStream inputStream = open(xmlPath)) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                int count = 0;
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && nodeName.equals(getQualifiedName(reader))) {
+                        if (count++ == nodeNumber)
+                            return readTextContent(reader);
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException e) {
+            throw new Error(String.format("Failed to read xml file %s<br>Error: %s<br><br>", xmlPath, e.getMessage()));
+        }
+        return null;
+    }
+
+    /**
+     * Return the text of all the nodes with the name
+     * @param xmlPath path of xml file
+     * @param nodeName String Node name
+     * @param delimiter delimiter between the node texts
+     * @return the node texts joined by the delimiter
+     */
+    public static String getDataByFilter(String xmlPath, String nodeName, String delimiter) {
+
+        //the texts in document order of the nodes, and the nodes that are open at the current position.
+        //a node nested in a node with the same name is a separate node in the DOM too, so its text is in both
+        List<StringBuilder> texts = new ArrayList<>();
+        Deque<StringBuilder> openNodes = new ArrayDeque<>();
+        Deque<Boolean> matchedElements = new ArrayDeque<>();
+        try (InputStream inputStream = open(xmlPath)) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                while (reader.hasNext()) {
+                    switch (reader.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            boolean matched = nodeName.equals(getQualifiedName(reader));
+                            matchedElements.push(matched);
+                            if (matched) {
+                                StringBuilder text = new StringBuilder();
+                                texts.add(text);
+                                openNodes.push(text);
+                            }
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            if (matchedElements.pop())
+                                openNodes.pop();
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                        case XMLStreamConstants.SPACE:
+                            for (StringBuilder text : openNodes)
+                                text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException e) {
+            throw new Error(String.format("Failed to read xml file %s<br>Error: %s<br><br>", xmlPath, e.getMessage()));
+        }
+
+        StringJoiner values = new StringJoiner(delimiter);
+        for (StringBuilder text : texts)
+            values.add(text);
+        return values.toString();
+    }
+
+    /**
+     * Return the index of the first node with the attribute value, reading the file only until the node
+     * @param xmlPath path of xml file
+     * @param nodeName String Node name
+     * @param att Attribute name of nodeName
+     * @param attValue String value of the attribute. An empty value matches nodes without the attribute
+     * @return the index of the node among the nodes with the name, -1 if no node has the attribute value
+     */
+    public static int getNodesIndexByAttribute(String xmlPath, String nodeName, String att, String attValue) {
+
+        try (InputStream inputStream = open(xmlPath)) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(inputStream);
+            try {
+                int index = 0;
+                while (reader.hasNext()) {
+                    if (reader.next() == XMLStreamConstants.START_ELEMENT && nodeName.equals(getQualifiedName(reader))) {
+                        if (getAttribute(reader, att).equals(attValue))
+                            return index;
+                        index++;
+                    }
+                }
+            }
+            finally {
+                reader.close();
+            }
+        }
+        catch (IOException | XMLStreamException e) {
+            throw new Error(String.format("Failed to read xml file %s<br>Error: %s<br><br>", xmlPath, e.getMessage()));
+        }
+        return -1;
+    }
+
+    private static InputStream open(String xmlPath) throws IOException {
+        return new BufferedInputStream(Files.newInputStream(Paths.get(xmlPath)), 64 * 1024);
+    }
+
+    private static String getQualifiedName(XMLStreamReader reader) {
+        String prefix = reader.getPrefix();
+        return prefix == null || prefix.isEmpty() ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+    }
+
+    /**
+     * @return the attribute value, or an empty string if the element does not have the attribute, the same as Element.getAttribute
+     */
+    private static String getAttribute(XMLStreamReader reader, String att) {
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String prefix = reader.getAttributePrefix(i);
+            String name = prefix == null || prefix.isEmpty() ? reader.getAttributeLocalName(i) : prefix + ":" + reader.getAttributeLocalName(i);
+            if (name.equals(att))
+                return reader.getAttributeValue(i);
+        }
+        return "";
+    }
+
+    /**
+     * Read the text of the current element and all its descendants, and leave the reader at the end of the element
+     */
+    private static String readTextContent(XMLStreamReader reader) throws XMLStreamException {
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        while (depth > 0) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return text.toString();
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
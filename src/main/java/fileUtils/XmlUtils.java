@@ -4,18 +4,16 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.File;
-import java.io.IOException;
-
-import static constantsUtils.CommonConstants.EMPTY_STRING;
+import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpressionException;
+import java.util.Map;
+import java.util.StringJoiner;
 
 /**
- * Class holds methods to work with XML files
+ * Class holds methods to work with XML files<br>
+ * Parsed files are cached by XmlDocumentCache until they change, and files larger than xml_stream_threshold_mb
+ * are streamed by XmlStreamQueries instead of parsed
  */
 public class XmlUtils
 {
@@ -23,21 +21,10 @@ public class XmlUtils
     /**
      * define an xml file
      * @param XmlPath path of xml file
-     * @return doc - xml file
+     * @return the cached xml file
      */
-    private static Document xmlParser(String XmlPath) {
-        Document doc = null;
-        try {
-            File fXmlFile = new File(XmlPath);
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder;
-            dBuilder = dbFactory.newDocumentBuilder();
-            doc = dBuilder.parse(fXmlFile);
-            doc.getDocumentElement().normalize();
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            e.printStackTrace();
-        }
-        return doc;
+    private static XmlDocumentCache.CachedDocument xmlParser(String XmlPath) {
+        return XmlDocumentCache.getCache().getDocument(XmlPath);
     }
 
 
@@ -50,7 +37,13 @@ public class XmlUtils
      */
     public static String getData(String xmlPath,String nodeName, int nodeNumber )
     {
-      return xmlParser(xmlPath).getElementsByTagName(nodeName).item(nodeNumber).getTextContent();
+        if (XmlDocumentCache.getCache().useStreaming(xmlPath)) {
+            String value = XmlStreamQueries.getData(xmlPath, nodeName, nodeNumber);
+            if (value == null)
+                throw new NullPointerException(String.format("Node %s number %d was not found in %s", nodeName, nodeNumber, xmlPath));
+            return value;
+        }
+        return xmlParser(xmlPath).read(doc -> doc.getElementsByTagName(nodeName).item(nodeNumber).getTextContent());
     }
 
 
@@ -58,18 +51,21 @@ public class XmlUtils
      * return all data from xml according to node name filter
      * @param xmlPath xpath of xml file
      * @param nodeName String Node name
-     * @return String of all relevant data
+     * @return String of all relevant data, separated by ;
      */
     public static String getDataByFilter(String xmlPath,String nodeName)
     {
-       String val=EMPTY_STRING;
-        NodeList askedNode=xmlParser(xmlPath).getElementsByTagName(nodeName);
-        int length = askedNode.getLength();
-        val=askedNode.item(0).getTextContent();
-        for(int i=1;i<length;i++) {
-            val=val + ";" + askedNode.item(i).getTextContent();
-            }
-       return val;
+        if (XmlDocumentCache.getCache().useStreaming(xmlPath))
+            return XmlStreamQueries.getDataByFilter(xmlPath, nodeName, ";");
+
+        return xmlParser(xmlPath).read(doc -> {
+            StringJoiner val = new StringJoiner(";");
+            NodeList askedNode = doc.getElementsByTagName(nodeName);
+            int length = askedNode.getLength();
+            for (int i = 0; i < length; i++)
+                val.add(askedNode.item(i).getTextContent());
+            return val.toString();
+        });
     }
 
     /**
@@ -80,11 +76,13 @@ public class XmlUtils
      */
     public static int getNodesNumber(String xmlPath, String nodeName)
     {
-        return xmlParser(xmlPath).getElementsByTagName(nodeName).getLength();
+        if (XmlDocumentCache.getCache().useStreaming(xmlPath))
+            return XmlStreamQueries.getNodesNumber(xmlPath, nodeName);
+        return xmlParser(xmlPath).read(doc -> doc.getElementsByTagName(nodeName).getLength());
     }
 
     /**
-     * this function set a value in xmlFile
+     * this function set a value in xmlFile and writes the file
      * @param  xmlPath xpath of xml file
      * @param nodeName String Node name
      * @param indx numer of node
@@ -92,7 +90,23 @@ public class XmlUtils
      */
     public static void setData(String xmlPath,String nodeName,Integer indx,String value)
     {
-        xmlParser(xmlPath).getElementsByTagName(nodeName).item(indx).setTextContent(value);
+        xmlParser(xmlPath).update(doc -> doc.getElementsByTagName(nodeName).item(indx).setTextContent(value));
+    }
+
+    /**
+     * this function set values of several nodes in xmlFile and writes the file once
+     * @param  xmlPath xpath of xml file
+     * @param nodeName String Node name
+     * @param values value for every node number
+     * @since 17.10.2026
+     */
+    public static void setData(String xmlPath, String nodeName, Map<Integer, String> values)
+    {
+        xmlParser(xmlPath).update(doc -> {
+            NodeList nodes = doc.getElementsByTagName(nodeName);
+            for (Map.Entry<Integer, String> entry : values.entrySet())
+                nodes.item(entry.getKey()).setTextContent(entry.getValue());
+        });
     }
 
     /**
@@ -107,22 +121,85 @@ public class XmlUtils
      */
     public static int getNodesIndexByAttribute(String xmlPath, String nodeName,String att,String attValue)
     {
-
-        NodeList listOfLang = xmlParser(xmlPath).getElementsByTagName(nodeName);
-        int i=0;
-        for(i=0; i<listOfLang.getLength() ; i++) {
-            Node dataRecordLang = listOfLang.item(i);
-            if(dataRecordLang.getNodeType() == Node.ELEMENT_NODE) {
-                Element firstElement = (Element) dataRecordLang;
-                if(firstElement.getAttribute(att).equals(attValue)){
-                    break;
+        if (XmlDocumentCache.getCache().useStreaming(xmlPath))
+            return XmlStreamQueries.getNodesIndexByAttribute(xmlPath, nodeName, att, attValue);
+
+        return xmlParser(xmlPath).read(doc -> {
+            NodeList listOfLang = doc.getElementsByTagName(nodeName);
+            for (int i = 0; i < listOfLang.getLength(); i++) {
+                Node dataRecordLang = listOfLang.item(i);
+                if (dataRecordLang.getNodeType() == Node.ELEMENT_NODE) {
+                    Element firstElement = (Element) dataRecordLang;
+                    if (firstElement.getAttribute(att).equals(attValue))
+                        return i;
                 }
             }
+            return -1;
+        });
+    }
+
+    /**
+     * Return the string value of an XPath expression. The expression is compiled once per thread
+     * @param xmlPath path of xml file
+     * @param xpath XPath expression, for example //booking[@id='12']/status
+     * @return the string value of the expression, empty string if no node matches
+     * @since 17.10.2026
+     */
+    public static String getDataByXPath(String xmlPath, String xpath)
+    {
+        return xmlParser(xmlPath).read(doc -> {
+            try {
+                return (String) XmlDocumentCache.compileXPath(xpath).evaluate(doc, XPathConstants.STRING);
+            }
+            catch (XPathExpressionException e) {
+                throw new Error(String.format("Failed to evaluate XPath %s on %s<br>Error: %s<br><br>", xpath, xmlPath, e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * Return the number of nodes an XPath expression selects. The expression is compiled once per thread
+     * @param xmlPath path of xml file
+     * @param xpath XPath expression
+     * @return number of selected nodes
+     * @since 17.10.2026
+     */
+    public static int getNodesNumberByXPath(String xmlPath, String xpath)
+    {
+        return xmlParser(xmlPath).read(doc -> selectNodes(doc, xmlPath, xpath).getLength());
+    }
+
+    /**
+     * Set the text of all the nodes an XPath expression selects and write the file once
+     * @param xmlPath path of xml file
+     * @param xpath XPath expression
+     * @param value value for the nodes
+     * @return number of changed nodes. The file is not written if no node was selected
+     * @since 17.10.2026
+     */
+    public static int setDataByXPath(String xmlPath, String xpath, String value)
+    {
+        XmlDocumentCache.CachedDocument document = xmlParser(xmlPath);
+        int count = document.read(doc -> selectNodes(doc, xmlPath, xpath).getLength());
+        if (count > 0)
+            document.update(doc -> {
+                NodeList nodes = selectNodes(doc, xmlPath, xpath);
+                for (int i = 0; i < nodes.getLength(); i++)
+                    nodes.item(i).setTextContent(value);
+            });
+        return count;
+    }
+
+    private static NodeList selectNodes(Document doc, String xmlPath, String xpath) {
+        try {
+            return (NodeList) XmlDocumentCache.compileXPath(xpath).evaluate(doc, XPathConstants.NODESET);
+        }
+        catch (XPathExpressionException e) {
+            throw new Error(String.format("Failed to evaluate XPath %s on %s<br>Error: %s<br><br>", xpath, xmlPath, e.getMessage()));
         }
-        if(i<listOfLang.getLength()) return i ; else return(-1);
     }
 
 
 
 
-}
\ No newline at end of file
+}
@@ -2,6 +2,11 @@ package metricsReport;
 
 
 import Enumerations.TestFailureReasonEnum;
+import dbUtils.QueryLatencySummary;
+import dbUtils.SlowQueryPlan;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Holds relevant metrics on a test instance/invocation
@@ -53,6 +58,10 @@ public class TestMetric {
     private String downloadsLink;
     private String failureType = TestFailureReasonEnum.UNCLASSIFIED.getName();
     private String failureExplanation;
+    //latency summary of the queries executed by the test, longest total time first
+    private List<QueryLatencySummary> queryLatencies = new ArrayList<>();
+    //execution plans of the queries which exceeded db_slow_query_threshold
+    private List<SlowQueryPlan> slowQueryPlans = new ArrayList<>();
 
     public String getFailureType() {
         return failureType;
@@ -389,4 +398,22 @@ public class TestMetric {
         return performanceResultsError;
     }
 
+    public List<QueryLatencySummary> getQueryLatencies() {
+        return queryLatencies;
+    }
+
+    public TestMetric setQueryLatencies(List<QueryLatencySummary> queryLatencies) {
+        this.queryLatencies = queryLatencies;
+        return this;
+    }
+
+    public List<SlowQueryPlan> getSlowQueryPlans() {
+        return slowQueryPlans;
+    }
+
+    public TestMetric setSlowQueryPlans(List<SlowQueryPlan> slowQueryPlans) {
+        this.slowQueryPlans = slowQueryPlans;
+        return this;
+    }
+
 }
@@ -145,6 +145,22 @@ public class Property {
         }
     }
 
+    /**
+     * get property by key and convert it to int, or return the default value
+     * when the key is missing or its value is not an int
+     *
+     * @param key - the key to look for and return it's value (key with int value)
+     * @param defaultValue - value to return when the key has no int value
+     * @return int value of the key or the default value
+     * @since 17.10.2026
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        if (getProperty(key) == null)
+            return defaultValue;
+        Integer value = getIntProperty(key);
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * get property by key and convert it to type Double from String Note! If you
      * are using <code>double x= getIntProperty("some_value") </code><br>
@@ -0,0 +1,138 @@
+package fileUtils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Benchmark of MappedCsvParser against the opencsv path of CsvUtils: getAllLinesOfTextFromCsv (CSVReader.readAll)
+ * and getAllLinesFromCsvAsHashMap on top of it.
+ * commons-csv, the parser of CsvUtils.getRecordFromCSV, is timed as an extra baseline only, since it is also the reference
+ * the MappedCsvParser tests compare rows with.<br>
+ * Not a test, run the main method from the IDE or with exec:java on the test classpath:
+ * <pre>
+ * {@code
+ *     MappedCsvParserBenchmark [csv file] [rounds]
+ * }
+ * </pre>
+ * Without a file, a file of 400k rows with quoted multi line values is generated in the temp folder.
+ * Every parser reads the whole file and touches every value, and the best time of the rounds is printed
+ *
+ * @since 17.10.2026
+ */
+public class MappedCsvParserBenchmark {
+
+    private static final int GENERATED_ROWS = 400_000;
+
+    public static void main(String[] args) throws IOException {
+
+        Path file = args.length > 0 ? Paths.get(args[0]) : generateFile();
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        System.out.printf("Csv file %s, %.1f MB, %d rounds%n", file, Files.size(file) / (1024.0 * 1024.0), rounds);
+
+        long openCsv = Long.MAX_VALUE;
+        long openCsvHashMap = Long.MAX_VALUE;
+        long commonsCsv = Long.MAX_VALUE;
+        long mappedStream = Long.MAX_VALUE;
+        long mappedTable = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < rounds; round++) {
+            long startNanos = System.nanoTime();
+            checksum += readWithOpenCsv(file);
+            openCsv = Math.min(openCsv, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            checksum += readWithOpenCsvHashMap(file);
+            openCsvHashMap = Math.min(openCsvHashMap, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            checksum += readWithCommonsCsv(file);
+            commonsCsv = Math.min(commonsCsv, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            checksum += readWithMappedStream(file);
+            mappedStream = Math.min(mappedStream, System.nanoTime() - startNanos);
+
+            startNanos = System.nanoTime();
+            checksum += readWithMappedTable(file);
+            mappedTable = Math.min(mappedTable, System.nanoTime() - startNanos);
+        }
+
+        System.out.printf("opencsv readAll:         %8.1f ms%n", openCsv / 1_000_000.0);
+        System.out.printf("opencsv as HashMap:      %8.1f ms%n", openCsvHashMap / 1_000_000.0);
+        System.out.printf("commons-csv (baseline):  %8.1f ms%n", commonsCsv / 1_000_000.0);
+        System.out.printf("MappedCsvParser stream:  %8.1f ms%n", mappedStream / 1_000_000.0);
+        System.out.printf("MappedCsvParser table:   %8.1f ms%n", mappedTable / 1_000_000.0);
+        System.out.println("checksum " + checksum);
+    }
+
+    private static long readWithOpenCsv(Path file) {
+        long length = 0;
+        for (String[] row : CsvUtils.getAllLinesOfTextFromCsv(file.toString()))
+            for (String value : row)
+                length += value.length();
+        return length;
+    }
+
+    private static long readWithOpenCsvHashMap(Path file) {
+        long length = 0;
+        for (HashMap<String, String> row : CsvUtils.getAllLinesFromCsvAsHashMap(file.toString()))
+            for (Map.Entry<String, String> value : row.entrySet())
+                length += value.getKey().length() + value.getValue().length();
+        return length;
+    }
+
+    private static long readWithCommonsCsv(Path file) throws IOException {
+        long length = 0;
+        try (CSVParser parser = CSVParser.parse(file, StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            for (CSVRecord record : parser)
+                for (String value : record)
+                    length += value.length();
+        }
+        return length;
+    }
+
+    private static long readWithMappedStream(Path file) {
+        long length = 0;
+        try (MappedCsvParser parser = new MappedCsvParser(file.toString())) {
+            for (String[] row : parser)
+                for (String value : row)
+                    length += value.length();
+        }
+        return length;
+    }
+
+    private static long readWithMappedTable(Path file) {
+        long length = 0;
+        CsvTable table = CsvUtils.readCsvTable(file.toString());
+        for (String header : table.getHeaders()) {
+            length += header.length();
+            for (String value : table.getColumn(header))
+                length += value.length();
+        }
+        return length;
+    }
+
+    private static Path generateFile() throws IOException {
+        Path file = Files.createTempFile("csv_benchmark", ".csv");
+        file.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("booking,container,port,status,remark,amount\n");
+            for (int i = 0; i < GENERATED_ROWS; i++) {
+                writer.write("ZIMU" + (1_000_000 + i) + ",CONT" + (i % 5000) + ",PORT" + (i % 300) + "," + (i % 4 == 0 ? "OPEN" : "CLOSED") + ",");
+                writer.write(i % 10 == 0 ? "\"remark of row " + i + "\nsecond line, with \"\"quotes\"\"\"" : "remark " + i);
+                writer.write("," + (i * 13 % 100_000) + "\n");
+            }
+        }
+        return file;
+    }
+}
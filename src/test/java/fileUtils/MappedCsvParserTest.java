@@ -0,0 +1,110 @@
+package fileUtils;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of MappedCsvParser records that cross the chunk ends, compared with the rows commons-csv parses from the same file
+ *
+ * @since 17.10.2026
+ */
+public class MappedCsvParserTest {
+
+    private static final String CSV = "id,comment,status\n" +
+            "1,\"first line\nsecond line, with a comma\",open\n" +
+            "2,\"he said \"\"hi\"\"\r\nand left\",closed\r\n" +
+            "3,plain,open\n" +
+            "4,\"\n\n\",\"\"\n" +
+            "5,\"ends with a line break\n\",open";
+
+    @TempDir
+    Path folder;
+
+    @Test
+    public void quotedLineBreaksCrossChunkEnds() throws IOException {
+        Path file = write("quoted.csv", CSV);
+        List<String[]> expected = parseWithCommonsCsv(file);
+
+        //every chunk size from a single byte to the whole file puts the chunk ends at other places in the quoted values
+        for (int chunkSize = 1; chunkSize <= CSV.length(); chunkSize++) {
+            try (MappedCsvParser parser = new MappedCsvParser(file.toString(), ',', 2, chunkSize)) {
+                List<String[]> rows = parser.stream().collect(Collectors.toList());
+                assertRowsEqual(expected, rows, "chunk size " + chunkSize);
+            }
+        }
+    }
+
+    @Test
+    public void chunksEndOnRecordEnds() throws IOException {
+        Path file = write("quoted.csv", CSV);
+        try (MappedCsvParser parser = new MappedCsvParser(file.toString(), ',', 1, 1)) {
+            assertEquals(6, parser.getChunkCount(), "one chunk per record");
+            assertEquals(6, parser.stream().count());
+        }
+    }
+
+    @Test
+    public void readTableSkipsBom() throws IOException {
+        Path file = write("bom.csv", "\uFEFF" + CSV);
+        try (MappedCsvParser parser = new MappedCsvParser(file.toString(), ',', 2, 16)) {
+            CsvTable table = parser.readTable();
+            assertArrayEquals(new String[]{"id", "comment", "status"}, table.getHeaders());
+            assertEquals(5, table.getRowCount());
+            assertEquals("he said \"hi\"\r\nand left", table.getValue(1, "comment"));
+            assertEquals("\n\n", table.getValue(3, "comment"));
+            assertEquals("", table.getValue(3, "status"));
+        }
+    }
+
+    @Test
+    public void rowsMatchCommonsCsvOnGeneratedFile() throws IOException {
+        StringBuilder csv = new StringBuilder("booking,remark,amount\n");
+        for (int i = 0; i < 2000; i++)
+            csv.append("B").append(i).append(i % 3 == 0 ? ",\"multi\nline, " + i + "\"" : ",single " + i).append(",").append(i * 7).append('\n');
+        Path file = write("generated.csv", csv.toString());
+
+        List<String[]> expected = parseWithCommonsCsv(file);
+        try (MappedCsvParser parser = new MappedCsvParser(file.toString(), ',', 4, 4096)) {
+            assertTrue(parser.getChunkCount() > 1, "the file is split into several chunks");
+            assertRowsEqual(expected, parser.stream().collect(Collectors.toList()), "generated file");
+        }
+    }
+
+    private Path write(String name, String content) throws IOException {
+        return Files.write(folder.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<String[]> parseWithCommonsCsv(Path file) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        try (CSVParser parser = CSVParser.parse(file, StandardCharsets.UTF_8, CSVFormat.RFC4180)) {
+            for (CSVRecord record : parser) {
+                String[] row = new String[record.size()];
+                for (int i = 0; i < row.length; i++)
+                    row[i] = record.get(i);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static void assertRowsEqual(List<String[]> expected, List<String[]> rows, String message) {
+        assertEquals(expected.size(), rows.size(), message + ": row count");
+        for (int i = 0; i < expected.size(); i++)
+            assertArrayEquals(expected.get(i), rows.get(i), message + ": row " + i);
+    }
+}